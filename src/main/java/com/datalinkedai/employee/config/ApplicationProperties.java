@@ -1,5 +1,8 @@
 package com.datalinkedai.employee.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,479 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Pagination pagination = new Pagination();
+
+    private final BulkIngest bulkIngest = new BulkIngest();
+
+    private final EntityCache entityCache = new EntityCache();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final MultiGet multiGet = new MultiGet();
+
+    private final AadharFilter aadharFilter = new AadharFilter();
+
+    private final WriteBatching writeBatching = new WriteBatching();
+
+    private final ReadRouting readRouting = new ReadRouting();
+
+    private final ExportJobs exportJobs = new ExportJobs();
+
+    private final CriteriaQueries criteriaQueries = new CriteriaQueries();
+
+    private final TokenCache tokenCache = new TokenCache();
+
+    private final JwtSigning jwtSigning = new JwtSigning();
+
+    private final TokenRevocation tokenRevocation = new TokenRevocation();
+
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public BulkIngest getBulkIngest() {
+        return bulkIngest;
+    }
+
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public MultiGet getMultiGet() {
+        return multiGet;
+    }
+
+    public AadharFilter getAadharFilter() {
+        return aadharFilter;
+    }
+
+    public WriteBatching getWriteBatching() {
+        return writeBatching;
+    }
+
+    public ReadRouting getReadRouting() {
+        return readRouting;
+    }
+
+    public ExportJobs getExportJobs() {
+        return exportJobs;
+    }
+
+    public CriteriaQueries getCriteriaQueries() {
+        return criteriaQueries;
+    }
+
+    public TokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    public JwtSigning getJwtSigning() {
+        return jwtSigning;
+    }
+
+    public TokenRevocation getTokenRevocation() {
+        return tokenRevocation;
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    public static class Pagination {
+
+        private int defaultLimit = 20;
+
+        private int maxLimit = 1000;
+
+        public int getDefaultLimit() {
+            return defaultLimit;
+        }
+
+        public void setDefaultLimit(int defaultLimit) {
+            this.defaultLimit = defaultLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    public static class BulkIngest {
+
+        private int batchSize = 500;
+
+        private int concurrency = 2;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    public static class EntityCache {
+
+        private long maximumSize = 10000;
+
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Coalescing {
+
+        private Duration keyExpiry = Duration.ZERO;
+
+        public Duration getKeyExpiry() {
+            return keyExpiry;
+        }
+
+        public void setKeyExpiry(Duration keyExpiry) {
+            this.keyExpiry = keyExpiry;
+        }
+    }
+
+    public static class MultiGet {
+
+        private int maxIds = 500;
+
+        public int getMaxIds() {
+            return maxIds;
+        }
+
+        public void setMaxIds(int maxIds) {
+            this.maxIds = maxIds;
+        }
+    }
+
+    public static class AadharFilter {
+
+        private long expectedInsertions = 1000000;
+
+        private double falsePositiveProbability = 0.01;
+
+        public long getExpectedInsertions() {
+            return expectedInsertions;
+        }
+
+        public void setExpectedInsertions(long expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+        }
+
+        public double getFalsePositiveProbability() {
+            return falsePositiveProbability;
+        }
+
+        public void setFalsePositiveProbability(double falsePositiveProbability) {
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+    }
+
+    public static class WriteBatching {
+
+        private boolean enabled = false;
+
+        private Duration maxDelay = Duration.ofMillis(2);
+
+        private int maxBatchSize = 500;
+
+        private int concurrency = 2;
+
+        private int maxQueuedSaves = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getMaxQueuedSaves() {
+            return maxQueuedSaves;
+        }
+
+        public void setMaxQueuedSaves(int maxQueuedSaves) {
+            this.maxQueuedSaves = maxQueuedSaves;
+        }
+    }
+    public static class ReadRouting {
+
+        private final Map<String, Route> endpoints = new LinkedHashMap<>();
+
+        public Map<String, Route> getEndpoints() {
+            return endpoints;
+        }
+
+        public static class Route {
+
+            private String readPreference = "primary";
+
+            private Duration maxStaleness;
+
+            public String getReadPreference() {
+                return readPreference;
+            }
+
+            public void setReadPreference(String readPreference) {
+                this.readPreference = readPreference;
+            }
+
+            public Duration getMaxStaleness() {
+                return maxStaleness;
+            }
+
+            public void setMaxStaleness(Duration maxStaleness) {
+                this.maxStaleness = maxStaleness;
+            }
+        }
+    }
+
+    public static class ExportJobs {
+
+        private int maxConcurrentJobs = 2;
+
+        private int partitions = 4;
+
+        private int threads = 4;
+
+        private Duration progressInterval = Duration.ofSeconds(1);
+
+        private Duration leaseDuration = Duration.ofSeconds(30);
+
+        public int getMaxConcurrentJobs() {
+            return maxConcurrentJobs;
+        }
+
+        public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+            this.maxConcurrentJobs = maxConcurrentJobs;
+        }
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        public void setPartitions(int partitions) {
+            this.partitions = partitions;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public Duration getProgressInterval() {
+            return progressInterval;
+        }
+
+        public void setProgressInterval(Duration progressInterval) {
+            this.progressInterval = progressInterval;
+        }
+
+        public Duration getLeaseDuration() {
+            return leaseDuration;
+        }
+
+        public void setLeaseDuration(Duration leaseDuration) {
+            this.leaseDuration = leaseDuration;
+        }
+    }
+
+    public static class CriteriaQueries {
+
+        private boolean rejectUnindexed = false;
+
+        public boolean isRejectUnindexed() {
+            return rejectUnindexed;
+        }
+
+        public void setRejectUnindexed(boolean rejectUnindexed) {
+            this.rejectUnindexed = rejectUnindexed;
+        }
+    }
+
+    public static class TokenCache {
+
+        private long maximumSize = 10000;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class JwtSigning {
+
+        private String algorithm = "HS512";
+
+        private int keySize = 2048;
+
+        private Duration keyRotationInterval = Duration.ofDays(7);
+
+        private Duration refreshInterval = Duration.ofMinutes(1);
+
+        private Duration publicationMargin = Duration.ofSeconds(30);
+
+        private String keyEncryptionSecret;
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public int getKeySize() {
+            return keySize;
+        }
+
+        public void setKeySize(int keySize) {
+            this.keySize = keySize;
+        }
+
+        public Duration getKeyRotationInterval() {
+            return keyRotationInterval;
+        }
+
+        public void setKeyRotationInterval(Duration keyRotationInterval) {
+            this.keyRotationInterval = keyRotationInterval;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public Duration getPublicationMargin() {
+            return publicationMargin;
+        }
+
+        public void setPublicationMargin(Duration publicationMargin) {
+            this.publicationMargin = publicationMargin;
+        }
+
+        public String getKeyEncryptionSecret() {
+            return keyEncryptionSecret;
+        }
+
+        public void setKeyEncryptionSecret(String keyEncryptionSecret) {
+            this.keyEncryptionSecret = keyEncryptionSecret;
+        }
+    }
+
+    public static class TokenRevocation {
+
+        private long expectedInsertions = 100000;
+
+        private double falsePositiveProbability = 0.01;
+
+        private Duration reloadInterval = Duration.ofMinutes(1);
+
+        public long getExpectedInsertions() {
+            return expectedInsertions;
+        }
+
+        public void setExpectedInsertions(long expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+        }
+
+        public double getFalsePositiveProbability() {
+            return falsePositiveProbability;
+        }
+
+        public void setFalsePositiveProbability(double falsePositiveProbability) {
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+
+        public Duration getReloadInterval() {
+            return reloadInterval;
+        }
+
+        public void setReloadInterval(Duration reloadInterval) {
+            this.reloadInterval = reloadInterval;
+        }
+    }
+
+    public static class ChangeFeed {
+
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+    }
+}
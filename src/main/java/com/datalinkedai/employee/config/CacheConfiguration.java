@@ -1,5 +1,9 @@
 package com.datalinkedai.employee.config;
 
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import com.datalinkedai.employee.service.ReactiveEntityCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
@@ -8,4 +12,33 @@ import org.springframework.context.annotation.*;
 
 @Configuration
 @EnableCaching
-public class CacheConfiguration {}
+public class CacheConfiguration {
+
+    private final ApplicationProperties.EntityCache entityCache;
+
+    public CacheConfiguration(ApplicationProperties applicationProperties) {
+        this.entityCache = applicationProperties.getEntityCache();
+    }
+
+    @Bean
+    public ReactiveEntityCache<Candidate> candidateCache(MeterRegistry meterRegistry) {
+        return new ReactiveEntityCache<>(
+            "candidate",
+            entityCache.getMaximumSize(),
+            entityCache.getTimeToLive(),
+            Candidate::copy,
+            meterRegistry
+        );
+    }
+
+    @Bean
+    public ReactiveEntityCache<EmployeeDetails> employeeDetailsCache(MeterRegistry meterRegistry) {
+        return new ReactiveEntityCache<>(
+            "employeeDetails",
+            entityCache.getMaximumSize(),
+            entityCache.getTimeToLive(),
+            EmployeeDetails::copy,
+            meterRegistry
+        );
+    }
+}
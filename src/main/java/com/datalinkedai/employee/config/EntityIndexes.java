@@ -0,0 +1,55 @@
+package com.datalinkedai.employee.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Declarative registry of the indexes of the entity collections.
+ * <p>
+ * The indexes are created by the {@code entity-indexes} change unit, and verified at startup by
+ * {@link EntityIndexesHealthIndicator}. Every index is named, so that it can be built beforehand on each member of
+ * a replica set (rolling index build), in which case the change unit finds it and does nothing.
+ */
+public final class EntityIndexes {
+
+    public static final String CANDIDATE_COLLECTION = "candidate";
+    public static final String EMPLOYEE_DETAILS_COLLECTION = "employee_details";
+
+    private EntityIndexes() {}
+
+    /**
+     * Get the expected indexes, by collection.
+     *
+     * @return a new map of the indexes which should exist in each entity collection.
+     */
+    public static Map<String, List<Index>> all() {
+        Map<String, List<Index>> indexes = new LinkedHashMap<>();
+        indexes.put(
+            CANDIDATE_COLLECTION,
+            List.of(
+                new Index().on("login", Sort.Direction.ASC).named("candidate_login").background(),
+                new Index()
+                    .on("last_name", Sort.Direction.ASC)
+                    .on("first_name", Sort.Direction.ASC)
+                    .named("candidate_last_name_first_name")
+                    .background(),
+                new Index()
+                    .on("first_name", Sort.Direction.ASC)
+                    .on("last_name", Sort.Direction.ASC)
+                    .named("candidate_first_name_last_name")
+                    .background()
+            )
+        );
+        indexes.put(
+            EMPLOYEE_DETAILS_COLLECTION,
+            List.of(
+                new Index().on("aadhar_number", Sort.Direction.ASC).named("employee_details_aadhar_number").unique().background(),
+                new Index().on("child_id", Sort.Direction.ASC).named("employee_details_child_ref").background()
+            )
+        );
+        return indexes;
+    }
+}
@@ -0,0 +1,117 @@
+package com.datalinkedai.employee.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.AbstractReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares the indexes of the entity collections with {@link EntityIndexes}.
+ * <p>
+ * Missing indexes are logged once the application is ready, and turn the {@code entityIndexes} health component
+ * down. Both missing and unused indexes are reported in the details of the component. Usage comes from
+ * {@code $indexStats}, whose counters are reset when a MongoDB node restarts: an index is only reported as unused
+ * after a representative period of traffic.
+ */
+@Component
+public class EntityIndexesHealthIndicator extends AbstractReactiveHealthIndicator {
+
+    private static final String ID_INDEX_NAME = "_id_";
+
+    private final Logger log = LoggerFactory.getLogger(EntityIndexesHealthIndicator.class);
+
+    private final ReactiveMongoTemplate template;
+
+    public EntityIndexesHealthIndicator(ReactiveMongoTemplate template) {
+        super("Entity indexes health check failed");
+        this.template = template;
+    }
+
+    @Override
+    protected Mono<Health> doHealthCheck(Health.Builder builder) {
+        return checkIndexes()
+            .map(report -> {
+                // a missing index turns queries into collection scans, whereas an unused one only slows the writes down
+                Health.Builder status = report.missing.isEmpty() ? builder.up() : builder.down();
+                return status.withDetail("missing", report.missing).withDetail("unused", report.unused).build();
+            });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        checkIndexes()
+            .subscribe(
+                report -> {
+                    if (report.missing.isEmpty()) {
+                        log.debug("All entity indexes are present");
+                    } else {
+                        log.warn("Missing entity indexes: {}", report.missing);
+                    }
+                },
+                e -> log.warn("Could not verify the entity indexes: {}", e.getMessage())
+            );
+    }
+
+    private Mono<IndexReport> checkIndexes() {
+        return Flux
+            .fromIterable(EntityIndexes.all().entrySet())
+            .concatMap(entry -> indexStats(entry.getKey()).collectList().map(stats -> checkCollection(entry, stats)))
+            .reduceWith(IndexReport::new, IndexReport::merge);
+    }
+
+    private Flux<Document> indexStats(String collection) {
+        return template
+            .getCollection(collection)
+            .flatMapMany(mongoCollection -> mongoCollection.aggregate(List.of(new Document("$indexStats", new Document()))));
+    }
+
+    private IndexReport checkCollection(Map.Entry<String, List<Index>> expected, List<Document> stats) {
+        String collection = expected.getKey();
+        IndexReport report = new IndexReport();
+        Set<String> existing = new TreeSet<>();
+        for (Document stat : stats) {
+            String name = stat.getString("name");
+            existing.add(name);
+            Document accesses = stat.get("accesses", Document.class);
+            Document spec = stat.get("spec", Document.class);
+            boolean unique = spec != null && Boolean.TRUE.equals(spec.getBoolean("unique"));
+            // unique indexes are needed for the constraint they enforce, even if no query uses them
+            if (!ID_INDEX_NAME.equals(name) && !unique && accesses != null && accesses.get("ops", Number.class).longValue() == 0) {
+                report.unused.add(collection + "." + name);
+            }
+        }
+        for (Index index : expected.getValue()) {
+            String name = index.getIndexOptions().getString("name");
+            if (!existing.contains(name)) {
+                report.missing.add(collection + "." + name);
+            }
+        }
+        return report;
+    }
+
+    private static class IndexReport {
+
+        private final List<String> missing = new ArrayList<>();
+
+        private final List<String> unused = new ArrayList<>();
+
+        private IndexReport merge(IndexReport other) {
+            missing.addAll(other.missing);
+            unused.addAll(other.unused);
+            return this;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.datalinkedai.employee.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.zalando.problem.jackson.ProblemModule;
@@ -39,4 +41,24 @@ public class JacksonConfiguration {
     public ConstraintViolationProblemModule constraintViolationProblemModule() {
         return new ConstraintViolationProblemModule();
     }
+
+    /**
+     * Leave the fields not requested out of the JSON of the entities read with a {@code fields} projection.
+     * @return the corresponding Jackson module.
+     */
+    @Bean
+    public ProjectionModule projectionModule() {
+        return new ProjectionModule();
+    }
+
+    /**
+     * Write the JSON arrays of reactive responses element by element, instead of collecting them first.
+     * Applied after the customizer of Spring Boot, which registers the default Jackson encoder.
+     * @param objectMapper the configured object mapper.
+     * @return the corresponding codec customizer.
+     */
+    @Bean
+    public CodecCustomizer streamingJsonArrayCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new StreamingJsonArrayEncoder(objectMapper));
+    }
 }
@@ -0,0 +1,58 @@
+package com.datalinkedai.employee.config;
+
+import com.datalinkedai.employee.domain.Projectable;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson module leaving the {@code null} fields out of the JSON of the {@link Projectable} entities read with only
+ * some of their fields, so that a {@code fields} response only holds the fields requested. The other responses keep
+ * their {@code null} fields.
+ */
+public class ProjectionModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public ProjectionModule() {
+        super(ProjectionModule.class.getSimpleName());
+        setSerializerModifier(
+            new BeanSerializerModifier() {
+                @Override
+                public List<BeanPropertyWriter> changeProperties(
+                    SerializationConfig config,
+                    BeanDescription beanDesc,
+                    List<BeanPropertyWriter> beanProperties
+                ) {
+                    if (!Projectable.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                        return beanProperties;
+                    }
+                    return beanProperties.stream().map(ProjectedPropertyWriter::new).collect(Collectors.toList());
+                }
+            }
+        );
+    }
+
+    private static class ProjectedPropertyWriter extends BeanPropertyWriter {
+
+        private static final long serialVersionUID = 1L;
+
+        ProjectedPropertyWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (((Projectable) bean).isProjected() && get(bean) == null) {
+                return;
+            }
+            super.serializeAsField(bean, gen, prov);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.datalinkedai.employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * JSON encoder writing a {@link Flux} as a JSON array, element by element.
+ * <p>
+ * The default encoder collects the whole {@link Flux} into a list before serializing it, so nothing is written before
+ * the last element is read and the whole result is held in memory. This encoder writes the opening bracket, then each
+ * element into its own buffer from the response buffer factory as soon as it is emitted, then the closing bracket.
+ * <p>
+ * Once the first buffer is written the status can no longer change: an error in the middle of the {@link Flux} ends
+ * the response with truncated JSON instead of an error response.
+ */
+public class StreamingJsonArrayEncoder extends Jackson2JsonEncoder {
+
+    private static final byte[] ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] ARRAY_SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+
+    public StreamingJsonArrayEncoder(ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+        Publisher<?> inputStream,
+        DataBufferFactory bufferFactory,
+        ResolvableType elementType,
+        MimeType mimeType,
+        Map<String, Object> hints
+    ) {
+        if (inputStream instanceof Mono || isStreamingMediaType(mimeType)) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        Flux<DataBuffer> elements = Flux
+            .from(inputStream)
+            .index()
+            .concatMapIterable(element -> {
+                DataBuffer value = encodeValue(element.getT2(), bufferFactory, elementType, mimeType, hints);
+                return element.getT1() == 0 ? List.of(value) : List.of(bufferFactory.wrap(ARRAY_SEPARATOR), value);
+            });
+        return Flux
+            .concat(
+                Mono.fromCallable(() -> bufferFactory.wrap(ARRAY_START)),
+                elements,
+                Mono.fromCallable(() -> bufferFactory.wrap(ARRAY_END))
+            )
+            .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private boolean isStreamingMediaType(MimeType mimeType) {
+        return getStreamingMediaTypes().stream().anyMatch(streamingMediaType -> streamingMediaType.isCompatibleWith(mimeType));
+    }
+}
@@ -0,0 +1,72 @@
+package com.datalinkedai.employee.config.dbmigrations;
+
+import com.datalinkedai.employee.config.EntityIndexes;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the indexes of the entity collections, with background builds so that the collections stay available while
+ * they are built.
+ * <p>
+ * The indexes are the ones declared in {@link EntityIndexes} when this change unit was written, copied here so that it
+ * keeps creating and dropping the same indexes: the later changes of the registry are made by change units of their
+ * own. The index on the child of the employee details belongs to {@link UnlinkedEmployeeDetailsIndexMigration}.
+ * <p>
+ * The unique index on the Aadhaar number fails to build if duplicates already exist: they must be cleaned up first.
+ */
+@ChangeUnit(id = "entity-indexes", order = "003")
+public class EntityIndexesMigration {
+
+    private final MongoTemplate template;
+
+    public EntityIndexesMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        indexes().forEach((collection, indexes) -> indexes.forEach(index -> template.indexOps(collection).ensureIndex(index)));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        indexes()
+            .forEach((collection, indexes) -> {
+                for (Index index : indexes) {
+                    template.indexOps(collection).dropIndex(index.getIndexOptions().getString("name"));
+                }
+            });
+    }
+
+    private static Map<String, List<Index>> indexes() {
+        Map<String, List<Index>> indexes = new LinkedHashMap<>();
+        indexes.put(
+            EntityIndexes.CANDIDATE_COLLECTION,
+            List.of(
+                new Index().on("login", Sort.Direction.ASC).named("candidate_login").background(),
+                new Index()
+                    .on("last_name", Sort.Direction.ASC)
+                    .on("first_name", Sort.Direction.ASC)
+                    .named("candidate_last_name_first_name")
+                    .background(),
+                new Index()
+                    .on("first_name", Sort.Direction.ASC)
+                    .on("last_name", Sort.Direction.ASC)
+                    .named("candidate_first_name_last_name")
+                    .background()
+            )
+        );
+        indexes.put(
+            EntityIndexes.EMPLOYEE_DETAILS_COLLECTION,
+            List.of(new Index().on("aadhar_number", Sort.Direction.ASC).named("employee_details_aadhar_number").unique().background())
+        );
+        return indexes;
+    }
+}
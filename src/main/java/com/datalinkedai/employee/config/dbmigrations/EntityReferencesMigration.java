@@ -0,0 +1,90 @@
+package com.datalinkedai.employee.config.dbmigrations;
+
+import com.datalinkedai.employee.config.EntityIndexes;
+import com.mongodb.client.model.Filters;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.List;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Converts the embedded copies of the related entities into references: {@code candidate.parent} becomes
+ * {@code candidate.parent_id} and {@code employee_details.child} becomes {@code employee_details.child_id}, holding
+ * only the id of the related document.
+ * <p>
+ * The documents are rewritten server-side with pipeline updates, and the index on the embedded child id is replaced
+ * by the one on the reference.
+ */
+@ChangeUnit(id = "entity-references", order = "004")
+public class EntityReferencesMigration {
+
+    private static final String CHILD_REFERENCE_INDEX_NAME = "employee_details_child_ref";
+
+    private final MongoTemplate template;
+
+    public EntityReferencesMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        toReference(EntityIndexes.CANDIDATE_COLLECTION, "parent", "parent_id");
+        toReference(EntityIndexes.EMPLOYEE_DETAILS_COLLECTION, "child", "child_id");
+        if (hasIndex(EntityIndexes.EMPLOYEE_DETAILS_COLLECTION, UnlinkedEmployeeDetailsIndexMigration.INDEX_NAME)) {
+            template.indexOps(EntityIndexes.EMPLOYEE_DETAILS_COLLECTION).dropIndex(UnlinkedEmployeeDetailsIndexMigration.INDEX_NAME);
+        }
+        EntityIndexes.all().forEach((collection, indexes) -> indexes.forEach(index -> template.indexOps(collection).ensureIndex(index)));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        toEmbedded(EntityIndexes.CANDIDATE_COLLECTION, "parent_id", "parent", EntityIndexes.EMPLOYEE_DETAILS_COLLECTION);
+        toEmbedded(EntityIndexes.EMPLOYEE_DETAILS_COLLECTION, "child_id", "child", EntityIndexes.CANDIDATE_COLLECTION);
+        template.indexOps(EntityIndexes.EMPLOYEE_DETAILS_COLLECTION).dropIndex(CHILD_REFERENCE_INDEX_NAME);
+        new UnlinkedEmployeeDetailsIndexMigration(template).changeSet();
+    }
+
+    private void toReference(String collection, String embeddedField, String referenceField) {
+        template
+            .getCollection(collection)
+            .updateMany(
+                // an embedded null becomes a null reference
+                Filters.exists(embeddedField),
+                List.of(
+                    new Document("$set", new Document(referenceField, new Document("$toString", "$" + embeddedField + "._id"))),
+                    new Document("$unset", embeddedField)
+                )
+            );
+    }
+
+    private void toEmbedded(String collection, String referenceField, String embeddedField, String referencedCollection) {
+        Document isReferenced = new Document("$eq", List.of(new Document("$toString", "$_id"), "$$reference"));
+        template
+            .getCollection(collection)
+            .aggregate(
+                List.of(
+                    new Document("$match", new Document(referenceField, new Document("$ne", null))),
+                    new Document(
+                        "$lookup",
+                        new Document("from", referencedCollection)
+                            .append("let", new Document("reference", "$" + referenceField))
+                            .append(
+                                "pipeline",
+                                List.of(new Document("$match", new Document("$expr", isReferenced)))
+                            )
+                            .append("as", embeddedField)
+                    ),
+                    new Document("$set", new Document(embeddedField, new Document("$arrayElemAt", List.of("$" + embeddedField, 0)))),
+                    new Document("$unset", referenceField),
+                    new Document("$merge", new Document("into", collection).append("whenMatched", "replace"))
+                )
+            )
+            .toCollection();
+    }
+
+    private boolean hasIndex(String collection, String name) {
+        return template.indexOps(collection).getIndexInfo().stream().anyMatch(index -> name.equals(index.getName()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.datalinkedai.employee.config.dbmigrations;
+
+import com.datalinkedai.employee.config.EntityIndexes;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Sets the initial {@code version} of the existing candidates and employeeDetails, from which their entity tags are
+ * generated and which is incremented on each update.
+ */
+@ChangeUnit(id = "entity-versions", order = "005")
+public class EntityVersionsMigration {
+
+    private static final String VERSION_FIELD = "version";
+
+    private final MongoTemplate template;
+
+    public EntityVersionsMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        initVersion(EntityIndexes.CANDIDATE_COLLECTION);
+        initVersion(EntityIndexes.EMPLOYEE_DETAILS_COLLECTION);
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.getCollection(EntityIndexes.CANDIDATE_COLLECTION).updateMany(Filters.empty(), Updates.unset(VERSION_FIELD));
+        template.getCollection(EntityIndexes.EMPLOYEE_DETAILS_COLLECTION).updateMany(Filters.empty(), Updates.unset(VERSION_FIELD));
+    }
+
+    private void initVersion(String collection) {
+        template.getCollection(collection).updateMany(Filters.exists(VERSION_FIELD, false), Updates.set(VERSION_FIELD, 0L));
+    }
+}
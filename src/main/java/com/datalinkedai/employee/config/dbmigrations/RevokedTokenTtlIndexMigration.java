@@ -0,0 +1,37 @@
+package com.datalinkedai.employee.config.dbmigrations;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.time.Duration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Indexes the expiry date of the revoked tokens as a TTL index, so that MongoDB deletes each revocation once the
+ * tokens it revokes have expired.
+ */
+@ChangeUnit(id = "revoked-token-ttl-index", order = "006")
+public class RevokedTokenTtlIndexMigration {
+
+    static final String INDEX_NAME = "revoked_token_expires_at";
+
+    private final MongoTemplate template;
+
+    public RevokedTokenTtlIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template
+            .indexOps("revoked_token")
+            .ensureIndex(new Index().on("expires_at", Sort.Direction.ASC).expire(Duration.ZERO).named(INDEX_NAME).background());
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps("revoked_token").dropIndex(INDEX_NAME);
+    }
+}
@@ -0,0 +1,37 @@
+package com.datalinkedai.employee.config.dbmigrations;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Indexes the linked candidate of the employee details, so that unlinked employee details can be found without a
+ * collection scan.
+ * <p>
+ * This is a regular index and not a sparse one: documents without a child are indexed under {@code null}, which is
+ * exactly what the {@code child._id: null} query looks up, whereas a sparse index would leave them out.
+ */
+@ChangeUnit(id = "employee-details-child-index", order = "002")
+public class UnlinkedEmployeeDetailsIndexMigration {
+
+    static final String INDEX_NAME = "employee_details_child_id";
+
+    private final MongoTemplate template;
+
+    public UnlinkedEmployeeDetailsIndexMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template.indexOps("employee_details").ensureIndex(new Index().on("child._id", Sort.Direction.ASC).named(INDEX_NAME).background());
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.indexOps("employee_details").dropIndex(INDEX_NAME);
+    }
+}
@@ -1,9 +1,12 @@
 package com.datalinkedai.employee.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -11,13 +14,20 @@ import org.springframework.data.mongodb.core.mapping.Field;
  * A Candidate.
  */
 @Document(collection = "candidate")
-public class Candidate implements Serializable {
+public class Candidate implements Serializable, Projectable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
     private String id;
 
+    /**
+     * The version of the document, incremented on each write. It is sent to clients as the ETag of the entity.
+     */
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @NotNull(message = "must not be null")
     @Size(max = 40)
     @Field("first_name")
@@ -31,9 +41,23 @@ public class Candidate implements Serializable {
     @Field("login")
     private String login;
 
-    @Field("parent")
+    /**
+     * The parent is stored as a reference: only its id is persisted.
+     */
+    @Field("parent_id")
+    private String parentId;
+
+    @Transient
+    @JsonIgnoreProperties(value = { "child" }, allowSetters = true)
     private EmployeeDetails parent;
 
+    /**
+     * Whether the entity was read with only some of its fields, which are then the only ones written to its JSON.
+     */
+    @Transient
+    @JsonIgnore
+    private boolean projected;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -49,6 +73,14 @@ public class Candidate implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getFirstName() {
         return this.firstName;
     }
@@ -88,12 +120,21 @@ public class Candidate implements Serializable {
         this.login = login;
     }
 
+    /**
+     * Get the parent: the resolved employeeDetails if it has been fetched, or else a reference holding only its id.
+     *
+     * @return the parent, or {@code null} if the candidate has none.
+     */
     public EmployeeDetails getParent() {
+        if (this.parent == null && this.parentId != null) {
+            return new EmployeeDetails().id(this.parentId);
+        }
         return this.parent;
     }
 
     public void setParent(EmployeeDetails employeeDetails) {
         this.parent = employeeDetails;
+        this.parentId = employeeDetails == null ? null : employeeDetails.getId();
     }
 
     public Candidate parent(EmployeeDetails employeeDetails) {
@@ -101,6 +142,40 @@ public class Candidate implements Serializable {
         return this;
     }
 
+    @JsonIgnore
+    public String getParentId() {
+        return this.parentId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isProjected() {
+        return this.projected;
+    }
+
+    public void setProjected(boolean projected) {
+        this.projected = projected;
+    }
+
+    public Candidate projected(boolean projected) {
+        this.setProjected(projected);
+        return this;
+    }
+
+    /**
+     * Copy the candidate, for the caches handing each request its own instance. The parent is shared, not copied.
+     *
+     * @return a new candidate with the same fields.
+     */
+    public Candidate copy() {
+        Candidate copy = new Candidate().id(id).firstName(firstName).lastName(lastName).login(login);
+        copy.version = version;
+        copy.projected = projected;
+        copy.parent = parent;
+        copy.parentId = parentId;
+        return copy;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
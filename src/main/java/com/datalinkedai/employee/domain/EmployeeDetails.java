@@ -1,9 +1,12 @@
 package com.datalinkedai.employee.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -11,20 +14,42 @@ import org.springframework.data.mongodb.core.mapping.Field;
  * A EmployeeDetails.
  */
 @Document(collection = "employee_details")
-public class EmployeeDetails implements Serializable {
+public class EmployeeDetails implements Serializable, Projectable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
     private String id;
 
+    /**
+     * The version of the document, incremented on each write. It is sent to clients as the ETag of the entity.
+     */
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @NotNull(message = "must not be null")
     @Size(min = 12)
     @Field("aadhar_number")
     private String aadharNumber;
 
+    /**
+     * The child is stored as a reference: only its id is persisted.
+     */
+    @Field("child_id")
+    private String childId;
+
+    @Transient
+    @JsonIgnoreProperties(value = { "parent" }, allowSetters = true)
     private Candidate child;
 
+    /**
+     * Whether the entity was read with only some of its fields, which are then the only ones written to its JSON.
+     */
+    @Transient
+    @JsonIgnore
+    private boolean projected;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -40,6 +65,14 @@ public class EmployeeDetails implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getAadharNumber() {
         return this.aadharNumber;
     }
@@ -53,7 +86,15 @@ public class EmployeeDetails implements Serializable {
         this.aadharNumber = aadharNumber;
     }
 
+    /**
+     * Get the child: the resolved candidate if it has been fetched, or else a reference holding only its id.
+     *
+     * @return the child, or {@code null} if the employeeDetails has none.
+     */
     public Candidate getChild() {
+        if (this.child == null && this.childId != null) {
+            return new Candidate().id(this.childId);
+        }
         return this.child;
     }
 
@@ -65,6 +106,7 @@ public class EmployeeDetails implements Serializable {
             candidate.setParent(this);
         }
         this.child = candidate;
+        this.childId = candidate == null ? null : candidate.getId();
     }
 
     public EmployeeDetails child(Candidate candidate) {
@@ -72,6 +114,40 @@ public class EmployeeDetails implements Serializable {
         return this;
     }
 
+    @JsonIgnore
+    public String getChildId() {
+        return this.childId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isProjected() {
+        return this.projected;
+    }
+
+    public void setProjected(boolean projected) {
+        this.projected = projected;
+    }
+
+    public EmployeeDetails projected(boolean projected) {
+        this.setProjected(projected);
+        return this;
+    }
+
+    /**
+     * Copy the employeeDetails, for the caches handing each request its own instance. The child is shared, not copied.
+     *
+     * @return a new employeeDetails with the same fields.
+     */
+    public EmployeeDetails copy() {
+        EmployeeDetails copy = new EmployeeDetails().id(id).aadharNumber(aadharNumber);
+        copy.version = version;
+        copy.projected = projected;
+        copy.child = child;
+        copy.childId = childId;
+        return copy;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -0,0 +1,286 @@
+package com.datalinkedai.employee.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * An ExportJob: the export of all the entities of a collection, run in the background and stored as a GridFS file.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Document(collection = "export_job")
+public class ExportJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    @Id
+    private String id;
+
+    /**
+     * The name of the exported entity, e.g. {@code candidate}.
+     */
+    @Field("entity_name")
+    private String entityName;
+
+    /**
+     * The extension of the format of the export, e.g. {@code csv}.
+     */
+    @Field("format")
+    private String format;
+
+    @Field("status")
+    private Status status;
+
+    /**
+     * The number of entities to export, counted when the job starts.
+     */
+    @Field("total")
+    private Long total;
+
+    /**
+     * The number of entities exported so far.
+     */
+    @Field("exported")
+    private Long exported;
+
+    @JsonIgnore
+    @Field("file_id")
+    private String fileId;
+
+    @Field("error")
+    private String error;
+
+    @JsonIgnore
+    @Field("created_by")
+    private String createdBy;
+
+    @Field("created_date")
+    private Instant createdDate;
+
+    @Field("completed_date")
+    private Instant completedDate;
+
+    /**
+     * The id of the instance running the job.
+     */
+    @JsonIgnore
+    @Field("owner")
+    private String owner;
+
+    /**
+     * The time until which the owner is known to run the job: past it, the owner is taken as stopped.
+     */
+    @JsonIgnore
+    @Field("lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public ExportJob id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEntityName() {
+        return this.entityName;
+    }
+
+    public ExportJob entityName(String entityName) {
+        this.setEntityName(entityName);
+        return this;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public String getFormat() {
+        return this.format;
+    }
+
+    public ExportJob format(String format) {
+        this.setFormat(format);
+        return this;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Status getStatus() {
+        return this.status;
+    }
+
+    public ExportJob status(Status status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getTotal() {
+        return this.total;
+    }
+
+    public ExportJob total(Long total) {
+        this.setTotal(total);
+        return this;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public Long getExported() {
+        return this.exported;
+    }
+
+    public ExportJob exported(Long exported) {
+        this.setExported(exported);
+        return this;
+    }
+
+    public void setExported(Long exported) {
+        this.exported = exported;
+    }
+
+    public String getFileId() {
+        return this.fileId;
+    }
+
+    public ExportJob fileId(String fileId) {
+        this.setFileId(fileId);
+        return this;
+    }
+
+    public void setFileId(String fileId) {
+        this.fileId = fileId;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+
+    public ExportJob error(String error) {
+        this.setError(error);
+        return this;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getCreatedBy() {
+        return this.createdBy;
+    }
+
+    public ExportJob createdBy(String createdBy) {
+        this.setCreatedBy(createdBy);
+        return this;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public ExportJob createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getCompletedDate() {
+        return this.completedDate;
+    }
+
+    public ExportJob completedDate(Instant completedDate) {
+        this.setCompletedDate(completedDate);
+        return this;
+    }
+
+    public void setCompletedDate(Instant completedDate) {
+        this.completedDate = completedDate;
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public ExportJob owner(String owner) {
+        this.setOwner(owner);
+        return this;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getLeaseExpiresAt() {
+        return this.leaseExpiresAt;
+    }
+
+    public ExportJob leaseExpiresAt(Instant leaseExpiresAt) {
+        this.setLeaseExpiresAt(leaseExpiresAt);
+        return this;
+    }
+
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExportJob)) {
+            return false;
+        }
+        return id != null && id.equals(((ExportJob) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ExportJob{" +
+            "id=" + getId() +
+            ", entityName='" + getEntityName() + "'" +
+            ", format='" + getFormat() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", total=" + getTotal() +
+            ", exported=" + getExported() +
+            "}";
+    }
+}
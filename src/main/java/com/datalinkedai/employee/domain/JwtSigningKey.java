@@ -0,0 +1,114 @@
+package com.datalinkedai.employee.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A JwtSigningKey: an RSA key pair signing the JWT tokens, shared by all the instances of the gateway.
+ * <p>
+ * The id is the {@code kid} of the key, sent in the header of the tokens it signs and in the published key set.
+ */
+@Document(collection = "jwt_signing_key")
+public class JwtSigningKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    /**
+     * The X.509 encoding of the public key, in Base64.
+     */
+    @Field("public_key")
+    private String publicKey;
+
+    /**
+     * The PKCS #8 encoding of the private key, encrypted with AES-GCM, in Base64: the IV followed by the ciphertext.
+     */
+    @Field("private_key")
+    private String privateKey;
+
+    @Field("created_date")
+    private Instant createdDate;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public JwtSigningKey id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPublicKey() {
+        return this.publicKey;
+    }
+
+    public JwtSigningKey publicKey(String publicKey) {
+        this.setPublicKey(publicKey);
+        return this;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public String getPrivateKey() {
+        return this.privateKey;
+    }
+
+    public JwtSigningKey privateKey(String privateKey) {
+        this.setPrivateKey(privateKey);
+        return this;
+    }
+
+    public void setPrivateKey(String privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public JwtSigningKey createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JwtSigningKey)) {
+            return false;
+        }
+        return id != null && id.equals(((JwtSigningKey) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JwtSigningKey{" +
+            "id=" + getId() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
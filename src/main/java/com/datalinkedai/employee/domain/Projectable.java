@@ -0,0 +1,12 @@
+package com.datalinkedai.employee.domain;
+
+/**
+ * An entity which may be read with only some of its fields.
+ */
+public interface Projectable {
+    /**
+     * @return {@code true} if the entity was read with only the fields requested, whose other fields are left out of
+     * its JSON, or {@code false} if its fields are all written, including the {@code null} ones.
+     */
+    boolean isProjected();
+}
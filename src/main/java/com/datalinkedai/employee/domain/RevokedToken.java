@@ -0,0 +1,122 @@
+package com.datalinkedai.employee.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A RevokedToken: either a single JWT token, revoked by its {@code jti}, or all the tokens of a user issued before a
+ * date.
+ * <p>
+ * The document is deleted by a TTL index once the tokens it revokes have expired.
+ */
+@Document(collection = "revoked_token")
+public class RevokedToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String USER_ID_PREFIX = "user:";
+
+    /**
+     * The {@code jti} of the revoked token, or the login of the user prefixed with {@value #USER_ID_PREFIX}.
+     */
+    @Id
+    private String id;
+
+    @Field("login")
+    private String login;
+
+    /**
+     * The date before which the tokens of the user are revoked, {@code null} for a single token.
+     */
+    @Field("not_before")
+    private Instant notBefore;
+
+    /**
+     * The date at which the revoked tokens have all expired.
+     */
+    @Field("expires_at")
+    private Instant expiresAt;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public RevokedToken id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLogin() {
+        return this.login;
+    }
+
+    public RevokedToken login(String login) {
+        this.setLogin(login);
+        return this;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public Instant getNotBefore() {
+        return this.notBefore;
+    }
+
+    public RevokedToken notBefore(Instant notBefore) {
+        this.setNotBefore(notBefore);
+        return this;
+    }
+
+    public void setNotBefore(Instant notBefore) {
+        this.notBefore = notBefore;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public RevokedToken expiresAt(Instant expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RevokedToken)) {
+            return false;
+        }
+        return id != null && id.equals(((RevokedToken) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RevokedToken{" +
+            "id=" + getId() +
+            ", login='" + getLogin() + "'" +
+            ", notBefore='" + getNotBefore() + "'" +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            "}";
+    }
+}
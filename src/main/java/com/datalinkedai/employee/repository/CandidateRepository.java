@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CandidateRepository extends ReactiveMongoRepository<Candidate, String> {}
+public interface CandidateRepository extends ReactiveMongoRepository<Candidate, String>, CandidateRepositoryInternal {}
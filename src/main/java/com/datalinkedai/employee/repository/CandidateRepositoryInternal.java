@@ -0,0 +1,143 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.Candidate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.bson.BsonDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom operations for the {@link Candidate} entity, each executed as a single round trip.
+ */
+public interface CandidateRepositoryInternal {
+    /**
+     * Insert a new candidate, in the session of the write if it runs in one.
+     *
+     * @param candidate the candidate to insert.
+     * @return the inserted candidate.
+     * @see RoutedReadOperations#withOperationTime(Mono)
+     */
+    Mono<Candidate> create(Candidate candidate);
+
+    /**
+     * Replace all the fields of an existing candidate, and increment its version.
+     *
+     * @param candidate the candidate to update, identified by its id, and by its version if not {@code null}.
+     * @return the updated candidate, or an empty {@link Mono} if no candidate has this id and version.
+     */
+    Mono<Candidate> update(Candidate candidate);
+
+    /**
+     * Update only the non-null fields of an existing candidate, and increment its version.
+     *
+     * @param candidate the candidate holding the fields to update, identified by its id, and by its version if not {@code null}.
+     * @return the updated candidate, or an empty {@link Mono} if no candidate has this id and version.
+     */
+    Mono<Candidate> partialUpdate(Candidate candidate);
+
+    /**
+     * Insert new candidates with one unordered bulk write, so that a failing document does not prevent the insertion
+     * of the others. Candidates without an id are given one before being sent. The insert runs in the session of the write
+     * if it runs in one.
+     *
+     * @param candidates the candidates to insert.
+     * @return the error message of each candidate which could not be inserted, by position in the given list.
+     */
+    Mono<Map<Integer, String>> insertAllUnordered(List<Candidate> candidates);
+
+    /**
+     * Find candidates on the members of the replica set chosen by a route.
+     *
+     * @param route the route of the read.
+     * @param fields if not {@code null}, the names of the properties to read; the id is always read.
+     * @param afterId if not {@code null}, only the candidates with a greater id are returned.
+     * @param pageable the pagination information.
+     * @return the candidates.
+     */
+    Flux<Candidate> findAllWithRoute(ReadRoute route, Collection<String> fields, String afterId, Pageable pageable);
+
+    /**
+     * Find the candidates matching criteria on the members of the replica set chosen by a route.
+     *
+     * @param route the route of the read.
+     * @param criteria if not {@code null}, the criteria the candidates must match.
+     * @param fields if not {@code null}, the names of the properties to read; the id is always read.
+     * @param afterId if not {@code null}, only the candidates with a greater id are returned.
+     * @param pageable the pagination information.
+     * @return the candidates.
+     */
+    Flux<Candidate> findAllMatching(ReadRoute route, Criteria criteria, Collection<String> fields, String afterId, Pageable pageable);
+
+    /**
+     * Count the candidates matching criteria.
+     *
+     * @param criteria if not {@code null}, the criteria the candidates must match.
+     * @return the number of candidates.
+     */
+    Mono<Long> countMatching(Criteria criteria);
+
+    /**
+     * Find a candidate, reading only the given fields from the database. The other fields are left {@code null}.
+     *
+     * @param id the id of the candidate.
+     * @param fields the names of the properties to read; the id is always read.
+     * @return the partially read candidate, or an empty {@link Mono} if no candidate has this id.
+     */
+    Mono<Candidate> findByIdWithFields(String id, Collection<String> fields);
+
+    /**
+     * Resolve the parent of each of the given candidates. The candidates are processed by batches, with one query per batch.
+     *
+     * @param candidates the candidates holding a reference to their parent.
+     * @return the same candidates, in the same order, with their parent fetched.
+     */
+    Flux<Candidate> fetchParents(Flux<Candidate> candidates);
+
+    /**
+     * Find candidates ordered by id, together with their parent, with a single {@code $lookup} aggregation.
+     *
+     * @param afterId if not {@code null}, only the candidates with a greater id are returned.
+     * @param pageable the pagination information; only the page size is used.
+     * @return the candidates, with their parent fetched.
+     */
+    Flux<Candidate> findAllWithParent(String afterId, Pageable pageable);
+
+    /**
+     * Watch the insertions, updates and deletions of candidates with a change stream. The inserted and updated
+     * candidates are sent in full.
+     *
+     * @param resumeAfter if not {@code null}, the resume token of the last change received: the stream starts after it.
+     * @return the endless stream of the changes.
+     */
+    Flux<ChangeStreamEvent<Candidate>> watch(BsonDocument resumeAfter);
+
+    /**
+     * Read only the version of a candidate.
+     *
+     * @param id the id of the candidate.
+     * @return the version, or an empty {@link Mono} if no candidate has this id.
+     */
+    Mono<Long> findVersionById(String id);
+
+    /**
+     * Find the id of the candidate at a given position in the order of the ids, reading only the {@code _id} index.
+     *
+     * @param offset the number of candidates with a smaller id.
+     * @return the id, or an empty {@link Mono} if there are no more candidates.
+     */
+    Mono<String> findIdAt(long offset);
+
+    /**
+     * Find the candidates whose id is in a range, ordered by id.
+     *
+     * @param fromId if not {@code null}, the smallest id of the range, included.
+     * @param toId if not {@code null}, the end of the range, excluded.
+     * @return the candidates.
+     */
+    Flux<Candidate> findAllInIdRange(String fromId, String toId);
+}
@@ -0,0 +1,328 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link CandidateRepositoryInternal}.
+ * <p>
+ * Updates use {@code findAndModify} so that the existence check, the update and the read of the updated document
+ * happen in one server-side operation.
+ */
+class CandidateRepositoryInternalImpl implements CandidateRepositoryInternal {
+
+    private static final int RESOLUTION_BATCH_SIZE = 1000;
+
+    private static final int JOIN_BATCH_SIZE = 500;
+
+    private static final String PARENT_REFERENCE_FIELD = "parent_ref";
+
+    private static final List<String> WATCHED_OPERATIONS = List.of("insert", "update", "replace", "delete");
+
+    private final ReactiveMongoTemplate template;
+
+    private final Validator validator;
+
+    private final RoutedReadOperations routedReadOperations;
+
+    CandidateRepositoryInternalImpl(ReactiveMongoTemplate template, Validator validator, RoutedReadOperations routedReadOperations) {
+        this.template = template;
+        this.validator = validator;
+        this.routedReadOperations = routedReadOperations;
+    }
+
+    @Override
+    public Mono<Candidate> create(Candidate candidate) {
+        return routedReadOperations.writeOperations().flatMap(operations -> operations.insert(candidate));
+    }
+
+    @Override
+    public Mono<Candidate> update(Candidate candidate) {
+        Update update = new Update();
+        setOrUnset(update, "firstName", candidate.getFirstName());
+        setOrUnset(update, "lastName", candidate.getLastName());
+        setOrUnset(update, "login", candidate.getLogin());
+        setOrUnset(update, "parentId", candidate.getParentId());
+        return findAndModify(candidate, update);
+    }
+
+    @Override
+    public Mono<Candidate> partialUpdate(Candidate candidate) {
+        return Mono
+            .fromCallable(() -> {
+                Update update = new Update();
+                setIfPresent(update, candidate, "firstName", candidate.getFirstName());
+                setIfPresent(update, candidate, "lastName", candidate.getLastName());
+                setIfPresent(update, candidate, "login", candidate.getLogin());
+                return update;
+            })
+            .flatMap(update ->
+                update.getUpdateObject().isEmpty()
+                    ? template.findOne(byIdAndVersion(candidate), Candidate.class)
+                    : findAndModify(candidate, update)
+            );
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAllUnordered(List<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+        List<Document> documents = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            if (candidate.getId() == null) {
+                candidate.setId(new ObjectId().toHexString());
+            }
+            if (candidate.getVersion() == null) {
+                candidate.setVersion(0L);
+            }
+            Document document = new Document();
+            template.getConverter().write(candidate, document);
+            documents.add(document);
+        }
+        return template
+            .getCollection(template.getCollectionName(Candidate.class))
+            .flatMap(collection -> {
+                InsertManyOptions options = new InsertManyOptions().ordered(false);
+                // the session-bound operations do not bind the native collection to their session
+                return routedReadOperations
+                    .writeSession()
+                    .flatMap(session -> Mono.from(collection.insertMany(session, documents, options)))
+                    .switchIfEmpty(Mono.defer(() -> Mono.from(collection.insertMany(documents, options))));
+            })
+            .map(result -> Collections.<Integer, String>emptyMap())
+            .onErrorResume(
+                MongoBulkWriteException.class,
+                e -> Mono.just(e.getWriteErrors().stream().collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage)))
+            );
+    }
+
+    @Override
+    public Flux<Candidate> findAllWithRoute(ReadRoute route, Collection<String> fields, String afterId, Pageable pageable) {
+        return findAllMatching(route, null, fields, afterId, pageable);
+    }
+
+    @Override
+    public Flux<Candidate> findAllMatching(
+        ReadRoute route,
+        Criteria criteria,
+        Collection<String> fields,
+        String afterId,
+        Pageable pageable
+    ) {
+        Query query = after(afterId);
+        if (criteria != null) {
+            // wrapped, as the criteria may also hold conditions on the id
+            query.addCriteria(new Criteria().andOperator(criteria));
+        }
+        if (fields != null) {
+            include(query, fields);
+        }
+        return routedReadOperations.find(query.with(pageable), Candidate.class, route);
+    }
+
+    @Override
+    public Mono<Long> countMatching(Criteria criteria) {
+        return template.count(criteria == null ? new Query() : Query.query(criteria), Candidate.class);
+    }
+
+    @Override
+    public Mono<Candidate> findByIdWithFields(String id, Collection<String> fields) {
+        return template.findOne(include(Query.query(Criteria.where("id").is(id)), fields), Candidate.class);
+    }
+
+    @Override
+    public Mono<Long> findVersionById(String id) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("version");
+        return template.findOne(query, Candidate.class).flatMap(candidate -> Mono.justOrEmpty(candidate.getVersion()));
+    }
+
+    @Override
+    public Mono<String> findIdAt(long offset) {
+        Query query = new Query().with(Sort.by("id")).skip(offset);
+        query.fields().include("id");
+        return template.findOne(query, Candidate.class).map(Candidate::getId);
+    }
+
+    @Override
+    public Flux<Candidate> findAllInIdRange(String fromId, String toId) {
+        Criteria criteria = Criteria.where("id");
+        if (fromId != null) {
+            criteria.gte(fromId);
+        }
+        if (toId != null) {
+            criteria.lt(toId);
+        }
+        Query query = fromId == null && toId == null ? new Query() : Query.query(criteria);
+        return template.find(query.with(Sort.by("id")), Candidate.class);
+    }
+
+    private Mono<Candidate> findAndModify(Candidate candidate, Update update) {
+        return routedReadOperations
+            .writeOperations()
+            .flatMap(operations ->
+                operations.findAndModify(
+                    byIdAndVersion(candidate),
+                    update.inc("version", 1),
+                    FindAndModifyOptions.options().returnNew(true),
+                    Candidate.class
+                )
+            );
+    }
+
+    private static Query byIdAndVersion(Candidate candidate) {
+        Query query = Query.query(Criteria.where("id").is(candidate.getId()));
+        if (candidate.getVersion() != null) {
+            query.addCriteria(Criteria.where("version").is(candidate.getVersion()));
+        }
+        return query;
+    }
+
+    @Override
+    public Flux<Candidate> fetchParents(Flux<Candidate> candidates) {
+        return candidates.buffer(RESOLUTION_BATCH_SIZE).concatMap(this::fetchParentsOfBatch);
+    }
+
+    private Flux<Candidate> fetchParentsOfBatch(List<Candidate> batch) {
+        Set<String> ids = batch.stream().map(Candidate::getParentId).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Flux.fromIterable(batch);
+        }
+        return template
+            .find(Query.query(Criteria.where("id").in(ids)), EmployeeDetails.class)
+            .collectMap(EmployeeDetails::getId)
+            .flatMapIterable(related -> {
+                for (Candidate candidate : batch) {
+                    EmployeeDetails resolved = related.get(candidate.getParentId());
+                    if (resolved != null) {
+                        candidate.setParent(resolved);
+                    }
+                }
+                return batch;
+            });
+    }
+
+    @Override
+    public Flux<Candidate> findAllWithParent(String afterId, Pageable pageable) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        if (afterId != null) {
+            operations.add(Aggregation.match(Criteria.where("id").gt(afterId)));
+        }
+        operations.add(Aggregation.sort(Sort.Direction.ASC, "id"));
+        if (pageable.isPaged()) {
+            operations.add(Aggregation.limit(pageable.getPageSize()));
+        }
+        // the reference is a string, converted back to the type of the ids so that the lookup uses the _id index
+        operations.add(context ->
+            new Document(
+                "$addFields",
+                new Document(
+                    PARENT_REFERENCE_FIELD,
+                    new Document("$convert", new Document("input", "$parent_id").append("to", "objectId").append("onError", "$parent_id"))
+                )
+            )
+        );
+        operations.add(context ->
+            new Document(
+                "$lookup",
+                new Document("from", template.getCollectionName(EmployeeDetails.class))
+                    .append("localField", PARENT_REFERENCE_FIELD)
+                    .append("foreignField", "_id")
+                    .append("as", "parent")
+            )
+        );
+        operations.add(context -> new Document("$project", new Document(PARENT_REFERENCE_FIELD, 0)));
+        TypedAggregation<Candidate> aggregation = Aggregation
+            .newAggregation(Candidate.class, operations)
+            .withOptions(AggregationOptions.builder().cursorBatchSize(JOIN_BATCH_SIZE).build());
+        return template.aggregate(aggregation, Document.class).map(this::readWithParent);
+    }
+
+    @Override
+    public Flux<ChangeStreamEvent<Candidate>> watch(BsonDocument resumeAfter) {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions
+            .builder()
+            .filter(Aggregation.newAggregation(Aggregation.match(Criteria.where("operationType").in(WATCHED_OPERATIONS))))
+            .returnFullDocumentOnUpdate();
+        if (resumeAfter != null) {
+            options.resumeAfter(resumeAfter);
+        }
+        return template.changeStream(template.getCollectionName(Candidate.class), options.build(), Candidate.class);
+    }
+
+    private Candidate readWithParent(Document document) {
+        Candidate candidate = template.getConverter().read(Candidate.class, document);
+        List<Document> parents = document.getList("parent", Document.class);
+        if (parents != null && !parents.isEmpty()) {
+            candidate.setParent(template.getConverter().read(EmployeeDetails.class, parents.get(0)));
+        }
+        return candidate;
+    }
+
+    private static Query after(String afterId) {
+        Query query = new Query();
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+        return query;
+    }
+
+    private static Query include(Query query, Collection<String> fields) {
+        // the parent is stored as a reference, under the parentId property
+        fields.forEach(field -> query.fields().include("parent".equals(field) ? "parentId" : field));
+        return query;
+    }
+
+    private static void setOrUnset(Update update, String property, Object value) {
+        if (value == null) {
+            update.unset(property);
+        } else {
+            update.set(property, value);
+        }
+    }
+
+    private void setIfPresent(Update update, Candidate candidate, String property, Object value) {
+        if (value == null) {
+            return;
+        }
+        // the full document is not saved, so the validation done on save only applies to the updated fields
+        Set<ConstraintViolation<Candidate>> violations = validator.validateProperty(candidate, property);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        update.set(property, value);
+    }
+}
@@ -3,10 +3,13 @@ package com.datalinkedai.employee.repository;
 import com.datalinkedai.employee.domain.EmployeeDetails;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data MongoDB reactive repository for the EmployeeDetails entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmployeeDetailsRepository extends ReactiveMongoRepository<EmployeeDetails, String> {}
+public interface EmployeeDetailsRepository extends ReactiveMongoRepository<EmployeeDetails, String>, EmployeeDetailsRepositoryInternal {
+    Mono<Boolean> existsByAadharNumber(String aadharNumber);
+}
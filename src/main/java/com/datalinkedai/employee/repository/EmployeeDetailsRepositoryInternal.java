@@ -0,0 +1,129 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import java.util.Collection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom operations for the {@link EmployeeDetails} entity, each executed as a single round trip.
+ */
+public interface EmployeeDetailsRepositoryInternal {
+    /**
+     * Insert a new employeeDetails, in the session of the write if it runs in one.
+     *
+     * @param employeeDetails the employeeDetails to insert.
+     * @return the inserted employeeDetails.
+     * @see RoutedReadOperations#withOperationTime(Mono)
+     */
+    Mono<EmployeeDetails> create(EmployeeDetails employeeDetails);
+
+    /**
+     * Replace all the fields of an existing employeeDetails, and increment its version.
+     *
+     * @param employeeDetails the employeeDetails to update, identified by its id, and by its version if not {@code null}.
+     * @return the updated employeeDetails, or an empty {@link Mono} if no employeeDetails has this id and version.
+     */
+    Mono<EmployeeDetails> update(EmployeeDetails employeeDetails);
+
+    /**
+     * Update only the non-null fields of an existing employeeDetails, and increment its version.
+     *
+     * @param employeeDetails the employeeDetails holding the fields to update, identified by its id, and by its version if not {@code null}.
+     * @return the updated employeeDetails, or an empty {@link Mono} if no employeeDetails has this id and version.
+     */
+    Mono<EmployeeDetails> partialUpdate(EmployeeDetails employeeDetails);
+
+    /**
+     * Find employeeDetails, reading only the given fields from the database. The other fields are left {@code null}.
+     *
+     * @param fields the names of the properties to read; the id is always read.
+     * @param unlinkedOnly if {@code true}, only the employeeDetails without a child are returned.
+     * @param afterId if not {@code null}, only the employeeDetails with a greater id are returned.
+     * @param pageable the pagination information.
+     * @return the partially read employeeDetails.
+     */
+    Flux<EmployeeDetails> findAllWithFields(Collection<String> fields, boolean unlinkedOnly, String afterId, Pageable pageable);
+
+    /**
+     * Find employeeDetails on the members of the replica set chosen by a route.
+     *
+     * @param route the route of the read.
+     * @param fields if not {@code null}, the names of the properties to read; the id is always read.
+     * @param unlinkedOnly if {@code true}, only the employeeDetails without a child are returned.
+     * @param afterId if not {@code null}, only the employeeDetails with a greater id are returned.
+     * @param pageable the pagination information.
+     * @return the employeeDetails.
+     */
+    Flux<EmployeeDetails> findAllWithRoute(
+        ReadRoute route,
+        Collection<String> fields,
+        boolean unlinkedOnly,
+        String afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Find the employeeDetails matching criteria on the members of the replica set chosen by a route.
+     *
+     * @param route the route of the read.
+     * @param criteria if not {@code null}, the criteria the employeeDetails must match.
+     * @param fields if not {@code null}, the names of the properties to read; the id is always read.
+     * @param afterId if not {@code null}, only the employeeDetails with a greater id are returned.
+     * @param pageable the pagination information.
+     * @return the employeeDetails.
+     */
+    Flux<EmployeeDetails> findAllMatching(ReadRoute route, Criteria criteria, Collection<String> fields, String afterId, Pageable pageable);
+
+    /**
+     * Count the employeeDetails matching criteria.
+     *
+     * @param criteria if not {@code null}, the criteria the employeeDetails must match.
+     * @return the number of employeeDetails.
+     */
+    Mono<Long> countMatching(Criteria criteria);
+
+    /**
+     * Find an employeeDetails, reading only the given fields from the database. The other fields are left {@code null}.
+     *
+     * @param id the id of the employeeDetails.
+     * @param fields the names of the properties to read; the id is always read.
+     * @return the partially read employeeDetails, or an empty {@link Mono} if no employeeDetails has this id.
+     */
+    Mono<EmployeeDetails> findByIdWithFields(String id, Collection<String> fields);
+
+    /**
+     * Resolve the child of each of the given employeeDetails. The employeeDetails are processed by batches, with one query per batch.
+     *
+     * @param employeeDetails the employeeDetails holding a reference to their child.
+     * @return the same employeeDetails, in the same order, with their child fetched.
+     */
+    Flux<EmployeeDetails> fetchChildren(Flux<EmployeeDetails> employeeDetails);
+
+    /**
+     * Read only the version of an employeeDetails.
+     *
+     * @param id the id of the employeeDetails.
+     * @return the version, or an empty {@link Mono} if no employeeDetails has this id.
+     */
+    Mono<Long> findVersionById(String id);
+
+    /**
+     * Find the id of the employeeDetails at a given position in the order of the ids, reading only the {@code _id} index.
+     *
+     * @param offset the number of employeeDetails with a smaller id.
+     * @return the id, or an empty {@link Mono} if there are no more employeeDetails.
+     */
+    Mono<String> findIdAt(long offset);
+
+    /**
+     * Find the employeeDetails whose id is in a range, ordered by id.
+     *
+     * @param fromId if not {@code null}, the smallest id of the range, included.
+     * @param toId if not {@code null}, the end of the range, excluded.
+     * @return the employeeDetails.
+     */
+    Flux<EmployeeDetails> findAllInIdRange(String fromId, String toId);
+}
@@ -0,0 +1,224 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link EmployeeDetailsRepositoryInternal}, using {@code findAndModify} so that the existence check,
+ * the update and the read of the updated document happen in one server-side operation.
+ */
+class EmployeeDetailsRepositoryInternalImpl implements EmployeeDetailsRepositoryInternal {
+
+    private static final int RESOLUTION_BATCH_SIZE = 1000;
+
+    private final ReactiveMongoTemplate template;
+
+    private final Validator validator;
+
+    private final RoutedReadOperations routedReadOperations;
+
+    EmployeeDetailsRepositoryInternalImpl(ReactiveMongoTemplate template, Validator validator, RoutedReadOperations routedReadOperations) {
+        this.template = template;
+        this.validator = validator;
+        this.routedReadOperations = routedReadOperations;
+    }
+
+    @Override
+    public Mono<EmployeeDetails> create(EmployeeDetails employeeDetails) {
+        return routedReadOperations.writeOperations().flatMap(operations -> operations.insert(employeeDetails));
+    }
+
+    @Override
+    public Mono<EmployeeDetails> update(EmployeeDetails employeeDetails) {
+        Update update = new Update();
+        setOrUnset(update, "aadharNumber", employeeDetails.getAadharNumber());
+        setOrUnset(update, "childId", employeeDetails.getChildId());
+        return findAndModify(employeeDetails, update);
+    }
+
+    @Override
+    public Mono<EmployeeDetails> partialUpdate(EmployeeDetails employeeDetails) {
+        return Mono
+            .fromCallable(() -> {
+                Update update = new Update();
+                setIfPresent(update, employeeDetails, "aadharNumber", employeeDetails.getAadharNumber());
+                return update;
+            })
+            .flatMap(update ->
+                update.getUpdateObject().isEmpty()
+                    ? template.findOne(byIdAndVersion(employeeDetails), EmployeeDetails.class)
+                    : findAndModify(employeeDetails, update)
+            );
+    }
+
+    @Override
+    public Flux<EmployeeDetails> findAllWithFields(Collection<String> fields, boolean unlinkedOnly, String afterId, Pageable pageable) {
+        return template.find(include(filter(unlinkedOnly, afterId), fields).with(pageable), EmployeeDetails.class);
+    }
+
+    @Override
+    public Flux<EmployeeDetails> findAllWithRoute(
+        ReadRoute route,
+        Collection<String> fields,
+        boolean unlinkedOnly,
+        String afterId,
+        Pageable pageable
+    ) {
+        return findAllMatching(route, unlinkedOnly ? Criteria.where("childId").is(null) : null, fields, afterId, pageable);
+    }
+
+    @Override
+    public Flux<EmployeeDetails> findAllMatching(
+        ReadRoute route,
+        Criteria criteria,
+        Collection<String> fields,
+        String afterId,
+        Pageable pageable
+    ) {
+        Query query = filter(false, afterId);
+        if (criteria != null) {
+            // wrapped, as the criteria may also hold conditions on the id
+            query.addCriteria(new Criteria().andOperator(criteria));
+        }
+        if (fields != null) {
+            include(query, fields);
+        }
+        return routedReadOperations.find(query.with(pageable), EmployeeDetails.class, route);
+    }
+
+    @Override
+    public Mono<Long> countMatching(Criteria criteria) {
+        return template.count(criteria == null ? new Query() : Query.query(criteria), EmployeeDetails.class);
+    }
+
+    @Override
+    public Mono<EmployeeDetails> findByIdWithFields(String id, Collection<String> fields) {
+        return template.findOne(include(Query.query(Criteria.where("id").is(id)), fields), EmployeeDetails.class);
+    }
+
+    @Override
+    public Mono<Long> findVersionById(String id) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("version");
+        return template.findOne(query, EmployeeDetails.class).flatMap(employeeDetails -> Mono.justOrEmpty(employeeDetails.getVersion()));
+    }
+
+    @Override
+    public Mono<String> findIdAt(long offset) {
+        Query query = new Query().with(Sort.by("id")).skip(offset);
+        query.fields().include("id");
+        return template.findOne(query, EmployeeDetails.class).map(EmployeeDetails::getId);
+    }
+
+    @Override
+    public Flux<EmployeeDetails> findAllInIdRange(String fromId, String toId) {
+        Criteria criteria = Criteria.where("id");
+        if (fromId != null) {
+            criteria.gte(fromId);
+        }
+        if (toId != null) {
+            criteria.lt(toId);
+        }
+        Query query = fromId == null && toId == null ? new Query() : Query.query(criteria);
+        return template.find(query.with(Sort.by("id")), EmployeeDetails.class);
+    }
+
+    private Mono<EmployeeDetails> findAndModify(EmployeeDetails employeeDetails, Update update) {
+        return routedReadOperations
+            .writeOperations()
+            .flatMap(operations ->
+                operations.findAndModify(
+                    byIdAndVersion(employeeDetails),
+                    update.inc("version", 1),
+                    FindAndModifyOptions.options().returnNew(true),
+                    EmployeeDetails.class
+                )
+            );
+    }
+
+    private static Query byIdAndVersion(EmployeeDetails employeeDetails) {
+        Query query = Query.query(Criteria.where("id").is(employeeDetails.getId()));
+        if (employeeDetails.getVersion() != null) {
+            query.addCriteria(Criteria.where("version").is(employeeDetails.getVersion()));
+        }
+        return query;
+    }
+
+    @Override
+    public Flux<EmployeeDetails> fetchChildren(Flux<EmployeeDetails> employeeDetails) {
+        return employeeDetails.buffer(RESOLUTION_BATCH_SIZE).concatMap(this::fetchChildrenOfBatch);
+    }
+
+    private Flux<EmployeeDetails> fetchChildrenOfBatch(List<EmployeeDetails> batch) {
+        Set<String> ids = batch.stream().map(EmployeeDetails::getChildId).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Flux.fromIterable(batch);
+        }
+        return template
+            .find(Query.query(Criteria.where("id").in(ids)), Candidate.class)
+            .collectMap(Candidate::getId)
+            .flatMapIterable(related -> {
+                for (EmployeeDetails employeeDetails : batch) {
+                    Candidate resolved = related.get(employeeDetails.getChildId());
+                    if (resolved != null) {
+                        employeeDetails.setChild(resolved);
+                    }
+                }
+                return batch;
+            });
+    }
+
+    private static Query filter(boolean unlinkedOnly, String afterId) {
+        Query query = new Query();
+        if (unlinkedOnly) {
+            query.addCriteria(Criteria.where("childId").is(null));
+        }
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+        return query;
+    }
+
+    private static Query include(Query query, Collection<String> fields) {
+        // the child is stored as a reference, under the childId property
+        fields.forEach(field -> query.fields().include("child".equals(field) ? "childId" : field));
+        return query;
+    }
+
+    private static void setOrUnset(Update update, String property, Object value) {
+        if (value == null) {
+            update.unset(property);
+        } else {
+            update.set(property, value);
+        }
+    }
+
+    private void setIfPresent(Update update, EmployeeDetails employeeDetails, String property, Object value) {
+        if (value == null) {
+            return;
+        }
+        // the full document is not saved, so the validation done on save only applies to the updated fields
+        Set<ConstraintViolation<EmployeeDetails>> violations = validator.validateProperty(employeeDetails, property);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        update.set(property, value);
+    }
+}
@@ -0,0 +1,15 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.ExportJob;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data MongoDB reactive repository for the ExportJob entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ExportJobRepository extends ReactiveMongoRepository<ExportJob, String>, ExportJobRepositoryInternal {
+    Mono<ExportJob> findByIdAndCreatedBy(String id, String createdBy);
+}
@@ -0,0 +1,56 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.ExportJob;
+import java.time.Instant;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom operations for the {@link ExportJob} entity, each executed as a single round trip.
+ * <p>
+ * The state of a job is only ever changed by conditional updates, so that a job deleted meanwhile is not written back.
+ */
+public interface ExportJobRepositoryInternal {
+    /**
+     * Record the progress of a running job. The count only ever grows, so a late update cannot undo a newer one.
+     *
+     * @param id the id of the job.
+     * @param exported the number of entities exported so far.
+     * @return a {@link Mono} completing once the progress is recorded.
+     */
+    Mono<Void> updateProgress(String id, long exported);
+
+    /**
+     * Mark a pending job of an instance as running.
+     *
+     * @param id the id of the job.
+     * @param owner the id of the instance running the job.
+     * @param total the number of entities to export.
+     * @return {@code true} if the job was pending, {@code false} if it has been deleted or failed meanwhile.
+     */
+    Mono<Boolean> start(String id, String owner, long total);
+
+    /**
+     * Record the outcome of a running job of an instance: its status, its progress, its file and its error.
+     *
+     * @param job the completed or failed job.
+     * @return {@code true} if the job was running, {@code false} if it has been deleted or failed meanwhile.
+     */
+    Mono<Boolean> finish(ExportJob job);
+
+    /**
+     * Renew the lease of the pending and running jobs of an instance.
+     *
+     * @param owner the id of the instance.
+     * @param leaseExpiresAt the new end of the lease.
+     * @return the number of jobs whose lease was renewed.
+     */
+    Mono<Long> renewLeases(String owner, Instant leaseExpiresAt);
+
+    /**
+     * Mark as failed the pending and running jobs whose lease has expired, as their instance has stopped.
+     *
+     * @param now the current time.
+     * @return the number of jobs marked as failed.
+     */
+    Mono<Long> failExpiredJobs(Instant now);
+}
@@ -0,0 +1,85 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.ExportJob;
+import com.mongodb.client.result.UpdateResult;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link ExportJobRepositoryInternal}.
+ */
+class ExportJobRepositoryInternalImpl implements ExportJobRepositoryInternal {
+
+    private static final List<ExportJob.Status> UNFINISHED = List.of(ExportJob.Status.PENDING, ExportJob.Status.RUNNING);
+
+    private final ReactiveMongoTemplate template;
+
+    ExportJobRepositoryInternalImpl(ReactiveMongoTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public Mono<Void> updateProgress(String id, long exported) {
+        return template
+            .updateFirst(Query.query(Criteria.where("id").is(id)), new Update().max("exported", exported), ExportJob.class)
+            .then();
+    }
+
+    @Override
+    public Mono<Boolean> start(String id, String owner, long total) {
+        Query query = Query.query(Criteria.where("id").is(id).and("owner").is(owner).and("status").is(ExportJob.Status.PENDING));
+        Update update = new Update().set("status", ExportJob.Status.RUNNING).set("total", total);
+        return template.updateFirst(query, update, ExportJob.class).map(ExportJobRepositoryInternalImpl::matched);
+    }
+
+    @Override
+    public Mono<Boolean> finish(ExportJob job) {
+        Query query = Query.query(
+            Criteria.where("id").is(job.getId()).and("owner").is(job.getOwner()).and("status").is(ExportJob.Status.RUNNING)
+        );
+        Update update = new Update()
+            .set("status", job.getStatus())
+            .set("exported", job.getExported())
+            .set("completedDate", job.getCompletedDate());
+        if (job.getFileId() != null) {
+            update.set("fileId", job.getFileId());
+        }
+        if (job.getError() != null) {
+            update.set("error", job.getError());
+        }
+        return template.updateFirst(query, update, ExportJob.class).map(ExportJobRepositoryInternalImpl::matched);
+    }
+
+    @Override
+    public Mono<Long> renewLeases(String owner, Instant leaseExpiresAt) {
+        Query query = Query.query(Criteria.where("owner").is(owner).and("status").in(UNFINISHED));
+        return template
+            .updateMulti(query, new Update().set("leaseExpiresAt", leaseExpiresAt), ExportJob.class)
+            .map(UpdateResult::getModifiedCount);
+    }
+
+    @Override
+    public Mono<Long> failExpiredJobs(Instant now) {
+        // the jobs submitted before the leases have none
+        Query query = Query.query(
+            Criteria
+                .where("status")
+                .in(UNFINISHED)
+                .orOperator(Criteria.where("leaseExpiresAt").lt(now), Criteria.where("leaseExpiresAt").exists(false))
+        );
+        Update update = new Update()
+            .set("status", ExportJob.Status.FAILED)
+            .set("error", "Interrupted: the instance running the job stopped")
+            .set("completedDate", now);
+        return template.updateMulti(query, update, ExportJob.class).map(UpdateResult::getModifiedCount);
+    }
+
+    private static boolean matched(UpdateResult result) {
+        return result.getMatchedCount() > 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.JwtSigningKey;
+import java.time.Instant;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data MongoDB reactive repository for the JwtSigningKey entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface JwtSigningKeyRepository extends ReactiveMongoRepository<JwtSigningKey, String> {
+    Flux<JwtSigningKey> findAllByCreatedDateAfterOrderByCreatedDateDesc(Instant createdDate);
+
+    Mono<Long> deleteByCreatedDateBefore(Instant createdDate);
+}
@@ -0,0 +1,41 @@
+package com.datalinkedai.employee.repository;
+
+import com.mongodb.ReadPreference;
+import org.bson.BsonTimestamp;
+
+/**
+ * The members of the replica set a read may be served by, and the operation time the read must observe.
+ * <p>
+ * When an operation time is given, the read runs in a causally consistent session starting after this time, so that
+ * a secondary only answers once it has replicated the writes up to it.
+ */
+public final class ReadRoute {
+
+    public static final ReadRoute PRIMARY = new ReadRoute(ReadPreference.primary(), null);
+
+    private final ReadPreference readPreference;
+
+    private final BsonTimestamp afterOperationTime;
+
+    public ReadRoute(ReadPreference readPreference, BsonTimestamp afterOperationTime) {
+        this.readPreference = readPreference;
+        this.afterOperationTime = afterOperationTime;
+    }
+
+    public ReadPreference getReadPreference() {
+        return readPreference;
+    }
+
+    public BsonTimestamp getAfterOperationTime() {
+        return afterOperationTime;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReadRoute{" +
+            "readPreference=" + readPreference +
+            ", afterOperationTime=" + afterOperationTime +
+            "}";
+    }
+}
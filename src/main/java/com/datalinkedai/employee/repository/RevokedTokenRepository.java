@@ -0,0 +1,16 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.RevokedToken;
+import java.time.Instant;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data MongoDB reactive repository for the RevokedToken entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface RevokedTokenRepository extends ReactiveMongoRepository<RevokedToken, String> {
+    Flux<RevokedToken> findAllByExpiresAtAfter(Instant expiresAt);
+}
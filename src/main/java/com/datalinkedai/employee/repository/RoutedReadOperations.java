@@ -0,0 +1,167 @@
+package com.datalinkedai.employee.repository;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import java.util.Optional;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Reads sent to the members of the replica set chosen by a {@link ReadRoute}, and the sessions of the writes these
+ * reads must observe.
+ * <p>
+ * The template applies a single read preference to all the reads, so routed reads are sent through the driver: the
+ * query is mapped like the template does, and the documents are read with the same converter. The reads from the
+ * primary are left to the template.
+ * <p>
+ * A write run with {@link #withOperationTime(Mono)} runs in a causally consistent session, carried by the Reactor
+ * context to the repository writes, and gives the operation time of the session once done.
+ */
+@Component
+public class RoutedReadOperations {
+
+    private static final ClientSessionOptions CAUSALLY_CONSISTENT = ClientSessionOptions.builder().causallyConsistent(true).build();
+
+    private static final String WRITE_SESSION_KEY = RoutedReadOperations.class.getName() + ".WRITE_SESSION";
+
+    private final ReactiveMongoTemplate template;
+
+    private final ReactiveMongoDatabaseFactory databaseFactory;
+
+    private final QueryMapper queryMapper;
+
+    public RoutedReadOperations(ReactiveMongoTemplate template, ReactiveMongoDatabaseFactory databaseFactory) {
+        this.template = template;
+        this.databaseFactory = databaseFactory;
+        this.queryMapper = new QueryMapper(template.getConverter());
+    }
+
+    /**
+     * Find the entities matching a query.
+     *
+     * @param query the query, with its projection, sort, skip and limit.
+     * @param entityClass the type of the entities.
+     * @param route the route of the read.
+     * @param <T> the type of the entities.
+     * @return the entities.
+     */
+    public <T> Flux<T> find(Query query, Class<T> entityClass, ReadRoute route) {
+        if (route.getAfterOperationTime() == null && ReadPreference.primary().equals(route.getReadPreference())) {
+            return template.find(query, entityClass);
+        }
+        MongoPersistentEntity<?> entity = template.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+        Document projection = queryMapper.getMappedFields(query.getFieldsObject(), entity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+        return template
+            .getCollection(template.getCollectionName(entityClass))
+            .map(collection -> collection.withReadPreference(route.getReadPreference()))
+            .flatMapMany(collection -> {
+                if (route.getAfterOperationTime() == null) {
+                    return Flux.from(prepare(collection.find(filter), query, projection, sort));
+                }
+                return Flux.usingWhen(
+                    databaseFactory.getSession(CAUSALLY_CONSISTENT),
+                    session -> {
+                        session.advanceOperationTime(route.getAfterOperationTime());
+                        return prepare(collection.find(session, filter), query, projection, sort);
+                    },
+                    session -> Mono.fromRunnable(session::close)
+                );
+            })
+            .map(document -> template.getConverter().read(entityClass, document));
+    }
+
+    /**
+     * Run a write in a causally consistent session, so that a later routed read can be made to observe it.
+     * <p>
+     * The repository writes run in the session through {@link #writeOperations()} and {@link #writeSession()}.
+     *
+     * @param write the write.
+     * @param <T> the type of the result of the write.
+     * @return the result of the write, with the operation time of the session if the database is a replica set and
+     * the write reached it, or an empty {@link Mono} if the write is empty.
+     */
+    public <T> Mono<Tuple2<T, Optional<BsonTimestamp>>> withOperationTime(Mono<T> write) {
+        return Mono.usingWhen(
+            databaseFactory.getSession(CAUSALLY_CONSISTENT),
+            session ->
+                write
+                    .contextWrite(context -> context.put(WRITE_SESSION_KEY, session))
+                    .map(result -> Tuples.of(result, Optional.ofNullable(session.getOperationTime()))),
+            session -> Mono.fromRunnable(session::close)
+        );
+    }
+
+    /**
+     * Get the operations of a repository write: bound to the session of {@link #withOperationTime(Mono)} when the
+     * write runs in one.
+     *
+     * @return the operations.
+     */
+    public Mono<ReactiveMongoOperations> writeOperations() {
+        return Mono.deferContextual(context ->
+            Mono.just(sessionOf(context).<ReactiveMongoOperations>map(template::withSession).orElse(template))
+        );
+    }
+
+    /**
+     * Get the session of a repository write sent through the driver, which the operations of the template do not bind
+     * to their native collections.
+     *
+     * @return the session, or an empty {@link Mono} if the write does not run in one.
+     */
+    public Mono<ClientSession> writeSession() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(sessionOf(context)));
+    }
+
+    /**
+     * Tell whether a write runs in the session of {@link #withOperationTime(Mono)}.
+     *
+     * @param context the context of the write.
+     * @return {@code true} if the write runs in a session.
+     */
+    public boolean hasWriteSession(ContextView context) {
+        return sessionOf(context).isPresent();
+    }
+
+    /**
+     * Make the session of a write, if any, observe the writes up to an operation time, e.g. those of a batch written
+     * on its behalf in another session.
+     *
+     * @param context the context of the write.
+     * @param operationTime the operation time.
+     */
+    public void advanceOperationTime(ContextView context, BsonTimestamp operationTime) {
+        sessionOf(context).ifPresent(session -> session.advanceOperationTime(operationTime));
+    }
+
+    private static Optional<ClientSession> sessionOf(ContextView context) {
+        return context.getOrEmpty(WRITE_SESSION_KEY);
+    }
+
+    private static FindPublisher<Document> prepare(FindPublisher<Document> find, Query query, Document projection, Document sort) {
+        find.projection(projection).sort(sort);
+        if (query.getSkip() > 0) {
+            find.skip((int) query.getSkip());
+        }
+        if (query.getLimit() > 0) {
+            find.limit(query.getLimit());
+        }
+        return find;
+    }
+}
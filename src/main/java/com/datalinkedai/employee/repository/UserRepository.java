@@ -12,7 +12,7 @@ import reactor.core.publisher.Mono;
  * Spring Data MongoDB repository for the {@link User} entity.
  */
 @Repository
-public interface UserRepository extends ReactiveMongoRepository<User, String> {
+public interface UserRepository extends ReactiveMongoRepository<User, String>, UserRepositoryInternal {
     Mono<User> findOneByActivationKey(String activationKey);
     Flux<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
     Mono<User> findOneByResetKey(String resetKey);
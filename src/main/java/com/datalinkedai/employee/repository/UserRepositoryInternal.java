@@ -0,0 +1,19 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.User;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Custom operations for the {@link User} entity.
+ */
+public interface UserRepositoryInternal {
+    /**
+     * Find the activated users on the members of the replica set chosen by a route.
+     *
+     * @param route the route of the read.
+     * @param pageable the pagination information.
+     * @return the activated users.
+     */
+    Flux<User> findAllActivatedWithRoute(ReadRoute route, Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.datalinkedai.employee.repository;
+
+import com.datalinkedai.employee.domain.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+/**
+ * Implementation of {@link UserRepositoryInternal}.
+ */
+class UserRepositoryInternalImpl implements UserRepositoryInternal {
+
+    private final RoutedReadOperations routedReadOperations;
+
+    UserRepositoryInternalImpl(RoutedReadOperations routedReadOperations) {
+        this.routedReadOperations = routedReadOperations;
+    }
+
+    @Override
+    public Flux<User> findAllActivatedWithRoute(ReadRoute route, Pageable pageable) {
+        return routedReadOperations.find(Query.query(Criteria.where("activated").is(true)).with(pageable), User.class, route);
+    }
+}
@@ -0,0 +1,401 @@
+package com.datalinkedai.employee.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+
+/**
+ * Verifies the {@code HS512} tokens issued with the HMAC secret without jjwt, on the hot path of the requests.
+ * <p>
+ * Each thread reuses its {@link Mac}, and the buffers the token is decoded into, and only the claims the
+ * {@link TokenProvider} uses are read from the payload, so that a valid token allocates little more than the claims
+ * returned. Only the tokens in the exact shape the {@link TokenProvider} issues are verified here: the
+ * {@code {"alg":"HS512"}} header, and a flat payload of the {@code jti}, {@code sub}, {@code auth}, {@code iat} and
+ * {@code exp} claims without escaped characters. Any other token, and any token failing a check, is left to jjwt, which
+ * either accepts it or tells why it is rejected.
+ */
+final class HmacTokenVerifier {
+
+    /**
+     * The Base64url encoding of {@code {"alg":"HS512"}}.
+     */
+    static final String HEADER = "eyJhbGciOiJIUzUxMiJ9";
+
+    private static final String MAC_ALGORITHM = "HmacSHA512";
+
+    private static final int SIGNATURE_LENGTH = 64;
+
+    /**
+     * The length of the unpadded Base64url encoding of the signature.
+     */
+    private static final int ENCODED_SIGNATURE_LENGTH = (SIGNATURE_LENGTH * 4 + 2) / 3;
+
+    private static final byte[] BASE64URL_VALUES = new byte[128];
+
+    private static final int JTI = 0;
+
+    private static final int SUB = 1;
+
+    private static final int AUTH = 2;
+
+    private static final int IAT = 3;
+
+    private static final int EXP = 4;
+
+    /**
+     * The greatest number of seconds an {@link Instant} holds.
+     */
+    private static final long MAX_EPOCH_SECOND = Instant.MAX.getEpochSecond();
+
+    private static final byte[][] CLAIM_NAMES = {
+        "jti".getBytes(StandardCharsets.US_ASCII),
+        "sub".getBytes(StandardCharsets.US_ASCII),
+        "auth".getBytes(StandardCharsets.US_ASCII),
+        "iat".getBytes(StandardCharsets.US_ASCII),
+        "exp".getBytes(StandardCharsets.US_ASCII),
+    };
+
+    static {
+        Arrays.fill(BASE64URL_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final boolean enabled;
+
+    private final ThreadLocal<Workspace> workspaces;
+
+    HmacTokenVerifier(Key key) {
+        byte[] encoded = key.getEncoded();
+        // jjwt rejects the keys too short for HS512 with an exception of its own
+        this.enabled = encoded != null && encoded.length >= SIGNATURE_LENGTH;
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(key));
+    }
+
+    /**
+     * Verify the signature and the expiry of a token.
+     *
+     * @param token the token.
+     * @return the claims of the token, or {@code null} if the token is to be left to jjwt.
+     */
+    VerifiedClaims verify(String token) {
+        if (!enabled || token == null || !token.startsWith(HEADER) || token.length() <= HEADER.length()) {
+            return null;
+        }
+        int payloadStart = HEADER.length() + 1;
+        int payloadEnd = token.indexOf('.', payloadStart);
+        if (token.charAt(HEADER.length()) != '.' || payloadEnd < 0 || token.length() - payloadEnd - 1 != ENCODED_SIGNATURE_LENGTH) {
+            return null;
+        }
+        Workspace workspace = workspaces.get();
+        if (!workspace.verifySignature(token, payloadEnd)) {
+            return null;
+        }
+        VerifiedClaims claims = workspace.readClaims(token, payloadStart, payloadEnd);
+        if (claims == null || claims.subject == null || claims.authorities == null) {
+            return null;
+        }
+        if (claims.expiresAt != null && System.currentTimeMillis() > claims.expiresAt.toEpochMilli()) {
+            // jjwt tracks the expired tokens
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Decode unpadded Base64url characters.
+     *
+     * @return the number of bytes decoded, or {@code -1} if the characters are not unpadded Base64url.
+     */
+    private static int decode(String source, int from, int to, byte[] target) {
+        if ((to - from) % 4 == 1) {
+            return -1;
+        }
+        int decoded = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            int value = c < BASE64URL_VALUES.length ? BASE64URL_VALUES[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                target[decoded++] = (byte) (bits >> bitCount);
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * The claims of a verified token.
+     */
+    static final class VerifiedClaims {
+
+        private final String tokenId;
+
+        private final String subject;
+
+        private final String authorities;
+
+        private final Instant issuedAt;
+
+        private final Instant expiresAt;
+
+        private VerifiedClaims(String tokenId, String subject, String authorities, Instant issuedAt, Instant expiresAt) {
+            this.tokenId = tokenId;
+            this.subject = subject;
+            this.authorities = authorities;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        String getTokenId() {
+            return tokenId;
+        }
+
+        String getSubject() {
+            return subject;
+        }
+
+        /**
+         * @return the {@code auth} claim, the comma-separated authorities.
+         */
+        String getAuthorities() {
+            return authorities;
+        }
+
+        Instant getIssuedAt() {
+            return issuedAt;
+        }
+
+        Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    /**
+     * The {@link Mac} and the buffers of a thread, and the position of the claims reader in the decoded payload.
+     */
+    private static final class Workspace {
+
+        private final Mac mac;
+
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+
+        private final byte[] expectedSignature = new byte[SIGNATURE_LENGTH];
+
+        private byte[] signingInput = new byte[512];
+
+        private byte[] payload = new byte[384];
+
+        private int position;
+
+        private int limit;
+
+        private Workspace(Key key) {
+            try {
+                mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not initialize " + MAC_ALGORITHM, e);
+            }
+        }
+
+        /**
+         * Compare, in constant time, the signature of a token with the one of its header and payload.
+         */
+        boolean verifySignature(String token, int signingInputLength) {
+            if (decode(token, signingInputLength + 1, token.length(), signature) != SIGNATURE_LENGTH) {
+                return false;
+            }
+            if (signingInput.length < signingInputLength) {
+                signingInput = new byte[Math.max(signingInputLength, 2 * signingInput.length)];
+            }
+            for (int i = 0; i < signingInputLength; i++) {
+                char c = token.charAt(i);
+                if (c >= 128) {
+                    return false;
+                }
+                signingInput[i] = (byte) c;
+            }
+            mac.update(signingInput, 0, signingInputLength);
+            try {
+                mac.doFinal(expectedSignature, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            int difference = 0;
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                difference |= signature[i] ^ expectedSignature[i];
+            }
+            return difference == 0;
+        }
+
+        /**
+         * Read the claims of the payload of a token.
+         *
+         * @return the claims, or {@code null} if the payload is not in the shape of the issued tokens.
+         */
+        VerifiedClaims readClaims(String token, int payloadStart, int payloadEnd) {
+            int maxLength = (payloadEnd - payloadStart) * 3 / 4 + 1;
+            if (payload.length < maxLength) {
+                payload = new byte[Math.max(maxLength, 2 * payload.length)];
+            }
+            limit = decode(token, payloadStart, payloadEnd, payload);
+            position = 0;
+            if (limit < 0 || !consume('{') || consume('}')) {
+                return null;
+            }
+            String tokenId = null;
+            String subject = null;
+            String authorities = null;
+            long issuedAt = -1;
+            long expiresAt = -1;
+            do {
+                int nameStart = readString();
+                if (nameStart < 0) {
+                    return null;
+                }
+                int claim = claimOf(nameStart, position - 1);
+                if (!consume(':')) {
+                    return null;
+                }
+                switch (claim) {
+                    case JTI:
+                        tokenId = readStringValue();
+                        if (tokenId == null) {
+                            return null;
+                        }
+                        break;
+                    case SUB:
+                        subject = readStringValue();
+                        if (subject == null) {
+                            return null;
+                        }
+                        break;
+                    case AUTH:
+                        authorities = readStringValue();
+                        if (authorities == null) {
+                            return null;
+                        }
+                        break;
+                    case IAT:
+                        issuedAt = readNumber();
+                        if (issuedAt < 0) {
+                            return null;
+                        }
+                        break;
+                    case EXP:
+                        expiresAt = readNumber();
+                        if (expiresAt < 0) {
+                            return null;
+                        }
+                        break;
+                    default:
+                        // any other claim, e.g. nbf, is checked by jjwt
+                        return null;
+                }
+            } while (consume(','));
+            if (!consume('}')) {
+                return null;
+            }
+            skipWhitespace();
+            if (position != limit) {
+                return null;
+            }
+            return new VerifiedClaims(
+                tokenId,
+                subject,
+                authorities,
+                issuedAt < 0 ? null : Instant.ofEpochSecond(issuedAt),
+                expiresAt < 0 ? null : Instant.ofEpochSecond(expiresAt)
+            );
+        }
+
+        private int claimOf(int nameStart, int nameEnd) {
+            for (int claim = 0; claim < CLAIM_NAMES.length; claim++) {
+                byte[] name = CLAIM_NAMES[claim];
+                if (name.length == nameEnd - nameStart && Arrays.equals(name, 0, name.length, payload, nameStart, nameEnd)) {
+                    return claim;
+                }
+            }
+            return -1;
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < limit && payload[position] == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < limit && isWhitespace(payload[position])) {
+                position++;
+            }
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+        }
+
+        /**
+         * Read a string without escaped characters, up to its closing quote.
+         *
+         * @return the position of the first character of the string, or {@code -1} if there is no such string.
+         */
+        private int readString() {
+            if (!consume('"')) {
+                return -1;
+            }
+            int start = position;
+            while (position < limit) {
+                byte b = payload[position++];
+                if (b == '"') {
+                    return start;
+                }
+                if (b == '\\' || (b >= 0 && b < 0x20)) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private String readStringValue() {
+            int start = readString();
+            return start < 0 ? null : new String(payload, start, position - 1 - start, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Read a number of seconds.
+         *
+         * @return the number, or {@code -1} if it is not a non-negative integer of at most 18 digits, or is beyond the
+         * greatest {@link Instant}.
+         */
+        private long readNumber() {
+            skipWhitespace();
+            int start = position;
+            long value = 0;
+            while (position < limit && payload[position] >= '0' && payload[position] <= '9') {
+                value = 10 * value + (payload[position++] - '0');
+            }
+            int digits = position - start;
+            if (digits == 0 || digits > 18 || (digits > 1 && payload[start] == '0') || value > MAX_EPOCH_SECOND) {
+                return -1;
+            }
+            return value;
+        }
+    }
+}
@@ -2,12 +2,24 @@ package com.datalinkedai.employee.security.jwt;
 
 import static com.datalinkedai.employee.security.jwt.JWTFilter.AUTHORIZATION_HEADER;
 
+import java.util.List;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 
+/**
+ * Relays the JWT token of the client to the proxied services.
+ * <p>
+ * The token of an authenticated request was already verified by the {@link JWTFilter}: the authentication it installed
+ * in the security context is reused, and the token is only verified here if it is not the one of that authentication.
+ */
 @Component
 public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
 
@@ -21,12 +33,16 @@ public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<O
     public GatewayFilter apply(Object config) {
         return (exchange, chain) -> {
             String token = this.extractJWTToken(exchange.getRequest());
-            if (StringUtils.hasText(token) && this.tokenProvider.validateToken(token)) {
-                ServerHttpRequest request = exchange.getRequest().mutate().header(AUTHORIZATION_HEADER, "Bearer " + token).build();
-
-                return chain.filter(exchange.mutate().request(request).build());
+            if (!StringUtils.hasText(token)) {
+                return chain.filter(exchange);
             }
-            return chain.filter(exchange);
+            return ReactiveSecurityContextHolder
+                .getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> isAuthenticatedBy(authentication, token))
+                .map(authentication -> true)
+                .switchIfEmpty(Mono.fromSupplier(() -> this.tokenProvider.authenticate(token).isPresent()))
+                .flatMap(valid -> chain.filter(valid ? relay(exchange, token) : exchange));
         };
     }
 
@@ -40,4 +56,18 @@ public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<O
         }
         throw new IllegalArgumentException("Invalid token in Authorization header");
     }
+
+    private static boolean isAuthenticatedBy(Authentication authentication, String token) {
+        return authentication != null && authentication.isAuthenticated() && token.equals(authentication.getCredentials());
+    }
+
+    private static ServerWebExchange relay(ServerWebExchange exchange, String token) {
+        List<String> authorization = exchange.getRequest().getHeaders().get(AUTHORIZATION_HEADER);
+        if (authorization != null && authorization.size() == 1) {
+            // the token is already the only one sent to the service, the request is left as is
+            return exchange;
+        }
+        ServerHttpRequest request = exchange.getRequest().mutate().header(AUTHORIZATION_HEADER, "Bearer " + token).build();
+        return exchange.mutate().request(request).build();
+    }
 }
@@ -0,0 +1,375 @@
+package com.datalinkedai.employee.security.jwt;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.JwtSigningKey;
+import com.datalinkedai.employee.repository.JwtSigningKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.PreDestroy;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * The rotating RSA keys signing the JWT tokens when the {@code RS256} algorithm is configured.
+ * <p>
+ * The keys are stored in MongoDB, so that all the instances of the gateway sign and verify with the same keys. Each
+ * instance reloads them periodically, and the first instance to find the newest key older than the rotation interval
+ * generates the next one. A new key is published in the key set before it signs any token: it only signs once two
+ * refresh intervals and a margin have passed since it was created, by which time every instance has reloaded it, and
+ * every service caching the key set for a refresh interval has fetched it again. A key is kept until the last token it
+ * signed has expired.
+ * <p>
+ * The private keys are stored encrypted with AES-GCM, with a key derived from the configured key encryption secret.
+ * <p>
+ * The key set is served from memory, as the JSON Web Key Set of the public keys, versioned by the digest of its JSON.
+ */
+@Component
+public class JwtKeySet {
+
+    private static final String KEY_ALGORITHM = "RSA";
+
+    private static final String ENCRYPTION_ALGORITHM = "AES/GCM/NoPadding";
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private final Logger log = LoggerFactory.getLogger(JwtKeySet.class);
+
+    private final JwtSigningKeyRepository jwtSigningKeyRepository;
+
+    private final ApplicationProperties.JwtSigning jwtSigning;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+
+    private final Duration publicationDelay;
+
+    private final Duration retention;
+
+    private final SecretKey encryptionKey;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private volatile Keys keys;
+
+    private Disposable refreshes;
+
+    public JwtKeySet(
+        JwtSigningKeyRepository jwtSigningKeyRepository,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
+        this.jwtSigningKeyRepository = jwtSigningKeyRepository;
+        this.jwtSigning = applicationProperties.getJwtSigning();
+        this.objectMapper = objectMapper;
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(jwtSigning.getAlgorithm());
+        if (algorithm != SignatureAlgorithm.HS512 && algorithm != SignatureAlgorithm.RS256) {
+            throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm.getValue());
+        }
+        this.enabled = algorithm == SignatureAlgorithm.RS256;
+        this.encryptionKey = enabled ? toEncryptionKey(jwtSigning.getKeyEncryptionSecret()) : null;
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        long maxTokenValidityInSeconds = Math.max(jwt.getTokenValidityInSeconds(), jwt.getTokenValidityInSecondsForRememberMe());
+        // the stale key set of an instance, then the stale copy cached by a service, each for up to a refresh interval
+        this.publicationDelay = jwtSigning.getRefreshInterval().multipliedBy(2).plus(jwtSigning.getPublicationMargin());
+        // a key signs tokens until its successor is published
+        this.retention = jwtSigning.getKeyRotationInterval().plus(publicationDelay).plusSeconds(maxTokenValidityInSeconds);
+        this.keys = new Keys(null, Collections.emptyMap(), toJwks(Collections.emptyMap()));
+    }
+
+    /**
+     * Whether the tokens are signed with the keys of this key set, rather than with the HMAC secret.
+     *
+     * @return {@code true} if the {@code RS256} algorithm is configured.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the public keys, to publish to the services verifying the tokens.
+     *
+     * @return the JSON Web Key Set, empty if the key set is not enabled.
+     */
+    public Jwks getJwks() {
+        return keys.jwks;
+    }
+
+    Optional<SigningKey> getSigningKey() {
+        return Optional.ofNullable(keys.signingKey);
+    }
+
+    RSAPublicKey getVerificationKey(String keyId) {
+        return keyId == null ? null : keys.verificationKeys.get(keyId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        if (!enabled) {
+            return;
+        }
+        // the first keys are loaded before the instance gets to sign its first token
+        refreshSafely().block();
+        refreshes = Flux.interval(jwtSigning.getRefreshInterval()).onBackpressureDrop().concatMap(tick -> refreshSafely()).subscribe();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (refreshes != null) {
+            refreshes.dispose();
+        }
+    }
+
+    /**
+     * Reload the keys, generating the next key if the newest one is older than the rotation interval, and delete the
+     * keys which no longer verify any token.
+     */
+    Mono<Void> refresh() {
+        Instant now = Instant.now();
+        return findKeys(now)
+            .flatMap(found -> {
+                if (!found.isEmpty() && found.get(0).getCreatedDate().isAfter(now.minus(jwtSigning.getKeyRotationInterval()))) {
+                    return Mono.just(found);
+                }
+                return Mono
+                    .fromCallable(() -> generate(now))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(jwtSigningKeyRepository::insert)
+                    .doOnNext(key -> log.info("Generated the JWT signing key {}", key.getId()))
+                    // another instance generated the key of this rotation first
+                    .onErrorResume(DuplicateKeyException.class, e -> Mono.empty())
+                    .then(findKeys(now));
+            })
+            .doOnNext(found -> this.keys = toKeys(found, now))
+            .then(jwtSigningKeyRepository.deleteByCreatedDateBefore(now.minus(retention)))
+            .then();
+    }
+
+    private Mono<Void> refreshSafely() {
+        return refresh()
+            .onErrorResume(e -> {
+                log.warn("Could not refresh the JWT signing keys", e);
+                return Mono.empty();
+            });
+    }
+
+    private Mono<List<JwtSigningKey>> findKeys(Instant now) {
+        return jwtSigningKeyRepository.findAllByCreatedDateAfterOrderByCreatedDateDesc(now.minus(retention)).collectList();
+    }
+
+    private JwtSigningKey generate(Instant now) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(KEY_ALGORITHM);
+        generator.initialize(jwtSigning.getKeySize());
+        KeyPair keyPair = generator.generateKeyPair();
+        // the key id is the same on all the instances for a given rotation, so that only one of them inserts its key
+        String keyId = "rs256-" + now.toEpochMilli() / jwtSigning.getKeyRotationInterval().toMillis();
+        return new JwtSigningKey()
+            .id(keyId)
+            .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+            .privateKey(encrypt(keyPair.getPrivate().getEncoded()))
+            .createdDate(now);
+    }
+
+    /**
+     * Encrypt a private key.
+     *
+     * @return the IV followed by the ciphertext, in Base64.
+     */
+    private String encrypt(byte[] privateKey) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(ENCRYPTION_ALGORITHM);
+        cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        byte[] ciphertext = cipher.doFinal(privateKey);
+        byte[] encrypted = Arrays.copyOf(iv, IV_LENGTH + ciphertext.length);
+        System.arraycopy(ciphertext, 0, encrypted, IV_LENGTH, ciphertext.length);
+        return Base64.getEncoder().encodeToString(encrypted);
+    }
+
+    private byte[] decrypt(String privateKey) throws GeneralSecurityException {
+        byte[] encrypted = Base64.getDecoder().decode(privateKey);
+        Cipher cipher = Cipher.getInstance(ENCRYPTION_ALGORITHM);
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, encrypted, 0, IV_LENGTH));
+        return cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH);
+    }
+
+    private static SecretKey toEncryptionKey(String secret) {
+        byte[] decoded = secret == null ? new byte[0] : Base64.getDecoder().decode(secret);
+        if (decoded.length < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException(
+                "application.jwt-signing.key-encryption-secret must be a Base64 secret of at least 256 bits with RS256"
+            );
+        }
+        try {
+            return new SecretKeySpec(MessageDigest.getInstance("SHA-256").digest(decoded), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param found the keys, newest first.
+     */
+    private Keys toKeys(List<JwtSigningKey> found, Instant now) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(KEY_ALGORITHM);
+            Map<String, RSAPublicKey> verificationKeys = new LinkedHashMap<>();
+            for (JwtSigningKey key : found) {
+                X509EncodedKeySpec publicKey = new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey()));
+                verificationKeys.put(key.getId(), (RSAPublicKey) keyFactory.generatePublic(publicKey));
+            }
+            // the newest key published for long enough, or the oldest one if none is
+            JwtSigningKey signing = found
+                .stream()
+                .filter(key -> !key.getCreatedDate().isAfter(now.minus(publicationDelay)))
+                .findFirst()
+                .orElse(found.isEmpty() ? null : found.get(found.size() - 1));
+            SigningKey signingKey = null;
+            if (signing != null) {
+                PKCS8EncodedKeySpec privateKey = new PKCS8EncodedKeySpec(decrypt(signing.getPrivateKey()));
+                signingKey = new SigningKey(signing.getId(), keyFactory.generatePrivate(privateKey));
+            }
+            return new Keys(signingKey, verificationKeys, toJwks(verificationKeys));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid JWT signing key", e);
+        }
+    }
+
+    private Jwks toJwks(Map<String, RSAPublicKey> verificationKeys) {
+        List<Map<String, String>> jwks = new ArrayList<>(verificationKeys.size());
+        verificationKeys.forEach((keyId, publicKey) -> {
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", KEY_ALGORITHM);
+            jwk.put("use", "sig");
+            jwk.put("alg", SignatureAlgorithm.RS256.getValue());
+            jwk.put("kid", keyId);
+            jwk.put("n", toBase64Url(publicKey.getModulus()));
+            jwk.put("e", toBase64Url(publicKey.getPublicExponent()));
+            jwks.add(jwk);
+        });
+        try {
+            String json = objectMapper.writeValueAsString(Collections.singletonMap("keys", jwks));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return new Jwks(json, Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)));
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Encode an unsigned big-endian integer as a JWK member.
+     */
+    private static String toBase64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            // the sign byte
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * The key currently signing the tokens.
+     */
+    static final class SigningKey {
+
+        private final String keyId;
+
+        private final PrivateKey privateKey;
+
+        private SigningKey(String keyId, PrivateKey privateKey) {
+            this.keyId = keyId;
+            this.privateKey = privateKey;
+        }
+
+        String getKeyId() {
+            return keyId;
+        }
+
+        PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+    }
+
+    /**
+     * A JSON Web Key Set, and its version.
+     */
+    public static final class Jwks {
+
+        private final String json;
+
+        private final String version;
+
+        private Jwks(String json, String version) {
+            this.json = json;
+            this.version = version;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        /**
+         * @return the version of the key set, which changes whenever a key is added or removed.
+         */
+        public String getVersion() {
+            return version;
+        }
+    }
+
+    private static final class Keys {
+
+        private final SigningKey signingKey;
+
+        private final Map<String, RSAPublicKey> verificationKeys;
+
+        private final Jwks jwks;
+
+        private Keys(SigningKey signingKey, Map<String, RSAPublicKey> verificationKeys, Jwks jwks) {
+            this.signingKey = signingKey;
+            this.verificationKeys = verificationKeys;
+            this.jwks = jwks;
+        }
+    }
+}
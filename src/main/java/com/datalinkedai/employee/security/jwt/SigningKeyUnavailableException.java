@@ -0,0 +1,13 @@
+package com.datalinkedai.employee.security.jwt;
+
+/**
+ * This exception is thrown when a token is to be signed with the keys of the {@link JwtKeySet} before they are loaded.
+ */
+public class SigningKeyUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SigningKeyUnavailableException() {
+        super("The JWT signing keys are not loaded yet, try again later");
+    }
+}
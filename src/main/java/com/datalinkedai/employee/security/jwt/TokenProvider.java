@@ -1,14 +1,24 @@
 package com.datalinkedai.employee.security.jwt;
 
+import com.datalinkedai.employee.config.ApplicationProperties;
 import com.datalinkedai.employee.management.SecurityMetersService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,8 +29,24 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
+import reactor.core.publisher.Mono;
 import tech.jhipster.config.JHipsterProperties;
 
+/**
+ * Creates the JWT tokens, and authenticates the requests bearing them.
+ * <p>
+ * The tokens are signed with the HMAC secret, or with the keys of the {@link JwtKeySet} if it is enabled. Once it is
+ * enabled, the tokens signed with the secret are rejected, so that the secret no longer grants access to whoever
+ * still holds it.
+ * <p>
+ * A token is parsed and its signature verified once: the {@link Authentication} built from it is cached until the
+ * token expires, keyed by the SHA-256 digest of the token, so that the next requests bearing the same token skip the
+ * verification. Only valid tokens are cached. Each token has an id, so that it can be revoked: the revocations are
+ * checked on each request, including the cached tokens.
+ * <p>
+ * The tokens issued with the HMAC secret are verified by the {@link HmacTokenVerifier}, and the other ones by jjwt. The
+ * authorities of the tokens are shared, by the value of their claim.
+ */
 @Component
 public class TokenProvider {
 
@@ -30,6 +56,8 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    private static final int MAX_POOLED_AUTHORITIES = 1024;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -40,7 +68,25 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    private final JwtKeySet jwtKeySet;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    private final HmacTokenVerifier hmacTokenVerifier;
+
+    private final Map<String, List<GrantedAuthority>> authoritiesByClaim = new ConcurrentHashMap<>();
+
+    private final Map<String, GrantedAuthority> authorityPool = new ConcurrentHashMap<>();
+
+    public TokenProvider(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        SecurityMetersService securityMetersService,
+        JwtKeySet jwtKeySet,
+        TokenRevocationList tokenRevocationList
+    ) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -55,14 +101,44 @@ public class TokenProvider {
             keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         }
         key = Keys.hmacShaKeyFor(keyBytes);
-        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        // no token signed with the secret is accepted once the tokens are signed with the key set
+        hmacTokenVerifier = jwtKeySet.isEnabled() ? null : new HmacTokenVerifier(key);
+        jwtParser =
+            Jwts
+                .parserBuilder()
+                .setSigningKeyResolver(
+                    new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            return resolveVerificationKey(header);
+                        }
+                    }
+                )
+                .build();
         this.tokenValidityInMilliseconds = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
 
         this.securityMetersService = securityMetersService;
+        this.verifiedTokens =
+            Caffeine
+                .newBuilder()
+                .maximumSize(applicationProperties.getTokenCache().getMaximumSize())
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        this.jwtKeySet = jwtKeySet;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
+    /**
+     * Create a token for an authentication.
+     *
+     * @param authentication the authentication.
+     * @param rememberMe whether the token is valid for the remember-me duration.
+     * @return the signed token.
+     * @throws SigningKeyUnavailableException if the tokens are signed with the keys of the {@link JwtKeySet}, and they
+     * are not loaded yet.
+     */
     public String createToken(Authentication authentication, boolean rememberMe) {
         String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
 
@@ -74,35 +150,178 @@ public class TokenProvider {
             validity = new Date(now + this.tokenValidityInMilliseconds);
         }
 
-        return Jwts
+        JwtBuilder builder = Jwts
             .builder()
+            .setId(UUID.randomUUID().toString())
             .setSubject(authentication.getName())
             .claim(AUTHORITIES_KEY, authorities)
-            .signWith(key, SignatureAlgorithm.HS512)
-            .setExpiration(validity)
-            .serializeToJsonWith(new JacksonSerializer<>())
-            .compact();
+            .setIssuedAt(new Date(now));
+        if (jwtKeySet.isEnabled()) {
+            JwtKeySet.SigningKey signingKey = jwtKeySet.getSigningKey().orElseThrow(SigningKeyUnavailableException::new);
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.getKeyId()).signWith(signingKey.getPrivateKey(), SignatureAlgorithm.RS256);
+        } else {
+            builder.signWith(key, SignatureAlgorithm.HS512);
+        }
+        return builder.setExpiration(validity).serializeToJsonWith(new JacksonSerializer<>()).compact();
+    }
+
+    /**
+     * Authenticate a token, parsing it and verifying its signature only if it is not already in the cache.
+     *
+     * @param token the token.
+     * @return the authentication of the token, or an empty {@link Optional} if the token is not valid or is revoked.
+     */
+    public Optional<Authentication> authenticate(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified == null) {
+            return Optional.empty();
+        }
+        if (tokenRevocationList.isRevoked(verified.tokenId, verified.authentication.getName(), verified.issuedAt)) {
+            this.securityMetersService.trackTokenRevoked();
+            return Optional.empty();
+        }
+        return Optional.of(verified.authentication);
+    }
+
+    /**
+     * Revoke a token, so that it is rejected until it expires.
+     *
+     * @param token the token.
+     * @return a {@link Mono} completing once the token is revoked, at once if the token is not valid or cannot be revoked.
+     */
+    public Mono<Void> revoke(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified == null || verified.tokenId == null || verified.expiresAt == null) {
+            // the tokens issued without an id or an expiry cannot be revoked one by one
+            return Mono.empty();
+        }
+        return tokenRevocationList.revokeToken(verified.tokenId, verified.authentication.getName(), verified.expiresAt);
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+    public boolean validateToken(String authToken) {
+        return authenticate(authToken).isPresent();
+    }
+
+    /**
+     * Get the key verifying the signature of a token: the public key named by the token for {@code RS256}, the HMAC
+     * secret otherwise. Once the tokens are signed with {@code RS256}, the tokens signed with the secret are rejected,
+     * including the ones issued before the switch.
+     */
+    private Key resolveVerificationKey(JwsHeader<?> header) {
+        if (!SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+            if (jwtKeySet.isEnabled()) {
+                throw new SignatureException("JWT tokens signed with the secret are not accepted with RS256 signing");
+            }
+            // the parser rejects the tokens of any other algorithm than the one of the secret
+            return key;
+        }
+        Key publicKey = jwtKeySet.getVerificationKey(header.getKeyId());
+        if (publicKey == null) {
+            throw new SignatureException("Unknown JWT signing key: " + header.getKeyId());
+        }
+        return publicKey;
+    }
+
+    /**
+     * Get a verified token from the cache, or parse it and verify its signature.
+     *
+     * @return the verified token, or {@code null} if it is not valid.
+     */
+    private VerifiedToken verify(String token) {
+        ByteBuffer digest = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified != null) {
+            return verified;
+        }
+        verified = parse(token);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.expiresAt != null) {
+            // a token without expiry is valid, but is not cached: it would never leave the cache before being evicted
+            verifiedTokens.put(digest, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Parse a token and verify its signature, with the {@link HmacTokenVerifier} if the tokens are signed with the
+     * secret, or else with jjwt, without the cache and without checking the revocations.
+     *
+     * @return the verified token, or {@code null} if it is not valid.
+     */
+    VerifiedToken parse(String token) {
+        HmacTokenVerifier.VerifiedClaims verifiedClaims = hmacTokenVerifier == null ? null : hmacTokenVerifier.verify(token);
+        if (verifiedClaims != null) {
+            return new VerifiedToken(
+                toAuthentication(verifiedClaims.getSubject(), verifiedClaims.getAuthorities(), token),
+                verifiedClaims.getTokenId(),
+                verifiedClaims.getIssuedAt(),
+                verifiedClaims.getExpiresAt()
+            );
+        }
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        return new VerifiedToken(
+            toAuthentication(claims.getSubject(), claims.get(AUTHORITIES_KEY).toString(), token),
+            claims.getId(),
+            claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+            claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        );
+    }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
+    private Authentication toAuthentication(String subject, String authoritiesClaim, String token) {
+        List<GrantedAuthority> authorities = toAuthorities(authoritiesClaim);
 
-        User principal = new User(claims.getSubject(), "", authorities);
+        User principal = new User(subject, "", authorities);
 
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
-    public boolean validateToken(String authToken) {
-        try {
-            jwtParser.parseClaimsJws(authToken);
+    /**
+     * Get the authorities of a token from the pool, parsing its claim only the first time it is seen.
+     */
+    private List<GrantedAuthority> toAuthorities(String authoritiesClaim) {
+        List<GrantedAuthority> authorities = authoritiesByClaim.get(authoritiesClaim);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities =
+            Arrays
+                .stream(authoritiesClaim.split(","))
+                .filter(auth -> !auth.trim().isEmpty())
+                .map(this::toAuthority)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+        // the pools are bounded, although only the signed tokens get here
+        if (authoritiesByClaim.size() < MAX_POOLED_AUTHORITIES) {
+            authoritiesByClaim.putIfAbsent(authoritiesClaim, authorities);
+        }
+        return authorities;
+    }
+
+    private GrantedAuthority toAuthority(String authority) {
+        GrantedAuthority pooled = authorityPool.get(authority);
+        if (pooled != null) {
+            return pooled;
+        }
+        pooled = new SimpleGrantedAuthority(authority);
+        if (authorityPool.size() >= MAX_POOLED_AUTHORITIES) {
+            return pooled;
+        }
+        GrantedAuthority existing = authorityPool.putIfAbsent(authority, pooled);
+        return existing != null ? existing : pooled;
+    }
 
-            return true;
+    /**
+     * Parse a token and verify its signature, tracking the cause of its rejection if it is not valid.
+     *
+     * @return the claims of the token, or {@code null} if it is not valid.
+     */
+    private Claims parseClaims(String authToken) {
+        try {
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -123,6 +342,58 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform implements SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static final class VerifiedToken {
+
+        private final Authentication authentication;
+
+        private final String tokenId;
+
+        private final Instant issuedAt;
+
+        private final Instant expiresAt;
+
+        private VerifiedToken(Authentication authentication, String tokenId, Instant issuedAt, Instant expiresAt) {
+            this.authentication = authentication;
+            this.tokenId = tokenId;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        Authentication getAuthentication() {
+            return authentication;
+        }
+    }
+
+    /**
+     * Expires a cached token at its {@code exp} claim.
+     */
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer digest, VerifiedToken token, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAt.toEpochMilli() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
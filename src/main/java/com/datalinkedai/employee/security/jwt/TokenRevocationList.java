@@ -0,0 +1,234 @@
+package com.datalinkedai.employee.security.jwt;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.RevokedToken;
+import com.datalinkedai.employee.repository.RevokedTokenRepository;
+import com.datalinkedai.employee.util.BloomFilter;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * The revoked JWT tokens, checked on each request without any I/O.
+ * <p>
+ * A token is revoked by its {@code jti}, or with all the tokens of its user issued before a date. The revocations are
+ * stored in MongoDB until the tokens they revoke have expired, and mirrored in memory on each instance: the revoked
+ * ids in an exact set behind a Bloom filter, so that the ids which were never revoked, i.e. almost all of them, are
+ * ruled out without a lookup in the set. The instances follow the revocations of each other through a change stream,
+ * and reload them all at the reload interval, which drops the expired ones and catches up after a change stream
+ * failure, or when the database is not a replica set.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final ApplicationProperties.TokenRevocation tokenRevocation;
+
+    private final Duration maxTokenValidity;
+
+    private volatile Revocations revocations;
+
+    private Disposable changes;
+
+    private Disposable reloads;
+
+    public TokenRevocationList(
+        RevokedTokenRepository revokedTokenRepository,
+        ReactiveMongoTemplate mongoTemplate,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.tokenRevocation = applicationProperties.getTokenRevocation();
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        this.maxTokenValidity = Duration.ofSeconds(Math.max(jwt.getTokenValidityInSeconds(), jwt.getTokenValidityInSecondsForRememberMe()));
+        this.revocations = new Revocations(tokenRevocation.getExpectedInsertions(), tokenRevocation.getFalsePositiveProbability());
+    }
+
+    /**
+     * Check whether a token is revoked.
+     *
+     * @param tokenId the {@code jti} of the token, if any.
+     * @param login the subject of the token.
+     * @param issuedAt the {@code iat} of the token, if any.
+     * @return {@code true} if the token, or the tokens of its user issued before it, are revoked.
+     */
+    public boolean isRevoked(String tokenId, String login, Instant issuedAt) {
+        Revocations current = this.revocations;
+        if (tokenId != null && current.mightContain(tokenId) && current.tokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (login == null || current.users.isEmpty()) {
+            return false;
+        }
+        RevokedToken user = current.users.get(login);
+        // a token without issue date cannot be told apart from the ones issued before the revocation
+        return user != null && (issuedAt == null || issuedAt.isBefore(user.getNotBefore()));
+    }
+
+    /**
+     * Revoke a token until it expires.
+     *
+     * @param tokenId the {@code jti} of the token.
+     * @param login the subject of the token.
+     * @param expiresAt the expiry of the token.
+     * @return a {@link Mono} completing once the revocation is stored.
+     */
+    public Mono<Void> revokeToken(String tokenId, String login, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return Mono.empty();
+        }
+        return revokedTokenRepository.save(new RevokedToken().id(tokenId).login(login).expiresAt(expiresAt)).doOnNext(this::add).then();
+    }
+
+    /**
+     * Revoke all the tokens of a user issued so far.
+     *
+     * @param login the login of the user.
+     * @return a {@link Mono} completing once the revocation is stored.
+     */
+    public Mono<Void> revokeUser(String login) {
+        // the issue date of a token is in seconds: the tokens issued during the current second are revoked too
+        Instant notBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        RevokedToken revokedToken = new RevokedToken()
+            .id(RevokedToken.USER_ID_PREFIX + login)
+            .login(login)
+            .notBefore(notBefore)
+            .expiresAt(notBefore.plus(maxTokenValidity));
+        return revokedTokenRepository.save(revokedToken).doOnNext(this::add).then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSynchronizing() {
+        ChangeStreamOptions options = ChangeStreamOptions.builder().returnFullDocumentOnUpdate().build();
+        changes =
+            mongoTemplate
+                .changeStream(mongoTemplate.getCollectionName(RevokedToken.class), options, RevokedToken.class)
+                // the deletions by the TTL index have no body
+                .filter(event -> event.getBody() != null)
+                .doOnNext(event -> add(event.getBody()))
+                .retryWhen(
+                    Retry
+                        .backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(tokenRevocation.getReloadInterval())
+                        .doBeforeRetry(signal ->
+                            log.warn("Revoked token change stream failed, retrying: {}", signal.failure().getMessage())
+                        )
+                )
+                .subscribe();
+        reloads =
+            Flux
+                .interval(Duration.ZERO, tokenRevocation.getReloadInterval())
+                .onBackpressureDrop()
+                .concatMap(tick ->
+                    reload()
+                        .onErrorResume(e -> {
+                            log.warn("Could not reload the revoked tokens", e);
+                            return Mono.empty();
+                        })
+                )
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (changes != null) {
+            changes.dispose();
+        }
+        if (reloads != null) {
+            reloads.dispose();
+        }
+    }
+
+    /**
+     * Reload all the revocations which have not expired, into a new Bloom filter sized for them.
+     */
+    Mono<Void> reload() {
+        Instant now = Instant.now();
+        return revokedTokenRepository
+            .findAllByExpiresAtAfter(now)
+            .collectList()
+            .doOnNext(loaded -> {
+                long expectedInsertions = Math.max(tokenRevocation.getExpectedInsertions(), 2L * loaded.size());
+                Revocations reloaded = new Revocations(expectedInsertions, tokenRevocation.getFalsePositiveProbability());
+                loaded.forEach(reloaded::add);
+                swap(reloaded, now);
+                log.debug("Reloaded {} revoked tokens", loaded.size());
+            })
+            .then();
+    }
+
+    private synchronized void add(RevokedToken revokedToken) {
+        revocations.add(revokedToken);
+    }
+
+    /**
+     * Replace the revocations by reloaded ones, keeping the revocations added since the reload started.
+     */
+    private synchronized void swap(Revocations reloaded, Instant now) {
+        Revocations previous = this.revocations;
+        previous.tokens.forEach((tokenId, revokedToken) -> {
+            if (revokedToken.getExpiresAt().isAfter(now)) {
+                reloaded.add(revokedToken);
+            }
+        });
+        previous.users.forEach((login, revokedToken) -> {
+            if (revokedToken.getExpiresAt().isAfter(now)) {
+                reloaded.add(revokedToken);
+            }
+        });
+        this.revocations = reloaded;
+    }
+
+    private static final class Revocations {
+
+        private final Map<String, RevokedToken> tokens = new ConcurrentHashMap<>();
+
+        private final Map<String, RevokedToken> users = new ConcurrentHashMap<>();
+
+        private final BloomFilter filter;
+
+        private Revocations(long expectedInsertions, double falsePositiveProbability) {
+            this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        }
+
+        void add(RevokedToken revokedToken) {
+            if (revokedToken.getNotBefore() != null) {
+                users.merge(
+                    revokedToken.getLogin(),
+                    revokedToken,
+                    (existing, added) -> existing.getNotBefore().isAfter(added.getNotBefore()) ? existing : added
+                );
+                return;
+            }
+            // the id is set in the filter before the set, so that a token found in the set is always in the filter
+            filter.put(revokedToken.getId());
+            tokens.put(revokedToken.getId(), revokedToken);
+        }
+
+        boolean mightContain(String tokenId) {
+            return filter.mightContain(tokenId);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import com.datalinkedai.employee.repository.EmployeeDetailsRepository;
+import com.datalinkedai.employee.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service detecting the Aadhar numbers already used by an {@link EmployeeDetails}.
+ * <p>
+ * A Bloom filter of the hashed Aadhar numbers is loaded from the database at startup and updated on each write. A
+ * number which is not in the filter is definitely new, so only the numbers the filter reports as possibly used are
+ * looked up in the database. The filter never forgets a number, even when it is changed or deleted: it only costs
+ * an extra lookup. The unique index on the Aadhar number stays the authoritative check against concurrent inserts.
+ * <p>
+ * Until the filter is loaded, every number is looked up. The memory footprint and the expected false positive
+ * probability of the filter are exposed as gauges, and the result of each check as the {@code aadhar.filter.checks}
+ * counter.
+ */
+@Service
+public class AadharNumberFilter {
+
+    public static final String CHECKS_METER_NAME = "aadhar.filter.checks";
+
+    private final Logger log = LoggerFactory.getLogger(AadharNumberFilter.class);
+
+    private final EmployeeDetailsRepository employeeDetailsRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private final BloomFilter filter;
+
+    private volatile boolean loaded;
+
+    public AadharNumberFilter(
+        EmployeeDetailsRepository employeeDetailsRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.employeeDetailsRepository = employeeDetailsRepository;
+        this.meterRegistry = meterRegistry;
+        ApplicationProperties.AadharFilter aadharFilter = applicationProperties.getAadharFilter();
+        this.filter = new BloomFilter(aadharFilter.getExpectedInsertions(), aadharFilter.getFalsePositiveProbability());
+        Gauge
+            .builder("aadhar.filter.memory", filter, BloomFilter::getMemorySize)
+            .description("Memory used by the bits of the Aadhar number Bloom filter")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge
+            .builder("aadhar.filter.false.positive.probability", filter, BloomFilter::expectedFalsePositiveProbability)
+            .description("Expected probability that a new Aadhar number is reported as possibly used")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Load the Aadhar numbers of the existing employeeDetails into the filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        employeeDetailsRepository
+            .findAllWithFields(Set.of("aadharNumber"), false, null, Pageable.unpaged())
+            .doOnNext(employeeDetails -> put(employeeDetails.getAadharNumber()))
+            .count()
+            .subscribe(
+                count -> {
+                    loaded = true;
+                    log.debug("Loaded {} Aadhar numbers into the filter", count);
+                },
+                e -> log.warn("Could not load the Aadhar number filter, all the numbers will be looked up: {}", e.getMessage())
+            );
+    }
+
+    /**
+     * Check whether an Aadhar number is already used by an employeeDetails.
+     *
+     * @param aadharNumber the Aadhar number.
+     * @return {@code true} if the number is used, looking it up in the database only if the filter cannot rule it out.
+     */
+    public Mono<Boolean> isUsed(String aadharNumber) {
+        if (loaded && !mightContain(aadharNumber)) {
+            meterRegistry.counter(CHECKS_METER_NAME, "result", "new").increment();
+            return Mono.just(false);
+        }
+        return employeeDetailsRepository
+            .existsByAadharNumber(aadharNumber)
+            .doOnNext(used -> meterRegistry.counter(CHECKS_METER_NAME, "result", used ? "used" : "false-positive").increment());
+    }
+
+    /**
+     * Add an Aadhar number to the filter, after it has been written.
+     *
+     * @param aadharNumber the Aadhar number.
+     */
+    public void put(String aadharNumber) {
+        if (aadharNumber != null) {
+            filter.put(aadharNumber);
+        }
+    }
+
+    /**
+     * Check whether an Aadhar number might be in the filter.
+     *
+     * @param aadharNumber the Aadhar number.
+     * @return {@code false} if the number is definitely not in the filter.
+     */
+    boolean mightContain(String aadharNumber) {
+        return filter.mightContain(aadharNumber);
+    }
+}
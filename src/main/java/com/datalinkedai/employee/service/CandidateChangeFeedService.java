@@ -0,0 +1,79 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.service.dto.CandidateChangeDTO;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import java.util.regex.Pattern;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service for the live feed of the changes of {@link Candidate}s.
+ * <p>
+ * The feed tails the change stream of the candidate collection. Each change carries the resume token of the change
+ * stream, so that a client which reconnects with the last token it received gets the changes it missed, and nothing
+ * else.
+ */
+@Service
+public class CandidateChangeFeedService {
+
+    private static final String RESUME_TOKEN_DATA = "_data";
+
+    private static final Pattern RESUME_TOKEN_PATTERN = Pattern.compile("[0-9A-Fa-f]+");
+
+    private final CandidateRepository candidateRepository;
+
+    public CandidateChangeFeedService(CandidateRepository candidateRepository) {
+        this.candidateRepository = candidateRepository;
+    }
+
+    /**
+     * Check whether a resume token has the format of the tokens sent with the changes.
+     *
+     * @param resumeToken the resume token.
+     * @return {@code true} if the token can be used to resume the feed.
+     */
+    public static boolean isValidResumeToken(String resumeToken) {
+        return RESUME_TOKEN_PATTERN.matcher(resumeToken).matches();
+    }
+
+    /**
+     * Get the changes of the candidates.
+     *
+     * @param resumeToken if not {@code null}, the resume token of the last change received: the feed starts after it.
+     * @return the endless feed of the changes.
+     */
+    public Flux<CandidateChangeDTO> changes(String resumeToken) {
+        BsonDocument resumeAfter = resumeToken == null ? null : new BsonDocument(RESUME_TOKEN_DATA, new BsonString(resumeToken));
+        return candidateRepository.watch(resumeAfter).map(this::toChange);
+    }
+
+    private CandidateChangeDTO toChange(ChangeStreamEvent<Candidate> event) {
+        ChangeStreamDocument<Document> raw = event.getRaw();
+        String id = raw == null || raw.getDocumentKey() == null ? null : toId(raw.getDocumentKey().get("_id"));
+        String resumeToken = event.getResumeToken() == null
+            ? null
+            : event.getResumeToken().asDocument().getString(RESUME_TOKEN_DATA).getValue();
+        switch (event.getOperationType()) {
+            case INSERT:
+                return new CandidateChangeDTO(CandidateChangeDTO.INSERT, id, event.getBody(), resumeToken);
+            case DELETE:
+                return new CandidateChangeDTO(CandidateChangeDTO.DELETE, id, null, resumeToken);
+            default:
+                return new CandidateChangeDTO(CandidateChangeDTO.UPDATE, id, event.getBody(), resumeToken);
+        }
+    }
+
+    private static String toId(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+}
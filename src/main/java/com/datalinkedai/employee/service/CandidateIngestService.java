@@ -0,0 +1,140 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.service.dto.IngestResultDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service for bulk ingest of {@link Candidate}s.
+ * <p>
+ * Records are parsed and validated one by one, then inserted by batches with unordered bulk writes. Only a bounded number of
+ * batches is in flight at any time, so the request body is read no faster than the database can absorb it.
+ */
+@Service
+public class CandidateIngestService {
+
+    private final Logger log = LoggerFactory.getLogger(CandidateIngestService.class);
+
+    private final CandidateRepository candidateRepository;
+
+    private final Validator validator;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    public CandidateIngestService(
+        CandidateRepository candidateRepository,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
+        this.candidateRepository = candidateRepository;
+        this.validator = validator;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Insert a stream of new candidates.
+     *
+     * @param records the JSON records of the candidates to insert, one per line; the blank lines are skipped.
+     * @return the result of each record, in the order of the records.
+     */
+    public Flux<IngestResultDTO> ingest(Flux<String> records) {
+        ApplicationProperties.BulkIngest bulkIngest = applicationProperties.getBulkIngest();
+        return records
+            .filter(record -> !record.isBlank())
+            .index(this::parse)
+            .buffer(bulkIngest.getBatchSize())
+            .flatMapSequential(this::ingestBatch, bulkIngest.getConcurrency());
+    }
+
+    /**
+     * Parse a record, a malformed record being rejected on its own instead of failing the whole stream.
+     */
+    private ParsedRecord parse(long index, String record) {
+        try {
+            Candidate candidate = objectMapper.readValue(record, Candidate.class);
+            if (candidate == null) {
+                return new ParsedRecord(index, null, "Malformed JSON record: not an object");
+            }
+            return new ParsedRecord(index, candidate, null);
+        } catch (JsonProcessingException e) {
+            return new ParsedRecord(index, null, "Malformed JSON record: " + e.getOriginalMessage());
+        }
+    }
+
+    private Flux<IngestResultDTO> ingestBatch(List<ParsedRecord> batch) {
+        IngestResultDTO[] results = new IngestResultDTO[batch.size()];
+        List<Candidate> validCandidates = new ArrayList<>(batch.size());
+        List<Integer> positions = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            ParsedRecord record = batch.get(i);
+            String error = record.error != null ? record.error : validate(record.candidate);
+            if (error == null) {
+                validCandidates.add(record.candidate);
+                positions.add(i);
+            } else {
+                results[i] = IngestResultDTO.rejected(record.index, error);
+            }
+        }
+        return candidateRepository
+            .insertAllUnordered(validCandidates)
+            .doOnNext(failures -> log.debug("Inserted {} of {} Candidates", validCandidates.size() - failures.size(), batch.size()))
+            .flatMapMany(failures -> {
+                for (int j = 0; j < validCandidates.size(); j++) {
+                    int i = positions.get(j);
+                    String failure = failures.get(j);
+                    results[i] =
+                        failure == null
+                            ? IngestResultDTO.inserted(batch.get(i).index, validCandidates.get(j).getId())
+                            : IngestResultDTO.rejected(batch.get(i).index, failure);
+                }
+                return Flux.fromArray(results);
+            });
+    }
+
+    private String validate(Candidate candidate) {
+        if (candidate.getId() != null) {
+            return "A new candidate cannot already have an ID";
+        }
+        Set<ConstraintViolation<Candidate>> violations = validator.validate(candidate);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private static final class ParsedRecord {
+
+        private final long index;
+
+        private final Candidate candidate;
+
+        private final String error;
+
+        private ParsedRecord(long index, Candidate candidate, String error) {
+            this.index = index;
+            this.candidate = candidate;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.service.criteria.CandidateCriteria;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Service;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Service compiling the {@link CandidateCriteria} of the requests to queries of the {@link Candidate} entities.
+ */
+@Service
+public class CandidateQueryService extends EntityQueryService {
+
+    /**
+     * The first keys of the indexes of the candidates, declared in {@code EntityIndexes}.
+     */
+    private static final Set<String> INDEXED_FIELDS = Set.of("id", "login", "lastName", "firstName");
+
+    public CandidateQueryService(ApplicationProperties applicationProperties) {
+        super(INDEXED_FIELDS, applicationProperties);
+    }
+
+    /**
+     * Compile criteria to a query.
+     *
+     * @param criteria the criteria of the request.
+     * @return the query.
+     * @throws UnindexedQueryException if no index can serve the query and such queries are rejected.
+     */
+    public EntityQuery compile(CandidateCriteria criteria) {
+        Map<String, StringFilter> filters = new LinkedHashMap<>();
+        filters.put("id", criteria.getId());
+        filters.put("firstName", criteria.getFirstName());
+        filters.put("lastName", criteria.getLastName());
+        filters.put("login", criteria.getLogin());
+        filters.put("parentId", criteria.getParentId());
+        return compile(filters);
+    }
+}
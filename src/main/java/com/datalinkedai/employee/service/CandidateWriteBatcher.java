@@ -0,0 +1,201 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.repository.RoutedReadOperations;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.bson.BsonTimestamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.context.ContextView;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Service saving new {@link Candidate}s, merging the concurrent saves into bulk inserts when write batching is enabled.
+ * <p>
+ * The saves are queued and flushed as one unordered bulk insert when the batch is full or when the oldest save has
+ * waited for the configured delay, whichever comes first. Each caller gets the result of its own candidate, and a
+ * caller cancelling its save before the batch is inserted has its candidate left out of the batch. At most the
+ * configured number of saves wait in the queue: the saves beyond it fail fast with a {@link WriteQueueFullException}.
+ * The size of each batch and the number of saves queued when it is flushed are recorded in the {@code candidate.write.batch.size}
+ * and {@code candidate.write.queue.depth} histograms.
+ * <p>
+ * A batch holding a save run in the session of {@link RoutedReadOperations#withOperationTime(Mono)} is inserted in a
+ * session of its own, whose operation time the session of the save is then advanced to, so that the read-after token of
+ * the save covers its candidate.
+ * <p>
+ * When write batching is disabled, each save is a single insert.
+ */
+@Service
+public class CandidateWriteBatcher {
+
+    public static final String BATCH_SIZE_METER_NAME = "candidate.write.batch.size";
+
+    public static final String QUEUE_DEPTH_METER_NAME = "candidate.write.queue.depth";
+
+    private final Logger log = LoggerFactory.getLogger(CandidateWriteBatcher.class);
+
+    private final CandidateRepository candidateRepository;
+
+    private final RoutedReadOperations routedReadOperations;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final DistributionSummary batchSize;
+
+    private final DistributionSummary queueDepth;
+
+    private final int maxQueuedSaves;
+
+    private FluxSink<PendingSave> saves;
+
+    public CandidateWriteBatcher(
+        CandidateRepository candidateRepository,
+        RoutedReadOperations routedReadOperations,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.candidateRepository = candidateRepository;
+        this.routedReadOperations = routedReadOperations;
+        this.batchSize =
+            DistributionSummary
+                .builder(BATCH_SIZE_METER_NAME)
+                .description("Number of candidates inserted by each bulk insert")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueDepth =
+            DistributionSummary
+                .builder(QUEUE_DEPTH_METER_NAME)
+                .description("Number of candidate saves waiting when a batch is flushed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        ApplicationProperties.WriteBatching writeBatching = applicationProperties.getWriteBatching();
+        this.maxQueuedSaves = writeBatching.getMaxQueuedSaves();
+        if (writeBatching.isEnabled()) {
+            Flux
+                .<PendingSave>create(sink -> this.saves = sink)
+                .bufferTimeout(writeBatching.getMaxBatchSize(), writeBatching.getMaxDelay())
+                // no more saves than the maximum are queued, so no more batches either
+                .onBackpressureBuffer(writeBatching.getMaxQueuedSaves())
+                .flatMap(this::insertBatch, writeBatching.getConcurrency())
+                .subscribe();
+        }
+    }
+
+    /**
+     * Save a new candidate.
+     *
+     * @param candidate the candidate to save, without id.
+     * @return the saved candidate, once the batch holding it has been inserted, or a {@link WriteQueueFullException} if
+     * too many saves are already waiting.
+     */
+    public Mono<Candidate> save(Candidate candidate) {
+        if (saves == null) {
+            return candidateRepository.create(candidate);
+        }
+        return Mono.create(sink -> {
+            if (queued.incrementAndGet() > maxQueuedSaves) {
+                queued.decrementAndGet();
+                sink.error(new WriteQueueFullException(maxQueuedSaves));
+                return;
+            }
+            PendingSave pendingSave = new PendingSave(candidate, sink, sink.contextView());
+            sink.onCancel(pendingSave::cancel);
+            saves.next(pendingSave);
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (saves != null) {
+            // the saves already queued are still flushed
+            saves.complete();
+        }
+    }
+
+    private Mono<Void> insertBatch(List<PendingSave> queuedSaves) {
+        queueDepth.record(queued.getAndAdd(-queuedSaves.size()));
+        // a save cancelled from now on is inserted all the same
+        List<PendingSave> batch = queuedSaves.stream().filter(pendingSave -> !pendingSave.isCancelled()).collect(Collectors.toList());
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        batchSize.record(batch.size());
+        List<Candidate> candidates = batch.stream().map(PendingSave::getCandidate).collect(Collectors.toList());
+        Mono<Map<Integer, String>> insert = candidateRepository.insertAllUnordered(candidates);
+        boolean inSession = batch.stream().anyMatch(pendingSave -> routedReadOperations.hasWriteSession(pendingSave.getContext()));
+        Mono<Tuple2<Map<Integer, String>, Optional<BsonTimestamp>>> inserted = inSession
+            ? routedReadOperations.withOperationTime(insert)
+            : insert.map(failures -> Tuples.of(failures, Optional.empty()));
+        return inserted
+            .doOnNext(result -> {
+                Map<Integer, String> failures = result.getT1();
+                log.debug("Inserted {} of {} batched Candidates", batch.size() - failures.size(), batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingSave pendingSave = batch.get(i);
+                    String failure = failures.get(i);
+                    if (failure == null) {
+                        result.getT2().ifPresent(time -> routedReadOperations.advanceOperationTime(pendingSave.getContext(), time));
+                        pendingSave.getSink().success(candidates.get(i));
+                    } else {
+                        pendingSave.getSink().error(new DataIntegrityViolationException(failure));
+                    }
+                }
+            })
+            .doOnError(e -> batch.forEach(pendingSave -> pendingSave.getSink().error(e)))
+            .onErrorResume(e -> Mono.empty())
+            .then();
+    }
+
+    private static final class PendingSave {
+
+        private final Candidate candidate;
+
+        private final MonoSink<Candidate> sink;
+
+        private final ContextView context;
+
+        private volatile boolean cancelled;
+
+        private PendingSave(Candidate candidate, MonoSink<Candidate> sink, ContextView context) {
+            this.candidate = candidate;
+            this.sink = sink;
+            this.context = context;
+        }
+
+        Candidate getCandidate() {
+            return candidate;
+        }
+
+        MonoSink<Candidate> getSink() {
+            return sink;
+        }
+
+        ContextView getContext() {
+            return context;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import com.datalinkedai.employee.service.criteria.EmployeeDetailsCriteria;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Service;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Service compiling the {@link EmployeeDetailsCriteria} of the requests to queries of the {@link EmployeeDetails} entities.
+ */
+@Service
+public class EmployeeDetailsQueryService extends EntityQueryService {
+
+    /**
+     * The first keys of the indexes of the employeeDetails, declared in {@code EntityIndexes}.
+     */
+    private static final Set<String> INDEXED_FIELDS = Set.of("id", "aadharNumber", "childId");
+
+    public EmployeeDetailsQueryService(ApplicationProperties applicationProperties) {
+        super(INDEXED_FIELDS, applicationProperties);
+    }
+
+    /**
+     * Compile criteria to a query.
+     *
+     * @param criteria the criteria of the request.
+     * @return the query.
+     * @throws UnindexedQueryException if no index can serve the query and such queries are rejected.
+     */
+    public EntityQuery compile(EmployeeDetailsCriteria criteria) {
+        Map<String, StringFilter> filters = new LinkedHashMap<>();
+        filters.put("id", criteria.getId());
+        filters.put("aadharNumber", criteria.getAadharNumber());
+        filters.put("childId", criteria.getChildId());
+        return compile(filters);
+    }
+}
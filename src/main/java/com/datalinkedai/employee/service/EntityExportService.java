@@ -0,0 +1,280 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.repository.EmployeeDetailsRepository;
+import com.datalinkedai.employee.repository.ReadRoute;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service exporting all the {@link Candidate}s or {@link EmployeeDetails} as CSV or NDJSON.
+ * <p>
+ * The entities are encoded as they come out of the database cursor, each one straight into a buffer of the given
+ * factory, so that the memory used by an export does not depend on the number of entities. A buffer not written yet
+ * when the export is cancelled or fails is released.
+ */
+@Service
+public class EntityExportService {
+
+    private static final byte[] LINE_SEPARATOR = { '\n' };
+
+    private static final int ROW_CAPACITY = 256;
+
+    private static final List<Column<Candidate>> CANDIDATE_COLUMNS = List.of(
+        new Column<>("id", Candidate::getId),
+        new Column<>("firstName", Candidate::getFirstName),
+        new Column<>("lastName", Candidate::getLastName),
+        new Column<>("login", Candidate::getLogin),
+        new Column<>("parentId", Candidate::getParentId)
+    );
+
+    private static final List<Column<EmployeeDetails>> EMPLOYEE_DETAILS_COLUMNS = List.of(
+        new Column<>("id", EmployeeDetails::getId),
+        new Column<>("aadharNumber", EmployeeDetails::getAadharNumber),
+        new Column<>("childId", EmployeeDetails::getChildId)
+    );
+
+    private final CandidateRepository candidateRepository;
+
+    private final EmployeeDetailsRepository employeeDetailsRepository;
+
+    private final ObjectWriter writer;
+
+    public EntityExportService(
+        CandidateRepository candidateRepository,
+        EmployeeDetailsRepository employeeDetailsRepository,
+        ObjectMapper objectMapper
+    ) {
+        this.candidateRepository = candidateRepository;
+        this.employeeDetailsRepository = employeeDetailsRepository;
+        // the generator must not close the stream of the buffer, the line separator is written after the entity
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Export all the candidates.
+     *
+     * @param route the route of the read.
+     * @param format the format of the export.
+     * @param bufferFactory the factory of the buffers to write the export into.
+     * @return the buffers of the export, one per line.
+     */
+    public Flux<DataBuffer> exportCandidates(ReadRoute route, ExportFormat format, DataBufferFactory bufferFactory) {
+        Flux<Candidate> candidates = candidateRepository.findAllWithRoute(route, null, null, Pageable.unpaged());
+        return Flux.concat(header(CANDIDATE_COLUMNS, format, bufferFactory), encode(candidates, CANDIDATE_COLUMNS, format, bufferFactory));
+    }
+
+    /**
+     * Export all the employeeDetails.
+     *
+     * @param route the route of the read.
+     * @param format the format of the export.
+     * @param bufferFactory the factory of the buffers to write the export into.
+     * @return the buffers of the export, one per line.
+     */
+    public Flux<DataBuffer> exportEmployeeDetails(ReadRoute route, ExportFormat format, DataBufferFactory bufferFactory) {
+        Flux<EmployeeDetails> employeeDetails = employeeDetailsRepository.findAllWithRoute(route, null, false, null, Pageable.unpaged());
+        return Flux.concat(
+            header(EMPLOYEE_DETAILS_COLUMNS, format, bufferFactory),
+            encode(employeeDetails, EMPLOYEE_DETAILS_COLUMNS, format, bufferFactory)
+        );
+    }
+
+    /**
+     * Export the header of an export: the names of the columns for CSV, nothing for NDJSON.
+     *
+     * @param entity the exported entity.
+     * @param format the format of the export.
+     * @param bufferFactory the factory of the buffer to write the header into.
+     * @return the buffer of the header, or an empty {@link Mono} if the format has no header.
+     */
+    public Mono<DataBuffer> exportHeader(ExportEntity entity, ExportFormat format, DataBufferFactory bufferFactory) {
+        return entity == ExportEntity.CANDIDATE
+            ? header(CANDIDATE_COLUMNS, format, bufferFactory)
+            : header(EMPLOYEE_DETAILS_COLUMNS, format, bufferFactory);
+    }
+
+    /**
+     * Export the entities whose id is in a range, without header.
+     *
+     * @param entity the exported entity.
+     * @param format the format of the export.
+     * @param fromId if not {@code null}, the smallest id of the range, included.
+     * @param toId if not {@code null}, the end of the range, excluded.
+     * @param bufferFactory the factory of the buffers to write the export into.
+     * @return the buffers of the export, one per entity.
+     */
+    public Flux<DataBuffer> exportRange(
+        ExportEntity entity,
+        ExportFormat format,
+        String fromId,
+        String toId,
+        DataBufferFactory bufferFactory
+    ) {
+        if (entity == ExportEntity.CANDIDATE) {
+            return encode(candidateRepository.findAllInIdRange(fromId, toId), CANDIDATE_COLUMNS, format, bufferFactory);
+        }
+        return encode(employeeDetailsRepository.findAllInIdRange(fromId, toId), EMPLOYEE_DETAILS_COLUMNS, format, bufferFactory);
+    }
+
+    /**
+     * Count the entities to export.
+     *
+     * @param entity the exported entity.
+     * @return the number of entities.
+     */
+    public Mono<Long> count(ExportEntity entity) {
+        return entity == ExportEntity.CANDIDATE ? candidateRepository.count() : employeeDetailsRepository.count();
+    }
+
+    /**
+     * Split the ids of the entities into ranges holding about the same number of entities. The bounds are read from the
+     * {@code _id} index only.
+     *
+     * @param entity the exported entity.
+     * @param partitions the number of ranges.
+     * @param total the number of entities.
+     * @return the ids starting each range but the first, in order: the first range has no lower bound, the last range
+     * no upper bound.
+     */
+    public Mono<List<String>> findPartitionBounds(ExportEntity entity, int partitions, long total) {
+        return Flux
+            .range(1, Math.max(partitions, 1) - 1)
+            .map(partition -> total * partition / partitions)
+            .filter(offset -> offset > 0)
+            .distinct()
+            .concatMap(offset ->
+                entity == ExportEntity.CANDIDATE ? candidateRepository.findIdAt(offset) : employeeDetailsRepository.findIdAt(offset)
+            )
+            .distinct()
+            .collectList();
+    }
+
+    private <T> Flux<DataBuffer> encode(Flux<T> entities, List<Column<T>> columns, ExportFormat format, DataBufferFactory bufferFactory) {
+        Flux<DataBuffer> lines = format == ExportFormat.CSV
+            ? entities.map(entity -> writeCsvRow(entity, columns, bufferFactory))
+            : entities.map(entity -> writeJson(entity, bufferFactory));
+        return lines.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static <T> Mono<DataBuffer> header(List<Column<T>> columns, ExportFormat format, DataBufferFactory bufferFactory) {
+        return format == ExportFormat.CSV ? Mono.fromSupplier(() -> writeCsvHeader(columns, bufferFactory)) : Mono.empty();
+    }
+
+    private DataBuffer writeJson(Object entity, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(ROW_CAPACITY);
+        try {
+            writer.writeValue(buffer.asOutputStream(), entity);
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        }
+        return buffer.write(LINE_SEPARATOR);
+    }
+
+    private static <T> DataBuffer writeCsvHeader(List<Column<T>> columns, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(ROW_CAPACITY);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                buffer.write((byte) ',');
+            }
+            buffer.write(columns.get(i).getName(), StandardCharsets.UTF_8);
+        }
+        return buffer.write(LINE_SEPARATOR);
+    }
+
+    private static <T> DataBuffer writeCsvRow(T entity, List<Column<T>> columns, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(ROW_CAPACITY);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                buffer.write((byte) ',');
+            }
+            String value = columns.get(i).getValue().apply(entity);
+            if (value != null) {
+                writeCsvValue(buffer, value);
+            }
+        }
+        return buffer.write(LINE_SEPARATOR);
+    }
+
+    /**
+     * Write a value as a CSV field, quoting it as described in RFC 4180 if it holds a separator, a quote or a line break.
+     * A value a spreadsheet would read as a formula is prefixed with a {@code '}, so that it is shown as text instead.
+     * The value is written in slices, without copying it.
+     */
+    static void writeCsvValue(DataBuffer buffer, String value) {
+        boolean quoted = needsQuotes(value);
+        if (quoted) {
+            buffer.write((byte) '"');
+        }
+        if (isFormula(value)) {
+            buffer.write((byte) '\'');
+        }
+        if (!quoted) {
+            buffer.write(value, StandardCharsets.UTF_8);
+            return;
+        }
+        int start = 0;
+        for (int quote = value.indexOf('"'); quote >= 0; quote = value.indexOf('"', quote + 1)) {
+            // the quote is written twice: once with the slice before it, once on its own
+            buffer.write(CharBuffer.wrap(value, start, quote + 1), StandardCharsets.UTF_8);
+            start = quote;
+        }
+        buffer.write(CharBuffer.wrap(value, start, value.length()), StandardCharsets.UTF_8);
+        buffer.write((byte) '"');
+    }
+
+    private static boolean isFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Column<T> {
+
+        private final String name;
+
+        private final Function<T, String> value;
+
+        private Column(String name, Function<T, String> value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Function<T, String> getValue() {
+            return value;
+        }
+    }
+}
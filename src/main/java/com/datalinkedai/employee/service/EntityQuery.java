@@ -0,0 +1,48 @@
+package com.datalinkedai.employee.service;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * A filter of the entities, compiled from the criteria of a request.
+ */
+public final class EntityQuery {
+
+    private final Criteria criteria;
+
+    private final String conditions;
+
+    private final boolean servedByIndex;
+
+    EntityQuery(Criteria criteria, String conditions, boolean servedByIndex) {
+        this.criteria = criteria;
+        this.conditions = conditions;
+        this.servedByIndex = servedByIndex;
+    }
+
+    /**
+     * Get the MongoDB criteria of the filter.
+     *
+     * @return the criteria, or {@code null} if all the entities match.
+     */
+    public Criteria getCriteria() {
+        return criteria;
+    }
+
+    /**
+     * Get the conditions of the filter, as sent in the request.
+     *
+     * @return the comma-separated conditions, e.g. {@code login.in,firstName.contains}.
+     */
+    public String getConditions() {
+        return conditions;
+    }
+
+    /**
+     * Tell whether an index selects the matching entities, instead of a scan of the whole collection.
+     *
+     * @return {@code true} if an index serves the filter.
+     */
+    public boolean isServedByIndex() {
+        return servedByIndex;
+    }
+}
@@ -0,0 +1,117 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Base service compiling the criteria of the requests to MongoDB queries, run in the database.
+ * <p>
+ * A query is served by an index when one of its conditions selects the entities by equality on the first key of an
+ * index: {@code equals}, {@code in} or {@code specified=false}. Its other conditions then only filter the entities found
+ * in the index. A query without such a condition scans the whole collection: it is rejected when
+ * {@code application.criteria-queries.reject-unindexed} is set, and logged otherwise.
+ */
+public abstract class EntityQueryService {
+
+    /**
+     * Header listing the conditions of a query which no index can serve.
+     */
+    public static final String UNINDEXED_QUERY_HEADER = "X-Unindexed-Query";
+
+    private final Logger log = LoggerFactory.getLogger(EntityQueryService.class);
+
+    private final Set<String> indexedFields;
+
+    private final boolean rejectUnindexed;
+
+    protected EntityQueryService(Set<String> indexedFields, ApplicationProperties applicationProperties) {
+        this.indexedFields = indexedFields;
+        this.rejectUnindexed = applicationProperties.getCriteriaQueries().isRejectUnindexed();
+    }
+
+    /**
+     * Compile the filters of the fields of an entity.
+     *
+     * @param filters the filter of each field, {@code null} if the field is not filtered.
+     * @return the query.
+     * @throws UnindexedQueryException if no index can serve the query and such queries are rejected.
+     */
+    protected EntityQuery compile(Map<String, StringFilter> filters) {
+        List<Criteria> conditions = new ArrayList<>();
+        StringJoiner names = new StringJoiner(",");
+        boolean servedByIndex = false;
+        for (Map.Entry<String, StringFilter> entry : filters.entrySet()) {
+            if (entry.getValue() != null) {
+                buildStringCriteria(entry.getKey(), entry.getValue(), conditions, names);
+                servedByIndex |= isSelective(entry.getKey(), entry.getValue());
+            }
+        }
+        if (conditions.isEmpty()) {
+            // the entities are listed by id
+            return new EntityQuery(null, "", true);
+        }
+        if (!servedByIndex) {
+            if (rejectUnindexed) {
+                throw new UnindexedQueryException(names.toString());
+            }
+            log.warn("No index can serve the query: {}", names);
+        }
+        Criteria criteria = conditions.size() == 1 ? conditions.get(0) : new Criteria().andOperator(conditions);
+        return new EntityQuery(criteria, names.toString(), servedByIndex);
+    }
+
+    private boolean isSelective(String field, StringFilter filter) {
+        if (!indexedFields.contains(field)) {
+            return false;
+        }
+        return (
+            filter.getEquals() != null ||
+            (filter.getIn() != null && !filter.getIn().isEmpty()) ||
+            Boolean.FALSE.equals(filter.getSpecified())
+        );
+    }
+
+    private static void buildStringCriteria(String field, StringFilter filter, List<Criteria> conditions, StringJoiner names) {
+        if (filter.getEquals() != null) {
+            conditions.add(Criteria.where(field).is(filter.getEquals()));
+            names.add(field + ".equals");
+        }
+        if (filter.getNotEquals() != null) {
+            conditions.add(Criteria.where(field).ne(filter.getNotEquals()));
+            names.add(field + ".notEquals");
+        }
+        if (filter.getSpecified() != null) {
+            conditions.add(filter.getSpecified() ? Criteria.where(field).ne(null) : Criteria.where(field).is(null));
+            names.add(field + ".specified");
+        }
+        if (filter.getIn() != null) {
+            conditions.add(Criteria.where(field).in(filter.getIn()));
+            names.add(field + ".in");
+        }
+        if (filter.getNotIn() != null) {
+            conditions.add(Criteria.where(field).nin(filter.getNotIn()));
+            names.add(field + ".notIn");
+        }
+        if (filter.getContains() != null) {
+            conditions.add(Criteria.where(field).regex(containing(filter.getContains())));
+            names.add(field + ".contains");
+        }
+        if (filter.getDoesNotContain() != null) {
+            conditions.add(Criteria.where(field).not().regex(containing(filter.getDoesNotContain())));
+            names.add(field + ".doesNotContain");
+        }
+    }
+
+    private static Pattern containing(String value) {
+        return Pattern.compile(Pattern.quote(value), Pattern.CASE_INSENSITIVE);
+    }
+}
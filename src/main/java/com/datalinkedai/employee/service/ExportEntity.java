@@ -0,0 +1,44 @@
+package com.datalinkedai.employee.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The entities which can be exported.
+ */
+public enum ExportEntity {
+    CANDIDATE("candidate", "candidates"),
+    EMPLOYEE_DETAILS("employee-details", "employee-details");
+
+    private final String entityName;
+
+    private final String fileName;
+
+    ExportEntity(String entityName, String fileName) {
+        this.entityName = entityName;
+        this.fileName = fileName;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /**
+     * Get the name of the export files of this entity, without extension.
+     *
+     * @return the file name.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Get the entity with the given name.
+     *
+     * @param entityName the name of the entity, e.g. {@code candidate}.
+     * @return the entity, or an empty {@link Optional} if there is none with this name.
+     */
+    public static Optional<ExportEntity> fromEntityName(String entityName) {
+        return Arrays.stream(values()).filter(entity -> entity.entityName.equals(entityName)).findFirst();
+    }
+}
@@ -0,0 +1,40 @@
+package com.datalinkedai.employee.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+import org.springframework.http.MediaType;
+
+/**
+ * The formats in which the entities can be exported.
+ */
+public enum ExportFormat {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Get the format with the given extension, ignoring case.
+     *
+     * @param extension the extension of the format, e.g. {@code csv}.
+     * @return the format, or an empty {@link Optional} if there is none with this extension.
+     */
+    public static Optional<ExportFormat> fromExtension(String extension) {
+        return Arrays.stream(values()).filter(format -> format.extension.equalsIgnoreCase(extension)).findFirst();
+    }
+}
@@ -0,0 +1,390 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.ExportJob;
+import com.datalinkedai.employee.repository.ExportJobRepository;
+import com.datalinkedai.employee.security.SecurityUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsResource;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service running the exports of whole collections in the background, each stored as a gzip file in GridFS.
+ * <p>
+ * A submitted job runs independently of the request which submitted it: the client polls the job for its progress,
+ * and downloads the file once the job is completed. At most the configured number of jobs run at the same time, the
+ * others wait for their turn.
+ * <p>
+ * A job splits the ids of the collection into ranges, which are read, encoded and compressed in parallel on a bounded
+ * scheduler, each range as its own gzip member. The members are written to the file in the order of the ranges:
+ * concatenated gzip members form a single gzip stream. A job only holds a few compressed chunks of each range in
+ * memory, whatever the size of the collection.
+ * <p>
+ * A job is owned by the instance it was submitted to, which renews the lease of its jobs while it runs: the jobs whose
+ * lease has expired, as their instance has stopped, are marked as failed by the other instances. A job deleted while
+ * it runs is cancelled if it runs on this instance, and its file deleted: its outcome is only recorded if the job still
+ * exists, otherwise its file is deleted too.
+ */
+@Service
+public class ExportJobService {
+
+    public static final String CONTENT_TYPE = "application/gzip";
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int PREFETCH = 4;
+
+    private final Logger log = LoggerFactory.getLogger(ExportJobService.class);
+
+    private final ExportJobRepository exportJobRepository;
+
+    private final EntityExportService entityExportService;
+
+    private final ReactiveGridFsTemplate gridFsTemplate;
+
+    private final ApplicationProperties.ExportJobs exportJobs;
+
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private final Scheduler scheduler;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<String, Sinks.One<Boolean>> cancellations = new ConcurrentHashMap<>();
+
+    private FluxSink<ExportJob> jobs;
+
+    private Disposable heartbeat;
+
+    public ExportJobService(
+        ExportJobRepository exportJobRepository,
+        EntityExportService entityExportService,
+        ReactiveGridFsTemplate gridFsTemplate,
+        ApplicationProperties applicationProperties
+    ) {
+        this.exportJobRepository = exportJobRepository;
+        this.entityExportService = entityExportService;
+        this.gridFsTemplate = gridFsTemplate;
+        this.exportJobs = applicationProperties.getExportJobs();
+        this.scheduler =
+            Schedulers.newBoundedElastic(exportJobs.getThreads(), Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "export-job");
+        Flux.<ExportJob>create(sink -> this.jobs = sink).flatMap(this::run, exportJobs.getMaxConcurrentJobs()).subscribe();
+    }
+
+    /**
+     * Submit the export of all the entities of a collection.
+     *
+     * @param entity the entity to export.
+     * @param format the format of the export.
+     * @return the pending job.
+     */
+    public Mono<ExportJob> submit(ExportEntity entity, ExportFormat format) {
+        return SecurityUtils
+            .getCurrentUserLogin()
+            .map(login ->
+                new ExportJob()
+                    .entityName(entity.getEntityName())
+                    .format(format.getExtension())
+                    .status(ExportJob.Status.PENDING)
+                    .exported(0L)
+                    .createdBy(login)
+                    .createdDate(Instant.now())
+                    .owner(instanceId)
+                    .leaseExpiresAt(Instant.now().plus(exportJobs.getLeaseDuration()))
+            )
+            .flatMap(exportJobRepository::save)
+            .doOnNext(job -> {
+                log.debug("Submitted export job : {}", job);
+                jobs.next(job);
+            });
+    }
+
+    /**
+     * Get a job submitted by the current user.
+     *
+     * @param id the id of the job.
+     * @return the job, or an empty {@link Mono} if the current user has submitted no job with this id.
+     */
+    public Mono<ExportJob> findOne(String id) {
+        return SecurityUtils.getCurrentUserLogin().flatMap(login -> exportJobRepository.findByIdAndCreatedBy(id, login));
+    }
+
+    /**
+     * Read the file of a completed job.
+     *
+     * @param job the completed job.
+     * @return the content of the file, gzip compressed.
+     */
+    public Flux<DataBuffer> download(ExportJob job) {
+        return gridFsTemplate
+            .findOne(byFileId(job))
+            .flatMap(gridFsTemplate::getResource)
+            .flatMapMany(ReactiveGridFsResource::getDownloadStream);
+    }
+
+    /**
+     * Get the name of the file of a job.
+     *
+     * @param job the job.
+     * @return the name of the file, e.g. {@code candidates.csv.gz}.
+     */
+    public String getFileName(ExportJob job) {
+        String fileName = ExportEntity.fromEntityName(job.getEntityName()).map(ExportEntity::getFileName).orElse(job.getEntityName());
+        return fileName + "." + job.getFormat() + ".gz";
+    }
+
+    /**
+     * Delete a job, and its file if any. A job running on this instance is cancelled first.
+     *
+     * @param job the job.
+     * @return a {@link Mono} completing once the job is deleted.
+     */
+    public Mono<Void> delete(ExportJob job) {
+        Sinks.One<Boolean> cancellation = cancellations.remove(job.getId());
+        if (cancellation != null) {
+            cancellation.tryEmitValue(true);
+        }
+        // a job may have stored its file without recording it yet
+        return exportJobRepository.delete(job).then(gridFsTemplate.delete(byExportJobId(job.getId())));
+    }
+
+    /**
+     * Start renewing the leases of the jobs of this instance, and failing the jobs whose lease has expired: the jobs of
+     * the instances which have stopped, this one included before a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startHeartbeat() {
+        heartbeat =
+            Flux
+                .interval(Duration.ZERO, exportJobs.getLeaseDuration().dividedBy(3))
+                .onBackpressureDrop()
+                .concatMap(tick -> heartbeat(Instant.now()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (heartbeat != null) {
+            heartbeat.dispose();
+        }
+        jobs.complete();
+        scheduler.dispose();
+    }
+
+    private Mono<Void> heartbeat(Instant now) {
+        return exportJobRepository
+            .renewLeases(instanceId, now.plus(exportJobs.getLeaseDuration()))
+            .then(exportJobRepository.failExpiredJobs(now))
+            .doOnNext(count -> {
+                if (count > 0) {
+                    log.info("Marked {} interrupted export jobs as failed", count);
+                }
+            })
+            .onErrorResume(e -> {
+                log.warn("Could not renew the leases of the export jobs", e);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private Mono<Void> run(ExportJob job) {
+        Sinks.One<Boolean> cancellation = Sinks.one();
+        cancellations.put(job.getId(), cancellation);
+        LongAdder exported = new LongAdder();
+        return Mono
+            .fromCallable(() -> ExportEntity.fromEntityName(job.getEntityName()).orElseThrow())
+            .zipWith(Mono.fromCallable(() -> ExportFormat.fromExtension(job.getFormat()).orElseThrow()))
+            .flatMap(entityAndFormat ->
+                entityExportService
+                    .count(entityAndFormat.getT1())
+                    // a job deleted or failed while it was pending is not run
+                    .filterWhen(total -> exportJobRepository.start(job.getId(), instanceId, total))
+                    .flatMap(total -> {
+                        job.status(ExportJob.Status.RUNNING).total(total);
+                        return entityExportService.findPartitionBounds(entityAndFormat.getT1(), exportJobs.getPartitions(), total);
+                    })
+                    .flatMap(bounds -> {
+                        log.debug("Running export job {} with {} partitions", job.getId(), bounds.size() + 1);
+                        Disposable progress = Flux
+                            .interval(exportJobs.getProgressInterval())
+                            .onBackpressureDrop()
+                            .concatMap(tick -> exportJobRepository.updateProgress(job.getId(), exported.sum()))
+                            .subscribe();
+                        Flux<DataBuffer> content = content(entityAndFormat.getT1(), entityAndFormat.getT2(), bounds, exported);
+                        return gridFsTemplate
+                            .store(content, getFileName(job), CONTENT_TYPE, new Document("exportJobId", job.getId()))
+                            .doFinally(signal -> progress.dispose());
+                    })
+            )
+            .flatMap(fileId ->
+                finish(
+                    job
+                        .status(ExportJob.Status.COMPLETED)
+                        .exported(exported.sum())
+                        .fileId(fileId.toHexString())
+                        .completedDate(Instant.now())
+                )
+            )
+            .onErrorResume(e -> {
+                log.error("Export job {} failed", job.getId(), e);
+                return finish(
+                    job.status(ExportJob.Status.FAILED).exported(exported.sum()).error(e.getMessage()).completedDate(Instant.now())
+                );
+            })
+            // the deletion of the job cancels the export, and the recording of its outcome
+            .takeUntilOther(cancellation.asMono())
+            // a failure must not stop the processing of the next jobs
+            .onErrorResume(e -> Mono.empty())
+            .doFinally(signal -> cancellations.remove(job.getId(), cancellation));
+    }
+
+    /**
+     * Record the outcome of a job, or delete its file if the job has been deleted meanwhile.
+     */
+    private Mono<Void> finish(ExportJob job) {
+        return exportJobRepository
+            .finish(job)
+            .flatMap(recorded -> {
+                if (recorded || job.getFileId() == null) {
+                    return Mono.empty();
+                }
+                log.debug("Export job {} was deleted while it ran, deleting its file", job.getId());
+                return gridFsTemplate.delete(byFileId(job));
+            });
+    }
+
+    private Flux<DataBuffer> content(ExportEntity entity, ExportFormat format, List<String> bounds, LongAdder exported) {
+        List<Flux<DataBuffer>> partitions = new ArrayList<>(bounds.size() + 1);
+        for (int i = 0; i <= bounds.size(); i++) {
+            String fromId = i == 0 ? null : bounds.get(i - 1);
+            String toId = i == bounds.size() ? null : bounds.get(i);
+            Flux<DataBuffer> lines = entityExportService
+                .exportRange(entity, format, fromId, toId, bufferFactory)
+                .doOnNext(line -> exported.increment());
+            if (i == 0) {
+                lines = entityExportService.exportHeader(entity, format, bufferFactory).concatWith(lines);
+            }
+            partitions.add(gzip(lines.publishOn(scheduler), bufferFactory));
+        }
+        return Flux.mergeSequential(partitions, partitions.size(), PREFETCH);
+    }
+
+    /**
+     * Compress lines as one gzip member, emitted in chunks of about {@value #CHUNK_SIZE} bytes. The lines are released
+     * once compressed.
+     */
+    static Flux<DataBuffer> gzip(Flux<DataBuffer> lines, DataBufferFactory bufferFactory) {
+        return Flux.using(
+            GzipChunks::new,
+            chunks ->
+                lines
+                    .<DataBuffer>handle((line, sink) -> {
+                        try {
+                            byte[] chunk = chunks.write(line);
+                            if (chunk != null) {
+                                sink.next(bufferFactory.wrap(chunk));
+                            }
+                        } catch (IOException e) {
+                            sink.error(e);
+                        }
+                    })
+                    .concatWith(Mono.fromCallable(() -> bufferFactory.wrap(chunks.finish()))),
+            GzipChunks::close
+        );
+    }
+
+    private static Query byFileId(ExportJob job) {
+        return Query.query(Criteria.where("_id").is(new ObjectId(job.getFileId())));
+    }
+
+    private static Query byExportJobId(String id) {
+        return Query.query(Criteria.where("metadata.exportJobId").is(id));
+    }
+
+    private static final class GzipChunks {
+
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_SIZE);
+
+        private final GZIPOutputStream gzip;
+
+        private GzipChunks() {
+            try {
+                this.gzip = new GZIPOutputStream(chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Compress a line.
+         *
+         * @return the compressed chunk, or {@code null} if it is not full yet.
+         */
+        byte[] write(DataBuffer line) throws IOException {
+            try {
+                ByteBuffer bytes = line.asByteBuffer();
+                if (bytes.hasArray()) {
+                    gzip.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                } else {
+                    byte[] copy = new byte[bytes.remaining()];
+                    bytes.get(copy);
+                    gzip.write(copy);
+                }
+            } finally {
+                DataBufferUtils.release(line);
+            }
+            if (chunk.size() < CHUNK_SIZE) {
+                return null;
+            }
+            byte[] full = chunk.toByteArray();
+            chunk.reset();
+            return full;
+        }
+
+        byte[] finish() throws IOException {
+            gzip.finish();
+            return chunk.toByteArray();
+        }
+
+        void close() {
+            try {
+                gzip.close();
+            } catch (IOException e) {
+                // the output is in memory, only the deflater is to be released
+            }
+        }
+    }
+}
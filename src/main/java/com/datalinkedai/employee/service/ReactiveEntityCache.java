@@ -0,0 +1,77 @@
+package com.datalinkedai.employee.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * A bounded read-through cache of entities by id, usable from Reactor.
+ * <p>
+ * Entries are evicted when the cache is full or when their time-to-live has expired. Hit, miss and eviction counts
+ * are published to Micrometer under the {@code cache.*} meters, tagged with the name of the cache.
+ * <p>
+ * The cached entities are mutable: each caller gets its own copy, so that a caller changing it does not change the
+ * entity served to the others.
+ *
+ * @param <T> the type of the cached entities.
+ */
+public class ReactiveEntityCache<T> {
+
+    private final AsyncCache<String, T> cache;
+
+    private final UnaryOperator<T> copier;
+
+    public ReactiveEntityCache(String name, long maximumSize, Duration timeToLive, UnaryOperator<T> copier, MeterRegistry meterRegistry) {
+        this.copier = copier;
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive).recordStats().buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), name);
+    }
+
+    /**
+     * Get an entity from the cache, loading it on a miss.
+     * <p>
+     * An empty or failed load is not cached.
+     *
+     * @param id the id of the entity.
+     * @param loader the function loading the entity from the database.
+     * @return a copy of the entity, or an empty {@link Mono} if it does not exist.
+     */
+    public Mono<T> get(String id, Function<String, Mono<T>> loader) {
+        // the loading future is shared by all the callers: a cancelled caller must not cancel it for the others
+        return Mono.defer(() -> Mono.fromFuture(cache.get(id, (key, executor) -> loader.apply(key).toFuture()).thenApply(copier)));
+    }
+
+    /**
+     * Get an entity from the cache if it is already loaded, without loading it on a miss nor counting the get.
+     *
+     * @param id the id of the entity.
+     * @return a copy of the entity, or an empty {@link Mono} if it is not in the cache or still loading.
+     */
+    public Mono<T> getIfPresent(String id) {
+        return Mono.defer(() -> {
+            CompletableFuture<T> entity = cache.asMap().get(id);
+            if (entity == null || !entity.isDone() || entity.isCompletedExceptionally()) {
+                return Mono.empty();
+            }
+            return Mono.justOrEmpty(entity.join()).map(copier);
+        });
+    }
+
+    /**
+     * Remove an entity from the cache, before it is updated or deleted and once it has been.
+     * <p>
+     * The eviction before the write stops serving the entry while the write is in flight; the eviction after it drops
+     * a load which read the previous version meanwhile, as a loading entry is removed along with the loaded ones.
+     *
+     * @param id the id of the entity.
+     */
+    public void evict(String id) {
+        cache.synchronous().invalidate(id);
+    }
+}
@@ -0,0 +1,106 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.repository.ReadRoute;
+import com.datalinkedai.employee.repository.RoutedReadOperations;
+import com.mongodb.ReadPreference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonTimestamp;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Service choosing the members of the replica set which serve the reads of each endpoint.
+ * <p>
+ * Each list, stream and export endpoint has its own configured read preference, the primary by default. To read its own
+ * writes from a secondary, a client sends back the read-after token it got with the response to its write: the read
+ * then runs in a causally consistent session, and the secondary waits until it has replicated the write.
+ */
+@Service
+public class ReadRoutingService {
+
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+
+    public static final String CANDIDATE_LIST = "candidate-list";
+
+    public static final String CANDIDATE_STREAM = "candidate-stream";
+
+    public static final String CANDIDATE_EXPORT = "candidate-export";
+
+    public static final String EMPLOYEE_DETAILS_LIST = "employee-details-list";
+
+    public static final String EMPLOYEE_DETAILS_STREAM = "employee-details-stream";
+
+    public static final String EMPLOYEE_DETAILS_EXPORT = "employee-details-export";
+
+    public static final String PUBLIC_USER_LIST = "public-user-list";
+
+    private final RoutedReadOperations routedReadOperations;
+
+    private final Map<String, ReadPreference> readPreferences = new HashMap<>();
+
+    public ReadRoutingService(RoutedReadOperations routedReadOperations, ApplicationProperties applicationProperties) {
+        this.routedReadOperations = routedReadOperations;
+        applicationProperties
+            .getReadRouting()
+            .getEndpoints()
+            .forEach((endpoint, route) -> {
+                ReadPreference readPreference = route.getMaxStaleness() == null
+                    ? ReadPreference.valueOf(route.getReadPreference())
+                    : ReadPreference.valueOf(
+                        route.getReadPreference(),
+                        Collections.emptyList(),
+                        route.getMaxStaleness().toMillis(),
+                        TimeUnit.MILLISECONDS
+                    );
+                if (!ReadPreference.primary().equals(readPreference)) {
+                    readPreferences.put(endpoint, readPreference);
+                }
+            });
+    }
+
+    /**
+     * Get the route of a read.
+     *
+     * @param endpoint the name of the endpoint serving the read.
+     * @param readAfter if not {@code null}, the read-after token of the last write of the client.
+     * @return the route of the read.
+     * @throws IllegalArgumentException if the read-after token is not valid and the endpoint does not read from the
+     * primary.
+     */
+    public ReadRoute route(String endpoint, String readAfter) {
+        ReadPreference readPreference = readPreferences.get(endpoint);
+        if (readPreference == null) {
+            // the primary always reads its own writes, so the token is not even read
+            return ReadRoute.PRIMARY;
+        }
+        BsonTimestamp afterOperationTime = readAfter == null ? null : new BsonTimestamp(Long.parseUnsignedLong(readAfter, 16));
+        return new ReadRoute(readPreference, afterOperationTime);
+    }
+
+    /**
+     * Run a write of a client, and get the read-after token to send back to the client with its response.
+     * <p>
+     * The token is the operation time of the session the write ran in, so no other round trip to the database is
+     * needed.
+     *
+     * @param write the write.
+     * @param <T> the type of the result of the write.
+     * @return the result of the write, with the token if some endpoint reads from the secondaries and the database is
+     * a replica set, or an empty {@link Mono} if the write is empty.
+     */
+    public <T> Mono<Tuple2<T, Optional<String>>> withReadAfterToken(Mono<T> write) {
+        if (readPreferences.isEmpty()) {
+            return write.map(result -> Tuples.of(result, Optional.empty()));
+        }
+        return routedReadOperations
+            .withOperationTime(write)
+            .map(written -> Tuples.of(written.getT1(), written.getT2().map(operationTime -> Long.toHexString(operationTime.getValue()))));
+    }
+}
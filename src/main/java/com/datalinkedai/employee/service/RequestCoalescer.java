@@ -0,0 +1,117 @@
+package com.datalinkedai.employee.service;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Service sharing a single in-flight read between the concurrent requests for the same entity.
+ * <p>
+ * The first request for an entity type and id starts the read, the requests arriving while it is in flight subscribe
+ * to its cached result. The key is released when the read completes, or after the configured key expiry. Each request
+ * served by another one's read is counted in the {@code coalescer.requests.saved} meter, tagged with the entity type.
+ */
+@Service
+public class RequestCoalescer {
+
+    public static final String REQUESTS_SAVED_METER_NAME = "coalescer.requests.saved";
+
+    private final ConcurrentMap<Key, Mono<Object>> requests = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration keyExpiry;
+
+    public RequestCoalescer(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.keyExpiry = applicationProperties.getCoalescing().getKeyExpiry();
+    }
+
+    /**
+     * Read an entity, sharing the read with the concurrent requests for the same entity.
+     *
+     * @param entityName the type of the entity.
+     * @param id the id of the entity.
+     * @param loader the function reading the entity.
+     * @param <T> the type of the entity.
+     * @return the entity, or an empty {@link Mono} if it does not exist.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> coalesce(String entityName, String id, Function<String, Mono<T>> loader) {
+        return Mono.defer(() -> {
+            Key key = new Key(entityName, id);
+            AtomicReference<Mono<Object>> created = new AtomicReference<>();
+            Mono<Object> request = requests.computeIfAbsent(
+                key,
+                k -> {
+                    Mono<Object> read = Mono
+                        .defer(() -> loader.apply(id))
+                        .cast(Object.class)
+                        .doFinally(signal -> release(k, created.get(), signal))
+                        .cache();
+                    created.set(read);
+                    return read;
+                }
+            );
+            if (request != created.get()) {
+                meterRegistry.counter(REQUESTS_SAVED_METER_NAME, "entity", entityName).increment();
+            }
+            return (Mono<T>) request;
+        });
+    }
+
+    /**
+     * Release the key of an entity, after it has been updated or deleted.
+     *
+     * @param entityName the type of the entity.
+     * @param id the id of the entity.
+     */
+    public void evict(String entityName, String id) {
+        requests.remove(new Key(entityName, id));
+    }
+
+    private void release(Key key, Mono<Object> request, SignalType signal) {
+        if (keyExpiry.isZero() || signal != SignalType.ON_COMPLETE) {
+            requests.remove(key, request);
+        } else {
+            Mono.delay(keyExpiry).subscribe(tick -> requests.remove(key, request));
+        }
+    }
+
+    private static final class Key {
+
+        private final String entityName;
+
+        private final String id;
+
+        private Key(String entityName, String id) {
+            this.entityName = entityName;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return entityName.equals(other.entityName) && Objects.equals(id, other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityName, id);
+        }
+    }
+}
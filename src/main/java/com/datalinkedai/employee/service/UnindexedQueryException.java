@@ -0,0 +1,10 @@
+package com.datalinkedai.employee.service;
+
+public class UnindexedQueryException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnindexedQueryException(String conditions) {
+        super("No index can serve the query: " + conditions);
+    }
+}
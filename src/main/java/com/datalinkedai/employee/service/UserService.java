@@ -4,9 +4,11 @@ import com.datalinkedai.employee.config.Constants;
 import com.datalinkedai.employee.domain.Authority;
 import com.datalinkedai.employee.domain.User;
 import com.datalinkedai.employee.repository.AuthorityRepository;
+import com.datalinkedai.employee.repository.ReadRoute;
 import com.datalinkedai.employee.repository.UserRepository;
 import com.datalinkedai.employee.security.AuthoritiesConstants;
 import com.datalinkedai.employee.security.SecurityUtils;
+import com.datalinkedai.employee.security.jwt.TokenRevocationList;
 import com.datalinkedai.employee.service.dto.AdminUserDTO;
 import com.datalinkedai.employee.service.dto.UserDTO;
 import java.time.Instant;
@@ -37,10 +39,18 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final TokenRevocationList tokenRevocationList;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        TokenRevocationList tokenRevocationList
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     public Mono<User> activateRegistration(String key) {
@@ -205,6 +215,8 @@ public class UserService {
             .findOneByLogin(login)
             .flatMap(user -> userRepository.delete(user).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user))
+            // the tokens of the user would otherwise stay valid until they expire
+            .flatMap(user -> tokenRevocationList.revokeUser(user.getLogin()))
             .then();
     }
 
@@ -276,6 +288,10 @@ public class UserService {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
+    public Flux<UserDTO> getAllPublicUsers(Pageable pageable, ReadRoute route) {
+        return userRepository.findAllActivatedWithRoute(route, pageable).map(UserDTO::new);
+    }
+
     public Mono<Long> countManagedUsers() {
         return userRepository.count();
     }
@@ -0,0 +1,10 @@
+package com.datalinkedai.employee.service;
+
+public class WriteQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WriteQueueFullException(int maxQueuedSaves) {
+        super("The write queue is full: " + maxQueuedSaves + " saves are already waiting");
+    }
+}
@@ -0,0 +1,157 @@
+package com.datalinkedai.employee.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.datalinkedai.employee.domain.Candidate} entity. This class is used
+ * in {@link com.datalinkedai.employee.web.rest.CandidateResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/candidates?firstName.contains=something&parentId.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+public class CandidateCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private StringFilter id;
+
+    private StringFilter firstName;
+
+    private StringFilter lastName;
+
+    private StringFilter login;
+
+    private StringFilter parentId;
+
+    public CandidateCriteria() {}
+
+    public CandidateCriteria(CandidateCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.firstName = other.firstName == null ? null : other.firstName.copy();
+        this.lastName = other.lastName == null ? null : other.lastName.copy();
+        this.login = other.login == null ? null : other.login.copy();
+        this.parentId = other.parentId == null ? null : other.parentId.copy();
+    }
+
+    @Override
+    public CandidateCriteria copy() {
+        return new CandidateCriteria(this);
+    }
+
+    public StringFilter getId() {
+        return id;
+    }
+
+    public StringFilter id() {
+        if (id == null) {
+            id = new StringFilter();
+        }
+        return id;
+    }
+
+    public void setId(StringFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getFirstName() {
+        return firstName;
+    }
+
+    public StringFilter firstName() {
+        if (firstName == null) {
+            firstName = new StringFilter();
+        }
+        return firstName;
+    }
+
+    public void setFirstName(StringFilter firstName) {
+        this.firstName = firstName;
+    }
+
+    public StringFilter getLastName() {
+        return lastName;
+    }
+
+    public StringFilter lastName() {
+        if (lastName == null) {
+            lastName = new StringFilter();
+        }
+        return lastName;
+    }
+
+    public void setLastName(StringFilter lastName) {
+        this.lastName = lastName;
+    }
+
+    public StringFilter getLogin() {
+        return login;
+    }
+
+    public StringFilter login() {
+        if (login == null) {
+            login = new StringFilter();
+        }
+        return login;
+    }
+
+    public void setLogin(StringFilter login) {
+        this.login = login;
+    }
+
+    public StringFilter getParentId() {
+        return parentId;
+    }
+
+    public StringFilter parentId() {
+        if (parentId == null) {
+            parentId = new StringFilter();
+        }
+        return parentId;
+    }
+
+    public void setParentId(StringFilter parentId) {
+        this.parentId = parentId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CandidateCriteria that = (CandidateCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(firstName, that.firstName) &&
+            Objects.equals(lastName, that.lastName) &&
+            Objects.equals(login, that.login) &&
+            Objects.equals(parentId, that.parentId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, firstName, lastName, login, parentId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CandidateCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (firstName != null ? "firstName=" + firstName + ", " : "") +
+            (lastName != null ? "lastName=" + lastName + ", " : "") +
+            (login != null ? "login=" + login + ", " : "") +
+            (parentId != null ? "parentId=" + parentId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,117 @@
+package com.datalinkedai.employee.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.datalinkedai.employee.domain.EmployeeDetails} entity. This class is used
+ * in {@link com.datalinkedai.employee.web.rest.EmployeeDetailsResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /api/employee-details?aadharNumber.contains=something&childId.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+public class EmployeeDetailsCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private StringFilter id;
+
+    private StringFilter aadharNumber;
+
+    private StringFilter childId;
+
+    public EmployeeDetailsCriteria() {}
+
+    public EmployeeDetailsCriteria(EmployeeDetailsCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.aadharNumber = other.aadharNumber == null ? null : other.aadharNumber.copy();
+        this.childId = other.childId == null ? null : other.childId.copy();
+    }
+
+    @Override
+    public EmployeeDetailsCriteria copy() {
+        return new EmployeeDetailsCriteria(this);
+    }
+
+    public StringFilter getId() {
+        return id;
+    }
+
+    public StringFilter id() {
+        if (id == null) {
+            id = new StringFilter();
+        }
+        return id;
+    }
+
+    public void setId(StringFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getAadharNumber() {
+        return aadharNumber;
+    }
+
+    public StringFilter aadharNumber() {
+        if (aadharNumber == null) {
+            aadharNumber = new StringFilter();
+        }
+        return aadharNumber;
+    }
+
+    public void setAadharNumber(StringFilter aadharNumber) {
+        this.aadharNumber = aadharNumber;
+    }
+
+    public StringFilter getChildId() {
+        return childId;
+    }
+
+    public StringFilter childId() {
+        if (childId == null) {
+            childId = new StringFilter();
+        }
+        return childId;
+    }
+
+    public void setChildId(StringFilter childId) {
+        this.childId = childId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EmployeeDetailsCriteria that = (EmployeeDetailsCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(aadharNumber, that.aadharNumber) &&
+            Objects.equals(childId, that.childId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, aadharNumber, childId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeDetailsCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (aadharNumber != null ? "aadharNumber=" + aadharNumber + ", " : "") +
+            (childId != null ? "childId=" + childId + ", " : "") +
+            "}";
+    }
+}
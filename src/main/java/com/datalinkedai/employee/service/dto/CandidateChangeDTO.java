@@ -0,0 +1,79 @@
+package com.datalinkedai.employee.service.dto;
+
+import com.datalinkedai.employee.domain.Candidate;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A DTO representing a change of one candidate: its insertion, update or deletion, together with the resume token
+ * from which the change feed can be resumed after this change.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CandidateChangeDTO {
+
+    public static final String INSERT = "insert";
+
+    public static final String UPDATE = "update";
+
+    public static final String DELETE = "delete";
+
+    private String operation;
+
+    private String id;
+
+    private Candidate candidate;
+
+    private String resumeToken;
+
+    public CandidateChangeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CandidateChangeDTO(String operation, String id, Candidate candidate, String resumeToken) {
+        this.operation = operation;
+        this.id = id;
+        this.candidate = candidate;
+        this.resumeToken = resumeToken;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Candidate getCandidate() {
+        return candidate;
+    }
+
+    public void setCandidate(Candidate candidate) {
+        this.candidate = candidate;
+    }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CandidateChangeDTO{" +
+            "operation='" + operation + '\'' +
+            ", id='" + id + '\'' +
+            ", resumeToken='" + resumeToken + '\'' +
+            "}";
+    }
+}
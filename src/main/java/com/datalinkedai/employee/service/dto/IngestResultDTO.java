@@ -0,0 +1,66 @@
+package com.datalinkedai.employee.service.dto;
+
+/**
+ * A DTO representing the outcome of one record of a bulk ingest: either the id of the inserted document, or the
+ * reason why the record was rejected.
+ */
+public class IngestResultDTO {
+
+    private long index;
+
+    private String id;
+
+    private String error;
+
+    public IngestResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public static IngestResultDTO inserted(long index, String id) {
+        IngestResultDTO result = new IngestResultDTO();
+        result.setIndex(index);
+        result.setId(id);
+        return result;
+    }
+
+    public static IngestResultDTO rejected(long index, String error) {
+        IngestResultDTO result = new IngestResultDTO();
+        result.setIndex(index);
+        result.setError(error);
+        return result;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IngestResultDTO{" +
+            "index=" + index +
+            ", id='" + id + '\'' +
+            ", error='" + error + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,112 @@
+package com.datalinkedai.employee.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter of strings, safe for concurrent use without locking.
+ * <p>
+ * The filter is sized for an expected number of insertions and false positive probability. Each string is hashed with
+ * 64-bit FNV-1a followed by a final avalanche, so that close strings spread over the whole filter, and the bits of the
+ * string are picked by double hashing. The filter never forgets a string.
+ */
+public final class BloomFilter {
+
+    private static final long SECOND_HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final AtomicLong setBitCount = new AtomicLong();
+
+    /**
+     * Create an empty filter.
+     *
+     * @param expectedInsertions the number of strings expected to be put in the filter.
+     * @param falsePositiveProbability the probability that a string which was not put in the filter is reported as
+     * possibly in it, once the expected number of strings are in it.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        expectedInsertions = Math.max(1, expectedInsertions);
+        long optimalBitCount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((Math.max(Long.SIZE, optimalBitCount) + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) bits.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Put a string in the filter.
+     *
+     * @param value the string.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        long hash2 = mix(hash ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash + i * hash2, bitCount);
+            long mask = 1L << index;
+            long previous = bits.getAndAccumulate((int) (index >>> 6), mask, (current, bit) -> current | bit);
+            if ((previous & mask) == 0) {
+                setBitCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Check whether a string might be in the filter.
+     *
+     * @param value the string.
+     * @return {@code false} if the string is definitely not in the filter.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long hash2 = mix(hash ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash + i * hash2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the probability that a string which is not in the filter is reported as possibly in it, from the fraction of
+     * the bits which are set.
+     *
+     * @return the expected false positive probability.
+     */
+    public double expectedFalsePositiveProbability() {
+        return Math.pow((double) setBitCount.get() / bitCount, hashCount);
+    }
+
+    /**
+     * @return the memory used by the bits of the filter, in bytes.
+     */
+    public long getMemorySize() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    private static long hash(String value) {
+        // 64-bit FNV-1a, then a final avalanche
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
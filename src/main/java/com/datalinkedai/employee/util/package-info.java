@@ -0,0 +1,4 @@
+/**
+ * Utility classes shared by the layers of the application.
+ */
+package com.datalinkedai.employee.util;
@@ -1,27 +1,61 @@
 package com.datalinkedai.employee.web.rest;
 
+import com.datalinkedai.employee.config.ApplicationProperties;
 import com.datalinkedai.employee.domain.Candidate;
 import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.repository.ReadRoute;
+import com.datalinkedai.employee.service.CandidateChangeFeedService;
+import com.datalinkedai.employee.service.CandidateIngestService;
+import com.datalinkedai.employee.service.CandidateQueryService;
+import com.datalinkedai.employee.service.CandidateWriteBatcher;
+import com.datalinkedai.employee.service.EntityExportService;
+import com.datalinkedai.employee.service.EntityQuery;
+import com.datalinkedai.employee.service.EntityQueryService;
+import com.datalinkedai.employee.service.ExportFormat;
+import com.datalinkedai.employee.service.ReactiveEntityCache;
+import com.datalinkedai.employee.service.ReadRoutingService;
+import com.datalinkedai.employee.service.RequestCoalescer;
+import com.datalinkedai.employee.service.UnindexedQueryException;
+import com.datalinkedai.employee.service.WriteQueueFullException;
+import com.datalinkedai.employee.service.criteria.CandidateCriteria;
+import com.datalinkedai.employee.service.dto.CandidateChangeDTO;
+import com.datalinkedai.employee.service.dto.IngestResultDTO;
 import com.datalinkedai.employee.web.rest.errors.BadRequestAlertException;
+import com.datalinkedai.employee.web.rest.util.ETagUtil;
+import com.datalinkedai.employee.web.rest.util.KeysetPaginationUtil;
+import com.datalinkedai.employee.web.rest.util.MultiGetUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.datalinkedai.employee.domain.Candidate}.
@@ -34,20 +68,67 @@ public class CandidateResource {
 
     private static final String ENTITY_NAME = "candidate";
 
+    static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of("id", "firstName", "lastName", "login", "parent");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final CandidateRepository candidateRepository;
 
-    public CandidateResource(CandidateRepository candidateRepository) {
+    private final ReactiveEntityCache<Candidate> candidateCache;
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final CandidateIngestService candidateIngestService;
+
+    private final CandidateChangeFeedService candidateChangeFeedService;
+
+    private final CandidateWriteBatcher candidateWriteBatcher;
+
+    private final ReadRoutingService readRoutingService;
+
+    private final EntityExportService entityExportService;
+
+    private final CandidateQueryService candidateQueryService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public CandidateResource(
+        CandidateRepository candidateRepository,
+        ReactiveEntityCache<Candidate> candidateCache,
+        RequestCoalescer requestCoalescer,
+        CandidateIngestService candidateIngestService,
+        CandidateChangeFeedService candidateChangeFeedService,
+        CandidateWriteBatcher candidateWriteBatcher,
+        ReadRoutingService readRoutingService,
+        EntityExportService entityExportService,
+        CandidateQueryService candidateQueryService,
+        ApplicationProperties applicationProperties
+    ) {
         this.candidateRepository = candidateRepository;
+        this.candidateCache = candidateCache;
+        this.requestCoalescer = requestCoalescer;
+        this.candidateIngestService = candidateIngestService;
+        this.candidateChangeFeedService = candidateChangeFeedService;
+        this.candidateWriteBatcher = candidateWriteBatcher;
+        this.readRoutingService = readRoutingService;
+        this.entityExportService = entityExportService;
+        this.candidateQueryService = candidateQueryService;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
      * {@code POST  /candidates} : Create a new candidate.
+     * <p>
+     * When write batching is enabled, the candidate is inserted together with the candidates created concurrently.
+     * <p>
+     * When reads are routed to the secondaries, the read-after token of the write is sent in the {@code X-Read-After} header.
      *
      * @param candidate the candidate to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new candidate, or with status {@code 400 (Bad Request)} if the candidate has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new candidate, or with status {@code 400 (Bad Request)} if the candidate has already an ID,
+     * or with status {@code 503 (Service Unavailable)} if too many candidates are already waiting to be inserted.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/candidates")
@@ -56,13 +137,16 @@ public class CandidateResource {
         if (candidate.getId() != null) {
             throw new BadRequestAlertException("A new candidate cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        return candidateRepository
-            .save(candidate)
-            .map(result -> {
+        return readRoutingService
+            .withReadAfterToken(candidateWriteBatcher.save(candidate))
+            .onErrorMap(WriteQueueFullException.class, e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()))
+            .map(saved -> {
+                Candidate result = saved.getT1();
                 try {
                     return ResponseEntity
                         .created(new URI("/api/candidates/" + result.getId()))
                         .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                        .headers(readAfterHeaders(saved.getT2()))
                         .body(result);
                 } catch (URISyntaxException e) {
                     throw new RuntimeException(e);
@@ -70,20 +154,39 @@ public class CandidateResource {
             });
     }
 
+    /**
+     * {@code POST  /candidates/bulk} : Create new candidates from a stream of newline-delimited JSON records.
+     *
+     * @param records the lines of the body, each one the JSON record of a candidate to create.
+     * @return the {@link Flux} of the results of each record, in order: the id of the new candidate, or the reason why the record was rejected.
+     */
+    @PostMapping(value = "/candidates/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<IngestResultDTO> createCandidatesInBulk(@RequestBody Flux<String> records) {
+        log.debug("REST request to bulk save Candidates");
+        return candidateIngestService.ingest(records);
+    }
+
     /**
      * {@code PUT  /candidates/:id} : Updates an existing candidate.
+     * <p>
+     * When the {@code If-Match} header is given, the candidate is only updated if its entity tag still matches one of
+     * the tags of the header.
      *
      * @param id the id of the candidate to save.
      * @param candidate the candidate to update.
+     * @param ifMatch the entity tag of the candidate the update is based on.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated candidate,
      * or with status {@code 400 (Bad Request)} if the candidate is not valid,
+     * or with status {@code 404 (Not Found)} if the candidate is not found,
+     * or with status {@code 412 (Precondition Failed)} if the candidate has been modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the candidate couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/candidates/{id}")
     public Mono<ResponseEntity<Candidate>> updateCandidate(
         @PathVariable(value = "id", required = false) final String id,
-        @Valid @RequestBody Candidate candidate
+        @Valid @RequestBody Candidate candidate,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update Candidate : {}, {}", id, candidate);
         if (candidate.getId() == null) {
@@ -92,41 +195,41 @@ public class CandidateResource {
         if (!Objects.equals(id, candidate.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        return candidateRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return candidateRepository
-                    .save(candidate)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return withExpectedVersion(candidate, ifMatch)
+            .flatMap(expected -> readRoutingService.withReadAfterToken(evictBefore(id, () -> candidateRepository.update(expected))))
+            .doOnNext(updated -> evict(updated.getT1().getId()))
+            .switchIfEmpty(Mono.defer(() -> notFoundOrPreconditionFailed(candidate)))
+            .map(updated ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, updated.getT1().getId()))
+                    .headers(ETagUtil.eTagHeaders(updated.getT1().getVersion()))
+                    .headers(readAfterHeaders(updated.getT2()))
+                    .body(updated.getT1())
+            );
     }
 
     /**
      * {@code PATCH  /candidates/:id} : Partial updates given fields of an existing candidate, field will ignore if it is null
+     * <p>
+     * When the {@code If-Match} header is given, the candidate is only updated if its entity tag still matches one of
+     * the tags of the header.
      *
      * @param id the id of the candidate to save.
      * @param candidate the candidate to update.
+     * @param ifMatch the entity tag of the candidate the update is based on.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated candidate,
      * or with status {@code 400 (Bad Request)} if the candidate is not valid,
      * or with status {@code 404 (Not Found)} if the candidate is not found,
+     * or with status {@code 412 (Precondition Failed)} if the candidate has been modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the candidate couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/candidates/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<Candidate>> partialUpdateCandidate(
         @PathVariable(value = "id", required = false) final String id,
-        @NotNull @RequestBody Candidate candidate
+        @NotNull @RequestBody Candidate candidate,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Candidate partially : {}, {}", id, candidate);
         if (candidate.getId() == null) {
@@ -135,74 +238,330 @@ public class CandidateResource {
         if (!Objects.equals(id, candidate.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        return candidateRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Candidate> result = candidateRepository
-                    .findById(candidate.getId())
-                    .map(existingCandidate -> {
-                        if (candidate.getFirstName() != null) {
-                            existingCandidate.setFirstName(candidate.getFirstName());
-                        }
-                        if (candidate.getLastName() != null) {
-                            existingCandidate.setLastName(candidate.getLastName());
-                        }
-                        if (candidate.getLogin() != null) {
-                            existingCandidate.setLogin(candidate.getLogin());
-                        }
-
-                        return existingCandidate;
-                    })
-                    .flatMap(candidateRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return withExpectedVersion(candidate, ifMatch)
+            .flatMap(expected -> readRoutingService.withReadAfterToken(evictBefore(id, () -> candidateRepository.partialUpdate(expected))))
+            .doOnNext(updated -> evict(updated.getT1().getId()))
+            .switchIfEmpty(Mono.defer(() -> notFoundOrPreconditionFailed(candidate)))
+            .map(updated ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, updated.getT1().getId()))
+                    .headers(ETagUtil.eTagHeaders(updated.getT1().getVersion()))
+                    .headers(readAfterHeaders(updated.getT2()))
+                    .body(updated.getT1())
+            );
     }
 
     /**
      * {@code GET  /candidates} : get all the candidates.
+     * <p>
+     * When {@code limit} or {@code cursor} is given, a single page of candidates ordered by id is returned, and the
+     * cursor of the next page is sent in the {@code Link} and {@code X-Next-Cursor} headers.
+     * <p>
+     * When {@code fields} is given, only these fields of the candidates are read and returned.
+     * <p>
+     * The candidates can be filtered with criteria, e.g. {@code login.in=a,b} or {@code firstName.contains=x}, run in the
+     * database. A filter which no index can serve is rejected or logged, as configured, and its conditions are sent in the
+     * {@code X-Unindexed-Query} header.
+     * <p>
+     * The parent is returned as a reference holding only its id, unless {@code eagerload} is {@code true}: the parents of
+     * the candidates are then fetched with one query per batch of candidates.
+     * <p>
+     * The candidates are read from the members of the replica set configured for the {@code candidate-list} endpoint.
+     * <p>
+     * A page of complete candidates is sent with a weak entity tag computed from the ids and versions of the candidates,
+     * and a request whose {@code If-None-Match} header matches it gets a {@code 304 (Not Modified)} without body.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of candidates in body.
+     * @param criteria the criteria which the candidates must match.
+     * @param fields the comma-separated names of the fields to return.
+     * @param eagerload flag to fetch the parents of the candidates.
+     * @param limit the maximum number of candidates to return.
+     * @param cursor the cursor of the page to return, as sent with the previous page.
+     * @param readAfter the read-after token of the last write of the client.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of candidates in body,
+     * or with status {@code 400 (Bad Request)} if the filter is rejected.
      */
     @GetMapping("/candidates")
-    public Mono<List<Candidate>> getAllCandidates() {
-        log.debug("REST request to get all Candidates");
-        return candidateRepository.findAll().collectList();
+    public Mono<ResponseEntity<Flux<Candidate>>> getAllCandidates(
+        CandidateCriteria criteria,
+        @RequestParam(required = false) String fields,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) String cursor,
+        @RequestHeader(value = ReadRoutingService.READ_AFTER_HEADER, required = false) String readAfter,
+        ServerHttpRequest request
+    ) {
+        Set<String> projection = resolveFields(fields);
+        ReadRoute route = resolveRoute(ReadRoutingService.CANDIDATE_LIST, readAfter);
+        EntityQuery query = compile(criteria);
+        if (limit == null && cursor == null) {
+            log.debug("REST request to get all Candidates by criteria : {}", criteria);
+            Flux<Candidate> candidates = candidateRepository
+                .findAllMatching(route, query.getCriteria(), projection, null, Pageable.unpaged())
+                .map(each -> each.projected(projection != null));
+            return Mono.just(ResponseEntity.ok().headers(unindexedQueryHeaders(query)).body(withParents(candidates, eagerload)));
+        }
+        log.debug("REST request to get a page of Candidates by criteria : {} after cursor : {}", criteria, cursor);
+        int pageSize = resolveLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+        String afterId = cursor == null ? null : decodeCursor(cursor);
+        Flux<Candidate> page = candidateRepository
+            .findAllMatching(route, query.getCriteria(), projection, afterId, pageable)
+            .map(each -> each.projected(projection != null));
+        return withParents(page, eagerload)
+            .collectList()
+            .map(candidates -> {
+                String nextCursor = candidates.size() < pageSize
+                    ? null
+                    : KeysetPaginationUtil.encodeCursor(candidates.get(candidates.size() - 1).getId());
+                HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                    UriComponentsBuilder.fromHttpRequest(request),
+                    nextCursor,
+                    pageSize
+                );
+                headers.addAll(unindexedQueryHeaders(query));
+                if (projection == null && !eagerload) {
+                    // a projected page carries no versions, and an eagerloaded page changes with its parents
+                    String eTag = ETagUtil.forList(candidates, Candidate::getId, Candidate::getVersion);
+                    if (eTag != null) {
+                        headers.setETag(eTag);
+                    }
+                }
+                return ResponseEntity.ok().headers(headers).body(Flux.fromIterable(candidates));
+            });
     }
 
     /**
      * {@code GET  /candidates} : get all the candidates as a stream.
+     * <p>
+     * The candidates are read from the members of the replica set configured for the {@code candidate-stream} endpoint.
+     *
+     * @param criteria the criteria which the candidates must match.
+     * @param eagerload flag to fetch the parents of the candidates.
+     * @param readAfter the read-after token of the last write of the client.
      * @return the {@link Flux} of candidates.
      */
     @GetMapping(value = "/candidates", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<Candidate> getAllCandidatesAsStream() {
-        log.debug("REST request to get all Candidates as a stream");
-        return candidateRepository.findAll();
+    public Flux<Candidate> getAllCandidatesAsStream(
+        CandidateCriteria criteria,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestHeader(value = ReadRoutingService.READ_AFTER_HEADER, required = false) String readAfter
+    ) {
+        log.debug("REST request to get all Candidates by criteria : {} as a stream", criteria);
+        ReadRoute route = resolveRoute(ReadRoutingService.CANDIDATE_STREAM, readAfter);
+        EntityQuery query = compile(criteria);
+        return withParents(candidateRepository.findAllMatching(route, query.getCriteria(), null, null, Pageable.unpaged()), eagerload);
+    }
+
+    /**
+     * {@code GET  /candidates/count} : count the candidates matching criteria.
+     *
+     * @param criteria the criteria which the candidates must match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body,
+     * or with status {@code 400 (Bad Request)} if the filter is rejected.
+     */
+    @GetMapping("/candidates/count")
+    public Mono<ResponseEntity<Long>> countCandidates(CandidateCriteria criteria) {
+        log.debug("REST request to count Candidates by criteria : {}", criteria);
+        EntityQuery query = compile(criteria);
+        return candidateRepository
+            .countMatching(query.getCriteria())
+            .map(count -> ResponseEntity.ok().headers(unindexedQueryHeaders(query)).body(count));
+    }
+
+    /**
+     * {@code GET  /candidates/changes} : get the live feed of the changes of the candidates as Server-Sent Events.
+     * <p>
+     * The id of each event is the resume token of the change: a reconnecting client sends the last one it received in
+     * the {@code Last-Event-ID} header, and the feed resumes after it.
+     *
+     * @param resumeAfter the resume token of the last change received, if not sent in the {@code Last-Event-ID} header.
+     * @param lastEventId the {@code Last-Event-ID} header.
+     * @return the endless {@link Flux} of events, named after the operation: {@code insert}, {@code update} or {@code delete},
+     * with a heartbeat comment at the configured interval.
+     */
+    @GetMapping(value = "/candidates/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<CandidateChangeDTO>> getCandidateChanges(
+        @RequestParam(required = false) String resumeAfter,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        log.debug("REST request to get the changes of Candidates after : {}", lastEventId != null ? lastEventId : resumeAfter);
+        Flux<ServerSentEvent<CandidateChangeDTO>> changes = candidateChangeFeedService
+            .changes(checkResumeToken(lastEventId != null ? lastEventId : resumeAfter))
+            .map(change -> ServerSentEvent.builder(change).id(change.getResumeToken()).event(change.getOperation()).build());
+        // the proxies close the connections idle for too long: a comment keeps the feed open between the changes
+        Flux<ServerSentEvent<CandidateChangeDTO>> heartbeats = Flux
+            .interval(applicationProperties.getChangeFeed().getHeartbeatInterval())
+            .map(tick -> ServerSentEvent.<CandidateChangeDTO>builder().comment(HEARTBEAT_COMMENT).build());
+        return Flux.merge(changes, heartbeats);
+    }
+
+    /**
+     * {@code GET  /candidates/changes} : get the live feed of the changes of the candidates as a stream.
+     *
+     * @param resumeAfter the resume token of the last change received: the feed resumes after it.
+     * @return the endless {@link Flux} of changes.
+     */
+    @GetMapping(value = "/candidates/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CandidateChangeDTO> getCandidateChangesAsStream(@RequestParam(required = false) String resumeAfter) {
+        log.debug("REST request to get the changes of Candidates as a stream after : {}", resumeAfter);
+        return candidateChangeFeedService.changes(checkResumeToken(resumeAfter));
+    }
+
+    /**
+     * {@code GET  /candidates/with-details} : get a page of the candidates together with their parent employeeDetails.
+     * <p>
+     * The candidates and their parents are read with a single aggregation. The cursor of the next page is sent in the
+     * {@code Link} and {@code X-Next-Cursor} headers.
+     *
+     * @param limit the maximum number of candidates to return.
+     * @param cursor the cursor of the page to return, as sent with the previous page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of candidates in body.
+     */
+    @GetMapping("/candidates/with-details")
+    public Mono<ResponseEntity<Flux<Candidate>>> getAllCandidatesWithDetails(
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) String cursor,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a page of Candidates with their details after cursor : {}", cursor);
+        int pageSize = resolveLimit(limit);
+        String afterId = cursor == null ? null : decodeCursor(cursor);
+        return candidateRepository
+            .findAllWithParent(afterId, PageRequest.of(0, pageSize))
+            .collectList()
+            .map(candidates -> {
+                String nextCursor = candidates.size() < pageSize
+                    ? null
+                    : KeysetPaginationUtil.encodeCursor(candidates.get(candidates.size() - 1).getId());
+                return ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            nextCursor,
+                            pageSize
+                        )
+                    )
+                    .body(Flux.fromIterable(candidates));
+            });
+    }
+
+    /**
+     * {@code GET  /candidates/with-details} : get all the candidates together with their parent employeeDetails as a stream.
+     * <p>
+     * The candidates and their parents are read with a single aggregation, whose cursor is consumed as the client reads.
+     *
+     * @return the {@link Flux} of candidates.
+     */
+    @GetMapping(value = "/candidates/with-details", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Candidate> getAllCandidatesWithDetailsAsStream() {
+        log.debug("REST request to get all Candidates with their details as a stream");
+        return candidateRepository.findAllWithParent(null, Pageable.unpaged());
+    }
+
+    /**
+     * {@code GET  /candidates/export} : export all the candidates as CSV or NDJSON.
+     * <p>
+     * The candidates are written to the response as they are read from the database, from the members of the replica set
+     * configured for the {@code candidate-export} endpoint. The response is compressed when the client accepts it.
+     *
+     * @param format the format of the export: {@code csv} or {@code ndjson}.
+     * @param readAfter the read-after token of the last write of the client.
+     * @param response the response to write the export to.
+     * @return the {@link Mono} completing when the export is written, or failing with status {@code 400 (Bad Request)} if the format is not valid.
+     */
+    @GetMapping("/candidates/export")
+    public Mono<Void> exportCandidates(
+        @RequestParam(required = false, defaultValue = "csv") String format,
+        @RequestHeader(value = ReadRoutingService.READ_AFTER_HEADER, required = false) String readAfter,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export Candidates as : {}", format);
+        ExportFormat exportFormat = ExportFormat
+            .fromExtension(format)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid"));
+        ReadRoute route = resolveRoute(ReadRoutingService.CANDIDATE_EXPORT, readAfter);
+        response.getHeaders().setContentType(exportFormat.getMediaType());
+        response
+            .getHeaders()
+            .setContentDisposition(ContentDisposition.attachment().filename("candidates." + exportFormat.getExtension()).build());
+        return response.writeWith(entityExportService.exportCandidates(route, exportFormat, response.bufferFactory()));
+    }
+
+    /**
+     * {@code GET  /candidates?ids=:ids} : get the candidates with the given ids.
+     * <p>
+     * The candidates are fetched with a single query, and returned in the order of the ids. The ids of the candidates
+     * which do not exist are listed in the {@code X-Missing-Ids} header.
+     *
+     * @param ids the ids of the candidates to retrieve.
+     * @param eagerload flag to fetch the parents of the candidates.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of candidates in body,
+     * or with status {@code 400 (Bad Request)} if no id or too many ids are given.
+     */
+    @GetMapping(value = "/candidates", params = "ids")
+    public Mono<ResponseEntity<Flux<Candidate>>> getCandidatesByIds(
+        @RequestParam List<String> ids,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+    ) {
+        log.debug("REST request to get Candidate by ids : {}", ids);
+        Set<String> requestedIds = resolveIds(ids);
+        Flux<Candidate> candidates = withParents(candidateRepository.findAllById(requestedIds), eagerload);
+        return MultiGetUtil.inRequestOrder(requestedIds, candidates, Candidate::getId);
     }
 
     /**
      * {@code GET  /candidates/:id} : get the "id" candidate.
+     * <p>
+     * The candidate is sent with its entity tag. When the {@code If-None-Match} header is given, only the version of the
+     * candidate is read first, from the cache if it holds the candidate, and the candidate itself is only read if the
+     * client does not already hold this version.
      *
      * @param id the id of the candidate to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the candidate, or with status {@code 404 (Not Found)}.
+     * @param fields the comma-separated names of the fields to return, or all the fields if not given.
+     * @param eagerload flag to fetch the parent of the candidate.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the candidate,
+     * or with status {@code 304 (Not Modified)} if the candidate matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/candidates/{id}")
-    public Mono<ResponseEntity<Candidate>> getCandidate(@PathVariable String id) {
+    public Mono<ResponseEntity<Candidate>> getCandidate(
+        @PathVariable String id,
+        @RequestParam(required = false) String fields,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        ServerHttpRequest request
+    ) {
         log.debug("REST request to get Candidate : {}", id);
-        Mono<Candidate> candidate = candidateRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(candidate);
+        Set<String> projection = resolveFields(fields);
+        if (projection != null || eagerload) {
+            // the cache only holds complete candidates with an unresolved parent
+            Mono<Candidate> candidate = projection == null
+                ? candidateRepository.findById(id)
+                : candidateRepository.findByIdWithFields(id, projection).map(each -> each.projected(true));
+            return ETagUtil.wrapOrNotFound(withParents(candidate.flux(), eagerload).next(), Candidate::getVersion);
+        }
+        // the coalesced requests share the candidate read from the cache: each one gets its own copy
+        Mono<ResponseEntity<Candidate>> response = ETagUtil.wrapOrNotFound(
+            requestCoalescer.coalesce(ENTITY_NAME, id, key -> candidateCache.get(key, candidateRepository::findById)).map(Candidate::copy),
+            Candidate::getVersion
+        );
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.isEmpty()) {
+            return response;
+        }
+        // the version of a cached candidate is served without reading the database
+        return candidateCache
+            .getIfPresent(id)
+            .flatMap(cached -> Mono.justOrEmpty(cached.getVersion()))
+            .switchIfEmpty(candidateRepository.findVersionById(id))
+            .map(ETagUtil::forVersion)
+            .filter(eTag -> ETagUtil.matchesAny(eTag, ifNoneMatch))
+            .map(eTag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Candidate>build())
+            .switchIfEmpty(response);
     }
 
     /**
@@ -215,10 +574,151 @@ public class CandidateResource {
     @ResponseStatus(code = HttpStatus.NO_CONTENT)
     public Mono<ResponseEntity<Void>> deleteCandidate(@PathVariable String id) {
         log.debug("REST request to delete Candidate : {}", id);
-        return candidateRepository
-            .deleteById(id)
+        return evictBefore(id, () -> candidateRepository.deleteById(id))
+            .doOnSuccess(result -> evict(id))
             .map(result ->
                 ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
             );
     }
+
+    private String checkResumeToken(String resumeToken) {
+        if (resumeToken != null && !CandidateChangeFeedService.isValidResumeToken(resumeToken)) {
+            throw new BadRequestAlertException("Invalid resume token", ENTITY_NAME, "resumetokeninvalid");
+        }
+        return resumeToken;
+    }
+
+    private EntityQuery compile(CandidateCriteria criteria) {
+        try {
+            return candidateQueryService.compile(criteria);
+        } catch (UnindexedQueryException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "queryunindexed");
+        }
+    }
+
+    private static HttpHeaders unindexedQueryHeaders(EntityQuery query) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!query.isServedByIndex()) {
+            headers.add(EntityQueryService.UNINDEXED_QUERY_HEADER, query.getConditions());
+        }
+        return headers;
+    }
+
+    private ReadRoute resolveRoute(String endpoint, String readAfter) {
+        try {
+            return readRoutingService.route(endpoint, readAfter);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid read-after token", ENTITY_NAME, "readafterinvalid");
+        }
+    }
+
+    private static HttpHeaders readAfterHeaders(Optional<String> readAfterToken) {
+        HttpHeaders headers = new HttpHeaders();
+        readAfterToken.ifPresent(token -> headers.add(ReadRoutingService.READ_AFTER_HEADER, token));
+        return headers;
+    }
+
+    /**
+     * Set the version the update of the candidate is conditioned on: the one of the {@code If-Match} header, or, when the
+     * header lists several, the current version of the candidate if it is one of them.
+     */
+    private Mono<Candidate> withExpectedVersion(Candidate candidate, String ifMatch) {
+        List<Long> versions = resolveVersions(ifMatch);
+        if (versions.size() <= 1) {
+            candidate.setVersion(versions.isEmpty() ? null : versions.get(0));
+            return Mono.just(candidate);
+        }
+        return candidateRepository
+            .findVersionById(candidate.getId())
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(version -> {
+                if (!versions.contains(version)) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED));
+                }
+                // the update still fails if the candidate is written meanwhile
+                candidate.setVersion(version);
+                return Mono.just(candidate);
+            });
+    }
+
+    private List<Long> resolveVersions(String ifMatch) {
+        try {
+            return ETagUtil.parseVersions(ifMatch);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid entity tag", ENTITY_NAME, "etaginvalid");
+        }
+    }
+
+    private <T> Mono<T> notFoundOrPreconditionFailed(Candidate candidate) {
+        if (candidate.getVersion() == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        return candidateRepository
+            .existsById(candidate.getId())
+            .flatMap(exists -> Mono.error(new ResponseStatusException(exists ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND)));
+    }
+
+    private Flux<Candidate> withParents(Flux<Candidate> candidates, boolean eagerload) {
+        return eagerload ? candidateRepository.fetchParents(candidates) : candidates;
+    }
+
+    /**
+     * Run a write, evicting the entity from the caches before it: the caller evicts it again once the write is done.
+     */
+    private <T> Mono<T> evictBefore(String id, Supplier<Mono<T>> write) {
+        return Mono.defer(() -> {
+            evict(id);
+            return write.get();
+        });
+    }
+
+    private void evict(String id) {
+        candidateCache.evict(id);
+        requestCoalescer.evict(ENTITY_NAME, id);
+    }
+
+    private Set<String> resolveFields(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<String> projection = Arrays
+            .stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (projection.isEmpty() || !PROJECTABLE_FIELDS.containsAll(projection)) {
+            throw new BadRequestAlertException("Invalid fields", ENTITY_NAME, "fieldsinvalid");
+        }
+        return projection;
+    }
+
+    private Set<String> resolveIds(List<String> ids) {
+        Set<String> requestedIds = ids
+            .stream()
+            .map(String::trim)
+            .filter(id -> !id.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requestedIds.isEmpty() || requestedIds.size() > applicationProperties.getMultiGet().getMaxIds()) {
+            throw new BadRequestAlertException("Invalid ids", ENTITY_NAME, "idsinvalid");
+        }
+        return requestedIds;
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return applicationProperties.getPagination().getDefaultLimit();
+        }
+        if (limit < 1 || limit > applicationProperties.getPagination().getMaxLimit()) {
+            throw new BadRequestAlertException("Invalid limit", ENTITY_NAME, "limitinvalid");
+        }
+        return limit;
+    }
+
+    private String decodeCursor(String cursor) {
+        try {
+            return KeysetPaginationUtil.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+    }
 }
@@ -1,30 +1,56 @@
 package com.datalinkedai.employee.web.rest;
 
+import com.datalinkedai.employee.config.ApplicationProperties;
 import com.datalinkedai.employee.domain.EmployeeDetails;
 import com.datalinkedai.employee.repository.EmployeeDetailsRepository;
+import com.datalinkedai.employee.repository.ReadRoute;
+import com.datalinkedai.employee.service.AadharNumberFilter;
+import com.datalinkedai.employee.service.EmployeeDetailsQueryService;
+import com.datalinkedai.employee.service.EntityExportService;
+import com.datalinkedai.employee.service.EntityQuery;
+import com.datalinkedai.employee.service.EntityQueryService;
+import com.datalinkedai.employee.service.ExportFormat;
+import com.datalinkedai.employee.service.ReactiveEntityCache;
+import com.datalinkedai.employee.service.ReadRoutingService;
+import com.datalinkedai.employee.service.RequestCoalescer;
+import com.datalinkedai.employee.service.UnindexedQueryException;
+import com.datalinkedai.employee.service.criteria.EmployeeDetailsCriteria;
 import com.datalinkedai.employee.web.rest.errors.BadRequestAlertException;
+import com.datalinkedai.employee.web.rest.util.ETagUtil;
+import com.datalinkedai.employee.web.rest.util.KeysetPaginationUtil;
+import com.datalinkedai.employee.web.rest.util.MultiGetUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.datalinkedai.employee.domain.EmployeeDetails}.
@@ -37,20 +63,57 @@ public class EmployeeDetailsResource {
 
     private static final String ENTITY_NAME = "employeeDetails";
 
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of("id", "aadharNumber", "child");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final EmployeeDetailsRepository employeeDetailsRepository;
 
-    public EmployeeDetailsResource(EmployeeDetailsRepository employeeDetailsRepository) {
+    private final ReactiveEntityCache<EmployeeDetails> employeeDetailsCache;
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final AadharNumberFilter aadharNumberFilter;
+
+    private final ReadRoutingService readRoutingService;
+
+    private final EntityExportService entityExportService;
+
+    private final EmployeeDetailsQueryService employeeDetailsQueryService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public EmployeeDetailsResource(
+        EmployeeDetailsRepository employeeDetailsRepository,
+        ReactiveEntityCache<EmployeeDetails> employeeDetailsCache,
+        RequestCoalescer requestCoalescer,
+        AadharNumberFilter aadharNumberFilter,
+        ReadRoutingService readRoutingService,
+        EntityExportService entityExportService,
+        EmployeeDetailsQueryService employeeDetailsQueryService,
+        ApplicationProperties applicationProperties
+    ) {
         this.employeeDetailsRepository = employeeDetailsRepository;
+        this.employeeDetailsCache = employeeDetailsCache;
+        this.requestCoalescer = requestCoalescer;
+        this.aadharNumberFilter = aadharNumberFilter;
+        this.readRoutingService = readRoutingService;
+        this.entityExportService = entityExportService;
+        this.employeeDetailsQueryService = employeeDetailsQueryService;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
      * {@code POST  /employee-details} : Create a new employeeDetails.
+     * <p>
+     * The Aadhar number is only looked up in the database when the {@link AadharNumberFilter} cannot rule out that it
+     * is already used.
+     * <p>
+     * When reads are routed to the secondaries, the read-after token of the write is sent in the {@code X-Read-After} header.
      *
      * @param employeeDetails the employeeDetails to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new employeeDetails, or with status {@code 400 (Bad Request)} if the employeeDetails has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new employeeDetails, or with status {@code 400 (Bad Request)} if the employeeDetails has already an ID or if its Aadhar number is already used.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/employee-details")
@@ -60,13 +123,22 @@ public class EmployeeDetailsResource {
         if (employeeDetails.getId() != null) {
             throw new BadRequestAlertException("A new employeeDetails cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        return employeeDetailsRepository
-            .save(employeeDetails)
-            .map(result -> {
+        return aadharNumberFilter
+            .isUsed(employeeDetails.getAadharNumber())
+            .flatMap(used ->
+                used
+                    ? Mono.error(aadharNumberUsed())
+                    : readRoutingService.withReadAfterToken(employeeDetailsRepository.create(employeeDetails))
+            )
+            .onErrorMap(DuplicateKeyException.class, e -> aadharNumberUsed())
+            .doOnNext(saved -> aadharNumberFilter.put(saved.getT1().getAadharNumber()))
+            .map(saved -> {
+                EmployeeDetails result = saved.getT1();
                 try {
                     return ResponseEntity
                         .created(new URI("/api/employee-details/" + result.getId()))
                         .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                        .headers(readAfterHeaders(saved.getT2()))
                         .body(result);
                 } catch (URISyntaxException e) {
                     throw new RuntimeException(e);
@@ -76,18 +148,25 @@ public class EmployeeDetailsResource {
 
     /**
      * {@code PUT  /employee-details/:id} : Updates an existing employeeDetails.
+     * <p>
+     * When the {@code If-Match} header is given, the employeeDetails is only updated if its entity tag still matches one of
+     * the tags of the header.
      *
      * @param id the id of the employeeDetails to save.
      * @param employeeDetails the employeeDetails to update.
+     * @param ifMatch the entity tag of the employeeDetails the update is based on.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employeeDetails,
      * or with status {@code 400 (Bad Request)} if the employeeDetails is not valid,
+     * or with status {@code 404 (Not Found)} if the employeeDetails is not found,
+     * or with status {@code 412 (Precondition Failed)} if the employeeDetails has been modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the employeeDetails couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/employee-details/{id}")
     public Mono<ResponseEntity<EmployeeDetails>> updateEmployeeDetails(
         @PathVariable(value = "id", required = false) final String id,
-        @Valid @RequestBody EmployeeDetails employeeDetails
+        @Valid @RequestBody EmployeeDetails employeeDetails,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update EmployeeDetails : {}, {}", id, employeeDetails);
         if (employeeDetails.getId() == null) {
@@ -96,41 +175,45 @@ public class EmployeeDetailsResource {
         if (!Objects.equals(id, employeeDetails.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        return employeeDetailsRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return employeeDetailsRepository
-                    .save(employeeDetails)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return withExpectedVersion(employeeDetails, ifMatch)
+            .flatMap(expected -> readRoutingService.withReadAfterToken(evictBefore(id, () -> employeeDetailsRepository.update(expected))))
+            .onErrorMap(DuplicateKeyException.class, e -> aadharNumberUsed())
+            .doOnNext(updated -> {
+                evict(updated.getT1().getId());
+                aadharNumberFilter.put(updated.getT1().getAadharNumber());
+            })
+            .switchIfEmpty(Mono.defer(() -> notFoundOrPreconditionFailed(employeeDetails)))
+            .map(updated ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, updated.getT1().getId()))
+                    .headers(ETagUtil.eTagHeaders(updated.getT1().getVersion()))
+                    .headers(readAfterHeaders(updated.getT2()))
+                    .body(updated.getT1())
+            );
     }
 
     /**
      * {@code PATCH  /employee-details/:id} : Partial updates given fields of an existing employeeDetails, field will ignore if it is null
+     * <p>
+     * When the {@code If-Match} header is given, the employeeDetails is only updated if its entity tag still matches one of
+     * the tags of the header.
      *
      * @param id the id of the employeeDetails to save.
      * @param employeeDetails the employeeDetails to update.
+     * @param ifMatch the entity tag of the employeeDetails the update is based on.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employeeDetails,
      * or with status {@code 400 (Bad Request)} if the employeeDetails is not valid,
      * or with status {@code 404 (Not Found)} if the employeeDetails is not found,
+     * or with status {@code 412 (Precondition Failed)} if the employeeDetails has been modified since the given entity tag,
      * or with status {@code 500 (Internal Server Error)} if the employeeDetails couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/employee-details/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<EmployeeDetails>> partialUpdateEmployeeDetails(
         @PathVariable(value = "id", required = false) final String id,
-        @NotNull @RequestBody EmployeeDetails employeeDetails
+        @NotNull @RequestBody EmployeeDetails employeeDetails,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update EmployeeDetails partially : {}, {}", id, employeeDetails);
         if (employeeDetails.getId() == null) {
@@ -139,76 +222,265 @@ public class EmployeeDetailsResource {
         if (!Objects.equals(id, employeeDetails.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        return employeeDetailsRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<EmployeeDetails> result = employeeDetailsRepository
-                    .findById(employeeDetails.getId())
-                    .map(existingEmployeeDetails -> {
-                        if (employeeDetails.getAadharNumber() != null) {
-                            existingEmployeeDetails.setAadharNumber(employeeDetails.getAadharNumber());
-                        }
-
-                        return existingEmployeeDetails;
-                    })
-                    .flatMap(employeeDetailsRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return withExpectedVersion(employeeDetails, ifMatch)
+            .flatMap(expected ->
+                readRoutingService.withReadAfterToken(evictBefore(id, () -> employeeDetailsRepository.partialUpdate(expected)))
+            )
+            .onErrorMap(DuplicateKeyException.class, e -> aadharNumberUsed())
+            .doOnNext(updated -> {
+                evict(updated.getT1().getId());
+                aadharNumberFilter.put(updated.getT1().getAadharNumber());
+            })
+            .switchIfEmpty(Mono.defer(() -> notFoundOrPreconditionFailed(employeeDetails)))
+            .map(updated ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, updated.getT1().getId()))
+                    .headers(ETagUtil.eTagHeaders(updated.getT1().getVersion()))
+                    .headers(readAfterHeaders(updated.getT2()))
+                    .body(updated.getT1())
+            );
     }
 
     /**
      * {@code GET  /employee-details} : get all the employeeDetails.
+     * <p>
+     * When {@code limit} or {@code cursor} is given, a single page of employeeDetails ordered by id is returned, and the
+     * cursor of the next page is sent in the {@code Link} and {@code X-Next-Cursor} headers.
+     * <p>
+     * When {@code fields} is given, only these fields of the employeeDetails are read and returned.
+     * <p>
+     * The employeeDetails can be filtered with criteria, e.g. {@code aadharNumber.equals=x} or {@code childId.specified=false},
+     * run in the database. A filter which no index can serve is rejected or logged, as configured, and its conditions are
+     * sent in the {@code X-Unindexed-Query} header. The {@code filter=child-is-null} filter is the same as
+     * {@code childId.specified=false}.
+     * <p>
+     * The child is returned as a reference holding only its id, unless {@code eagerload} is {@code true}: the children of
+     * the employeeDetails are then fetched with one query per batch of employeeDetails.
+     * <p>
+     * The employeeDetails are read from the members of the replica set configured for the {@code employee-details-list}
+     * endpoint.
+     * <p>
+     * A page of complete employeeDetails is sent with a weak entity tag computed from the ids and versions of the
+     * employeeDetails, and a request whose {@code If-None-Match} header matches it gets a {@code 304 (Not Modified)}
+     * without body.
      *
+     * @param criteria the criteria which the employeeDetails must match.
      * @param filter the filter of the request.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employeeDetails in body.
+     * @param fields the comma-separated names of the fields to return.
+     * @param eagerload flag to fetch the children of the employeeDetails.
+     * @param limit the maximum number of employeeDetails to return.
+     * @param cursor the cursor of the page to return, as sent with the previous page.
+     * @param readAfter the read-after token of the last write of the client.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employeeDetails in body,
+     * or with status {@code 400 (Bad Request)} if the filter is rejected.
      */
     @GetMapping("/employee-details")
-    public Mono<List<EmployeeDetails>> getAllEmployeeDetails(@RequestParam(required = false) String filter) {
-        if ("child-is-null".equals(filter)) {
-            log.debug("REST request to get all EmployeeDetailss where child is null");
-            return (Mono<List<EmployeeDetails>>) StreamSupport
-                .stream(((List<EmployeeDetails>) employeeDetailsRepository.findAll()).spliterator(), false)
-                .filter(employeeDetails -> employeeDetails.getChild() == null)
-                .collect(Collectors.toList());
+    public Mono<ResponseEntity<Flux<EmployeeDetails>>> getAllEmployeeDetails(
+        EmployeeDetailsCriteria criteria,
+        @RequestParam(required = false) String filter,
+        @RequestParam(required = false) String fields,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) String cursor,
+        @RequestHeader(value = ReadRoutingService.READ_AFTER_HEADER, required = false) String readAfter,
+        ServerHttpRequest request
+    ) {
+        Set<String> projection = resolveFields(fields);
+        ReadRoute route = resolveRoute(ReadRoutingService.EMPLOYEE_DETAILS_LIST, readAfter);
+        EntityQuery query = compile(criteria, filter);
+        if (limit == null && cursor == null) {
+            if (projection != null) {
+                log.debug("REST request to get the fields {} of all EmployeeDetails by criteria : {}", projection, criteria);
+            } else {
+                log.debug("REST request to get all EmployeeDetails by criteria : {}", criteria);
+            }
+            Flux<EmployeeDetails> employeeDetails = employeeDetailsRepository
+                .findAllMatching(route, query.getCriteria(), projection, null, Pageable.unpaged())
+                .map(each -> each.projected(projection != null));
+            return Mono.just(ResponseEntity.ok().headers(unindexedQueryHeaders(query)).body(withChildren(employeeDetails, eagerload)));
         }
-        log.debug("REST request to get all EmployeeDetails");
-        return employeeDetailsRepository.findAll().collectList();
+        log.debug("REST request to get a page of EmployeeDetails by criteria : {} after cursor : {}", criteria, cursor);
+        int pageSize = resolveLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+        String afterId = cursor == null ? null : decodeCursor(cursor);
+        Flux<EmployeeDetails> page = employeeDetailsRepository
+            .findAllMatching(route, query.getCriteria(), projection, afterId, pageable)
+            .map(each -> each.projected(projection != null));
+        return withChildren(page, eagerload)
+            .collectList()
+            .map(employeeDetails -> {
+                String nextCursor = employeeDetails.size() < pageSize
+                    ? null
+                    : KeysetPaginationUtil.encodeCursor(employeeDetails.get(employeeDetails.size() - 1).getId());
+                HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                    UriComponentsBuilder.fromHttpRequest(request),
+                    nextCursor,
+                    pageSize
+                );
+                headers.addAll(unindexedQueryHeaders(query));
+                if (projection == null && !eagerload) {
+                    // a projected page carries no versions, and an eagerloaded page changes with its children
+                    String eTag = ETagUtil.forList(employeeDetails, EmployeeDetails::getId, EmployeeDetails::getVersion);
+                    if (eTag != null) {
+                        headers.setETag(eTag);
+                    }
+                }
+                return ResponseEntity.ok().headers(headers).body(Flux.fromIterable(employeeDetails));
+            });
     }
 
     /**
      * {@code GET  /employee-details} : get all the employeeDetails as a stream.
+     * <p>
+     * The employeeDetails are read from the members of the replica set configured for the {@code employee-details-stream}
+     * endpoint.
+     *
+     * @param criteria the criteria which the employeeDetails must match.
+     * @param filter the filter of the request.
+     * @param eagerload flag to fetch the children of the employeeDetails.
+     * @param readAfter the read-after token of the last write of the client.
      * @return the {@link Flux} of employeeDetails.
      */
     @GetMapping(value = "/employee-details", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<EmployeeDetails> getAllEmployeeDetailsAsStream() {
-        log.debug("REST request to get all EmployeeDetails as a stream");
-        return employeeDetailsRepository.findAll();
+    public Flux<EmployeeDetails> getAllEmployeeDetailsAsStream(
+        EmployeeDetailsCriteria criteria,
+        @RequestParam(required = false) String filter,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestHeader(value = ReadRoutingService.READ_AFTER_HEADER, required = false) String readAfter
+    ) {
+        ReadRoute route = resolveRoute(ReadRoutingService.EMPLOYEE_DETAILS_STREAM, readAfter);
+        EntityQuery query = compile(criteria, filter);
+        log.debug("REST request to get all EmployeeDetails by criteria : {} as a stream", criteria);
+        Flux<EmployeeDetails> employeeDetails = employeeDetailsRepository.findAllMatching(
+            route,
+            query.getCriteria(),
+            null,
+            null,
+            Pageable.unpaged()
+        );
+        return withChildren(employeeDetails, eagerload);
+    }
+
+    /**
+     * {@code GET  /employee-details/count} : count the employeeDetails matching criteria.
+     *
+     * @param criteria the criteria which the employeeDetails must match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body,
+     * or with status {@code 400 (Bad Request)} if the filter is rejected.
+     */
+    @GetMapping("/employee-details/count")
+    public Mono<ResponseEntity<Long>> countEmployeeDetails(EmployeeDetailsCriteria criteria) {
+        log.debug("REST request to count EmployeeDetails by criteria : {}", criteria);
+        EntityQuery query = compile(criteria, null);
+        return employeeDetailsRepository
+            .countMatching(query.getCriteria())
+            .map(count -> ResponseEntity.ok().headers(unindexedQueryHeaders(query)).body(count));
+    }
+
+    /**
+     * {@code GET  /employee-details/export} : export all the employeeDetails as CSV or NDJSON.
+     * <p>
+     * The employeeDetails are written to the response as they are read from the database, from the members of the replica set
+     * configured for the {@code employee-details-export} endpoint. The response is compressed when the client accepts it.
+     *
+     * @param format the format of the export: {@code csv} or {@code ndjson}.
+     * @param readAfter the read-after token of the last write of the client.
+     * @param response the response to write the export to.
+     * @return the {@link Mono} completing when the export is written, or failing with status {@code 400 (Bad Request)} if the format is not valid.
+     */
+    @GetMapping("/employee-details/export")
+    public Mono<Void> exportEmployeeDetails(
+        @RequestParam(required = false, defaultValue = "csv") String format,
+        @RequestHeader(value = ReadRoutingService.READ_AFTER_HEADER, required = false) String readAfter,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export EmployeeDetails as : {}", format);
+        ExportFormat exportFormat = ExportFormat
+            .fromExtension(format)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid"));
+        ReadRoute route = resolveRoute(ReadRoutingService.EMPLOYEE_DETAILS_EXPORT, readAfter);
+        response.getHeaders().setContentType(exportFormat.getMediaType());
+        response
+            .getHeaders()
+            .setContentDisposition(ContentDisposition.attachment().filename("employee-details." + exportFormat.getExtension()).build());
+        return response.writeWith(entityExportService.exportEmployeeDetails(route, exportFormat, response.bufferFactory()));
+    }
+
+    /**
+     * {@code GET  /employee-details?ids=:ids} : get the employeeDetails with the given ids.
+     * <p>
+     * The employeeDetails are fetched with a single query, and returned in the order of the ids. The ids of the employeeDetails
+     * which do not exist are listed in the {@code X-Missing-Ids} header.
+     *
+     * @param ids the ids of the employeeDetails to retrieve.
+     * @param eagerload flag to fetch the children of the employeeDetails.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employeeDetails in body,
+     * or with status {@code 400 (Bad Request)} if no id or too many ids are given.
+     */
+    @GetMapping(value = "/employee-details", params = "ids")
+    public Mono<ResponseEntity<Flux<EmployeeDetails>>> getEmployeeDetailsByIds(
+        @RequestParam List<String> ids,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+    ) {
+        log.debug("REST request to get EmployeeDetails by ids : {}", ids);
+        Set<String> requestedIds = resolveIds(ids);
+        Flux<EmployeeDetails> employeeDetails = withChildren(employeeDetailsRepository.findAllById(requestedIds), eagerload);
+        return MultiGetUtil.inRequestOrder(requestedIds, employeeDetails, EmployeeDetails::getId);
     }
 
     /**
      * {@code GET  /employee-details/:id} : get the "id" employeeDetails.
+     * <p>
+     * The employeeDetails is sent with its entity tag. When the {@code If-None-Match} header is given, only the version
+     * of the employeeDetails is read first, from the cache if it holds the employeeDetails, and the employeeDetails
+     * itself is only read if the client does not already hold this version.
      *
      * @param id the id of the employeeDetails to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeDetails, or with status {@code 404 (Not Found)}.
+     * @param fields the comma-separated names of the fields to return, or all the fields if not given.
+     * @param eagerload flag to fetch the child of the employeeDetails.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employeeDetails,
+     * or with status {@code 304 (Not Modified)} if the employeeDetails matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/employee-details/{id}")
-    public Mono<ResponseEntity<EmployeeDetails>> getEmployeeDetails(@PathVariable String id) {
+    public Mono<ResponseEntity<EmployeeDetails>> getEmployeeDetails(
+        @PathVariable String id,
+        @RequestParam(required = false) String fields,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        ServerHttpRequest request
+    ) {
         log.debug("REST request to get EmployeeDetails : {}", id);
-        Mono<EmployeeDetails> employeeDetails = employeeDetailsRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(employeeDetails);
+        Set<String> projection = resolveFields(fields);
+        if (projection != null || eagerload) {
+            // the cache only holds complete employeeDetails with an unresolved child
+            Mono<EmployeeDetails> employeeDetails = projection == null
+                ? employeeDetailsRepository.findById(id)
+                : employeeDetailsRepository.findByIdWithFields(id, projection).map(each -> each.projected(true));
+            return ETagUtil.wrapOrNotFound(withChildren(employeeDetails.flux(), eagerload).next(), EmployeeDetails::getVersion);
+        }
+        // the coalesced requests share the employeeDetails read from the cache: each one gets its own copy
+        Mono<ResponseEntity<EmployeeDetails>> response = ETagUtil.wrapOrNotFound(
+            requestCoalescer
+                .coalesce(ENTITY_NAME, id, key -> employeeDetailsCache.get(key, employeeDetailsRepository::findById))
+                .map(EmployeeDetails::copy),
+            EmployeeDetails::getVersion
+        );
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.isEmpty()) {
+            return response;
+        }
+        // the version of a cached employeeDetails is served without reading the database
+        return employeeDetailsCache
+            .getIfPresent(id)
+            .flatMap(cached -> Mono.justOrEmpty(cached.getVersion()))
+            .switchIfEmpty(employeeDetailsRepository.findVersionById(id))
+            .map(ETagUtil::forVersion)
+            .filter(eTag -> ETagUtil.matchesAny(eTag, ifNoneMatch))
+            .map(eTag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<EmployeeDetails>build())
+            .switchIfEmpty(response);
     }
 
     /**
@@ -221,10 +493,151 @@ public class EmployeeDetailsResource {
     @ResponseStatus(code = HttpStatus.NO_CONTENT)
     public Mono<ResponseEntity<Void>> deleteEmployeeDetails(@PathVariable String id) {
         log.debug("REST request to delete EmployeeDetails : {}", id);
-        return employeeDetailsRepository
-            .deleteById(id)
+        return evictBefore(id, () -> employeeDetailsRepository.deleteById(id))
+            .doOnSuccess(result -> evict(id))
             .map(result ->
                 ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
             );
     }
+
+    private static BadRequestAlertException aadharNumberUsed() {
+        return new BadRequestAlertException("Aadhar number already used", ENTITY_NAME, "aadharexists");
+    }
+
+    private EntityQuery compile(EmployeeDetailsCriteria criteria, String filter) {
+        if ("child-is-null".equals(filter)) {
+            criteria.childId().setSpecified(false);
+        }
+        try {
+            return employeeDetailsQueryService.compile(criteria);
+        } catch (UnindexedQueryException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "queryunindexed");
+        }
+    }
+
+    private static HttpHeaders unindexedQueryHeaders(EntityQuery query) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!query.isServedByIndex()) {
+            headers.add(EntityQueryService.UNINDEXED_QUERY_HEADER, query.getConditions());
+        }
+        return headers;
+    }
+
+    private ReadRoute resolveRoute(String endpoint, String readAfter) {
+        try {
+            return readRoutingService.route(endpoint, readAfter);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid read-after token", ENTITY_NAME, "readafterinvalid");
+        }
+    }
+
+    private static HttpHeaders readAfterHeaders(Optional<String> readAfterToken) {
+        HttpHeaders headers = new HttpHeaders();
+        readAfterToken.ifPresent(token -> headers.add(ReadRoutingService.READ_AFTER_HEADER, token));
+        return headers;
+    }
+
+    /**
+     * Set the version the update of the employeeDetails is conditioned on: the one of the {@code If-Match} header, or, when the
+     * header lists several, the current version of the employeeDetails if it is one of them.
+     */
+    private Mono<EmployeeDetails> withExpectedVersion(EmployeeDetails employeeDetails, String ifMatch) {
+        List<Long> versions = resolveVersions(ifMatch);
+        if (versions.size() <= 1) {
+            employeeDetails.setVersion(versions.isEmpty() ? null : versions.get(0));
+            return Mono.just(employeeDetails);
+        }
+        return employeeDetailsRepository
+            .findVersionById(employeeDetails.getId())
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(version -> {
+                if (!versions.contains(version)) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED));
+                }
+                // the update still fails if the employeeDetails is written meanwhile
+                employeeDetails.setVersion(version);
+                return Mono.just(employeeDetails);
+            });
+    }
+
+    private List<Long> resolveVersions(String ifMatch) {
+        try {
+            return ETagUtil.parseVersions(ifMatch);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid entity tag", ENTITY_NAME, "etaginvalid");
+        }
+    }
+
+    private <T> Mono<T> notFoundOrPreconditionFailed(EmployeeDetails employeeDetails) {
+        if (employeeDetails.getVersion() == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        return employeeDetailsRepository
+            .existsById(employeeDetails.getId())
+            .flatMap(exists -> Mono.error(new ResponseStatusException(exists ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND)));
+    }
+
+    private Flux<EmployeeDetails> withChildren(Flux<EmployeeDetails> employeeDetails, boolean eagerload) {
+        return eagerload ? employeeDetailsRepository.fetchChildren(employeeDetails) : employeeDetails;
+    }
+
+    /**
+     * Run a write, evicting the entity from the caches before it: the caller evicts it again once the write is done.
+     */
+    private <T> Mono<T> evictBefore(String id, Supplier<Mono<T>> write) {
+        return Mono.defer(() -> {
+            evict(id);
+            return write.get();
+        });
+    }
+
+    private void evict(String id) {
+        employeeDetailsCache.evict(id);
+        requestCoalescer.evict(ENTITY_NAME, id);
+    }
+
+    private Set<String> resolveFields(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<String> projection = Arrays
+            .stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (projection.isEmpty() || !PROJECTABLE_FIELDS.containsAll(projection)) {
+            throw new BadRequestAlertException("Invalid fields", ENTITY_NAME, "fieldsinvalid");
+        }
+        return projection;
+    }
+
+    private Set<String> resolveIds(List<String> ids) {
+        Set<String> requestedIds = ids
+            .stream()
+            .map(String::trim)
+            .filter(id -> !id.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requestedIds.isEmpty() || requestedIds.size() > applicationProperties.getMultiGet().getMaxIds()) {
+            throw new BadRequestAlertException("Invalid ids", ENTITY_NAME, "idsinvalid");
+        }
+        return requestedIds;
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return applicationProperties.getPagination().getDefaultLimit();
+        }
+        if (limit < 1 || limit > applicationProperties.getPagination().getMaxLimit()) {
+            throw new BadRequestAlertException("Invalid limit", ENTITY_NAME, "limitinvalid");
+        }
+        return limit;
+    }
+
+    private String decodeCursor(String cursor) {
+        try {
+            return KeysetPaginationUtil.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+    }
 }
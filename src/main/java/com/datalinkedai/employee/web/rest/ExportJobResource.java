@@ -0,0 +1,142 @@
+package com.datalinkedai.employee.web.rest;
+
+import com.datalinkedai.employee.domain.ExportJob;
+import com.datalinkedai.employee.service.ExportEntity;
+import com.datalinkedai.employee.service.ExportFormat;
+import com.datalinkedai.employee.service.ExportJobService;
+import com.datalinkedai.employee.web.rest.errors.BadRequestAlertException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for managing {@link ExportJob}s.
+ * <p>
+ * Each user only sees the jobs they submitted.
+ */
+@RestController
+@RequestMapping("/api")
+public class ExportJobResource {
+
+    private final Logger log = LoggerFactory.getLogger(ExportJobResource.class);
+
+    private static final String ENTITY_NAME = "exportJob";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final ExportJobService exportJobService;
+
+    public ExportJobResource(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    /**
+     * {@code POST  /export-jobs} : Submit the export of all the entities of a collection.
+     * <p>
+     * The export runs in the background, whether or not the client stays connected. Its progress is polled at the
+     * URI sent in the {@code Location} header.
+     *
+     * @param entity the name of the entity to export: {@code candidate} or {@code employee-details}.
+     * @param format the format of the export: {@code csv} or {@code ndjson}.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the pending job, or with status {@code 400 (Bad Request)} if the entity or the format is not valid.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/export-jobs")
+    public Mono<ResponseEntity<ExportJob>> submitExportJob(
+        @RequestParam String entity,
+        @RequestParam(required = false, defaultValue = "csv") String format
+    ) throws URISyntaxException {
+        log.debug("REST request to export {} as : {}", entity, format);
+        ExportEntity exportEntity = ExportEntity
+            .fromEntityName(entity)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid exported entity", ENTITY_NAME, "entityinvalid"));
+        ExportFormat exportFormat = ExportFormat
+            .fromExtension(format)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid"));
+        return exportJobService
+            .submit(exportEntity, exportFormat)
+            .map(job -> {
+                try {
+                    return ResponseEntity
+                        .accepted()
+                        .location(new URI("/api/export-jobs/" + job.getId()))
+                        .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, job.getId()))
+                        .body(job);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+
+    /**
+     * {@code GET  /export-jobs/:id} : get the status and the progress of an export job.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/export-jobs/{id}")
+    public Mono<ResponseEntity<ExportJob>> getExportJob(@PathVariable String id) {
+        log.debug("REST request to get ExportJob : {}", id);
+        return exportJobService
+            .findOne(id)
+            .map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    /**
+     * {@code GET  /export-jobs/:id/file} : download the gzip file of a completed export job.
+     *
+     * @param id the id of the job.
+     * @param response the response to write the file to.
+     * @return the {@link Mono} completing when the file is written, or failing with status {@code 404 (Not Found)}, or
+     * with status {@code 409 (Conflict)} if the job is not completed.
+     */
+    @GetMapping("/export-jobs/{id}/file")
+    public Mono<Void> downloadExportJobFile(@PathVariable String id, ServerHttpResponse response) {
+        log.debug("REST request to download the file of ExportJob : {}", id);
+        return exportJobService
+            .findOne(id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(job -> {
+                if (job.getStatus() != ExportJob.Status.COMPLETED) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "The export job is " + job.getStatus()));
+                }
+                response.getHeaders().setContentType(MediaType.parseMediaType(ExportJobService.CONTENT_TYPE));
+                response
+                    .getHeaders()
+                    .setContentDisposition(ContentDisposition.attachment().filename(exportJobService.getFileName(job)).build());
+                return response.writeWith(exportJobService.download(job));
+            });
+    }
+
+    /**
+     * {@code DELETE  /export-jobs/:id} : delete an export job, and its file.
+     *
+     * @param id the id of the job to delete.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/export-jobs/{id}")
+    @ResponseStatus(code = HttpStatus.NO_CONTENT)
+    public Mono<ResponseEntity<Void>> deleteExportJob(@PathVariable String id) {
+        log.debug("REST request to delete ExportJob : {}", id);
+        return exportJobService
+            .findOne(id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(exportJobService::delete)
+            .thenReturn(
+                ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).<Void>build()
+            );
+    }
+}
@@ -0,0 +1,45 @@
+package com.datalinkedai.employee.web.rest;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.security.jwt.JwtKeySet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller publishing the public keys verifying the JWT tokens, for the services behind the gateway.
+ */
+@RestController
+public class JwksResource {
+
+    private final Logger log = LoggerFactory.getLogger(JwksResource.class);
+
+    private final JwtKeySet jwtKeySet;
+
+    private final CacheControl cacheControl;
+
+    public JwksResource(JwtKeySet jwtKeySet, ApplicationProperties applicationProperties) {
+        this.jwtKeySet = jwtKeySet;
+        // the services may cache the key set for a refresh interval: JwtKeySet delays the signing with a new key for it
+        this.cacheControl = CacheControl.maxAge(applicationProperties.getJwtSigning().getRefreshInterval()).cachePublic();
+    }
+
+    /**
+     * {@code GET  /.well-known/jwks.json} : get the JSON Web Key Set of the public keys signing the JWT tokens.
+     * <p>
+     * The key set is versioned by its {@code ETag}: a client sending back the version it has in
+     * {@code If-None-Match} gets a {@code 304 (Not Modified)} until the key set changes.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the key set, empty if the tokens are signed with an HMAC secret.
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getJwks() {
+        log.debug("REST request to get the JWKS");
+        JwtKeySet.Jwks jwks = jwtKeySet.getJwks();
+        return ResponseEntity.ok().eTag(jwks.getVersion()).cacheControl(cacheControl).body(jwks.getJson());
+    }
+}
@@ -1,5 +1,7 @@
 package com.datalinkedai.employee.web.rest;
 
+import com.datalinkedai.employee.repository.ReadRoute;
+import com.datalinkedai.employee.service.ReadRoutingService;
 import com.datalinkedai.employee.service.UserService;
 import com.datalinkedai.employee.service.dto.UserDTO;
 import java.util.ArrayList;
@@ -33,32 +35,45 @@ public class PublicUserResource {
 
     private final UserService userService;
 
-    public PublicUserResource(UserService userService) {
+    private final ReadRoutingService readRoutingService;
+
+    public PublicUserResource(UserService userService, ReadRoutingService readRoutingService) {
         this.userService = userService;
+        this.readRoutingService = readRoutingService;
     }
 
     /**
      * {@code GET /users} : get all users with only the public informations - calling this are allowed for anyone.
+     * <p>
+     * The users are read from the members of the replica set configured for the {@code public-user-list} endpoint.
      *
      * @param request a {@link ServerHttpRequest} request.
      * @param pageable the pagination information.
+     * @param readAfter the read-after token of the last write of the client.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     public Mono<ResponseEntity<Flux<UserDTO>>> getAllPublicUsers(
         ServerHttpRequest request,
-        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestHeader(value = ReadRoutingService.READ_AFTER_HEADER, required = false) String readAfter
     ) {
         log.debug("REST request to get all public User names");
         if (!onlyContainsAllowedProperties(pageable)) {
             return Mono.just(ResponseEntity.badRequest().build());
         }
+        ReadRoute route;
+        try {
+            route = readRoutingService.route(ReadRoutingService.PUBLIC_USER_LIST, readAfter);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
 
         return userService
             .countManagedUsers()
             .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
             .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(userService.getAllPublicUsers(pageable)));
+            .map(headers -> ResponseEntity.ok().headers(headers).body(userService.getAllPublicUsers(pageable, route)));
     }
 
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
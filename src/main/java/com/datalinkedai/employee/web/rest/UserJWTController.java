@@ -1,6 +1,8 @@
 package com.datalinkedai.employee.web.rest;
 
+import com.datalinkedai.employee.security.SecurityUtils;
 import com.datalinkedai.employee.security.jwt.JWTFilter;
+import com.datalinkedai.employee.security.jwt.SigningKeyUnavailableException;
 import com.datalinkedai.employee.security.jwt.TokenProvider;
 import com.datalinkedai.employee.web.rest.vm.LoginVM;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -11,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -38,6 +41,11 @@ public class UserJWTController {
                     .authenticate(new UsernamePasswordAuthenticationToken(login.getUsername(), login.getPassword()))
                     .flatMap(auth -> Mono.fromCallable(() -> tokenProvider.createToken(auth, login.isRememberMe())))
             )
+            // the signing keys are loaded from the database at startup
+            .onErrorMap(
+                SigningKeyUnavailableException.class,
+                e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e)
+            )
             .map(jwt -> {
                 HttpHeaders httpHeaders = new HttpHeaders();
                 httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
@@ -45,6 +53,17 @@ public class UserJWTController {
             });
     }
 
+    /**
+     * {@code POST  /logout} : revoke the JWT token of the request, on all the instances, until it expires.
+     *
+     * @return the {@link Mono} completing with status {@code 204 (No Content)} once the token is revoked.
+     */
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> logout() {
+        return SecurityUtils.getCurrentUserJWT().flatMap(tokenProvider::revoke);
+    }
+
     /**
      * Object to return as body in JWT Authentication.
      */
@@ -0,0 +1,142 @@
+package com.datalinkedai.employee.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class for handling entity tags.
+ * <p>
+ * The entity tag of an entity is its version, which is incremented on each write: it is known without reading the
+ * rest of the document, so a revalidation request can be answered with {@code 304 (Not Modified)} from the version
+ * alone. The same version is expected in the {@code If-Match} header of an update.
+ */
+public final class ETagUtil {
+
+    private static final Pattern STRONG_ETAG_PATTERN = Pattern.compile("\"(\\d+)\"");
+
+    private static final String ANY_ETAG = "*";
+
+    private ETagUtil() {}
+
+    /**
+     * Generate the strong entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the entity tag, or {@code null} if the version is {@code null}.
+     */
+    public static String forVersion(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Generate the weak entity tag of a list of entities, from their ids and versions.
+     *
+     * @param entities the entities.
+     * @param idOf the function giving the id of an entity.
+     * @param versionOf the function giving the version of an entity.
+     * @param <T> the type of the entities.
+     * @return the entity tag, or {@code null} if the version of an entity is {@code null}.
+     */
+    public static <T> String forList(List<T> entities, Function<T, String> idOf, Function<T, Long> versionOf) {
+        StringBuilder content = new StringBuilder();
+        for (T entity : entities) {
+            Long version = versionOf.apply(entity);
+            if (version == null) {
+                return null;
+            }
+            content.append(idOf.apply(entity)).append(':').append(version).append(',');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Generate the headers holding the entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the {@link HttpHeaders} with the {@code ETag} header, or without headers if the version is {@code null}.
+     */
+    public static HttpHeaders eTagHeaders(Long version) {
+        HttpHeaders headers = new HttpHeaders();
+        String eTag = forVersion(version);
+        if (eTag != null) {
+            headers.setETag(eTag);
+        }
+        return headers;
+    }
+
+    /**
+     * Parse the versions accepted by an {@code If-Match} header: a comma-separated list of entity tags, or {@code *}.
+     *
+     * @param ifMatch the {@code If-Match} header.
+     * @return the accepted versions, or an empty list if the header is absent or matches any version.
+     * @throws IllegalArgumentException if a tag of the header is not a strong entity tag generated by {@link #forVersion(Long)}.
+     */
+    public static List<Long> parseVersions(String ifMatch) {
+        if (ifMatch == null) {
+            return List.of();
+        }
+        List<Long> versions = new ArrayList<>();
+        // the tags generated hold no comma
+        for (String tag : ifMatch.split(",")) {
+            String eTag = tag.trim();
+            if (ANY_ETAG.equals(eTag)) {
+                return List.of();
+            }
+            Matcher matcher = STRONG_ETAG_PATTERN.matcher(eTag);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid entity tag: " + ifMatch);
+            }
+            try {
+                versions.add(Long.valueOf(matcher.group(1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid entity tag: " + ifMatch, e);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Wrap the entity into a {@link ResponseEntity} with status {@code 200 (OK)} and its entity tag, or raise a
+     * {@link ResponseStatusException} with status {@code 404 (Not Found)} if the entity is empty.
+     *
+     * @param maybeResponse the entity to return.
+     * @param versionOf the function giving the version of the entity.
+     * @param <T> the type of the entity.
+     * @return the response.
+     */
+    public static <T> Mono<ResponseEntity<T>> wrapOrNotFound(Mono<T> maybeResponse, Function<T, Long> versionOf) {
+        return maybeResponse
+            .map(response -> ResponseEntity.ok().headers(eTagHeaders(versionOf.apply(response))).body(response))
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    /**
+     * Check whether an entity tag matches one of the tags of an {@code If-None-Match} header, with a weak comparison.
+     *
+     * @param eTag the entity tag of the current version.
+     * @param ifNoneMatch the tags of the {@code If-None-Match} header.
+     * @return {@code true} if the client already holds this version.
+     */
+    public static boolean matchesAny(String eTag, List<String> ifNoneMatch) {
+        if (eTag == null) {
+            return false;
+        }
+        String opaqueTag = stripWeak(eTag);
+        return ifNoneMatch.stream().anyMatch(tag -> ANY_ETAG.equals(tag) || Objects.equals(opaqueTag, stripWeak(tag)));
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
@@ -0,0 +1,78 @@
+package com.datalinkedai.employee.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * Cursors are opaque to clients: they wrap the {@code _id} of the last document of a page, so the next page is a
+ * range scan on the {@code _id} index starting right after it, whatever its position in the collection.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Encode the id of the last element of a page into an opaque cursor.
+     *
+     * @param id the id of the last element returned.
+     * @return the cursor pointing after this element.
+     */
+    public static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously generated by {@link #encodeCursor(String)}.
+     *
+     * @param cursor the cursor sent by the client.
+     * @return the id after which the next page starts.
+     * @throws IllegalArgumentException if the cursor is not a valid cursor.
+     */
+    public static String decodeCursor(String cursor) {
+        String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (id.isEmpty()) {
+            throw new IllegalArgumentException("Empty cursor");
+        }
+        return id;
+    }
+
+    /**
+     * Generate keyset pagination headers.
+     *
+     * @param uriBuilder the uri builder of the current request.
+     * @param nextCursor the cursor of the next page, or {@code null} if the current page is the last one.
+     * @param limit the size of the pages.
+     * @return the {@link HttpHeaders} with the {@code Link} header and, if there is a next page, the next cursor.
+     */
+    public static HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, String nextCursor, int limit) {
+        HttpHeaders headers = new HttpHeaders();
+        StringBuilder link = new StringBuilder();
+        if (nextCursor != null) {
+            headers.add(NEXT_CURSOR_HEADER, nextCursor);
+            link.append(prepareLink(uriBuilder, nextCursor, limit, "next")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, null, limit, "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String cursor, int limit, String relType) {
+        String uri = uriBuilder
+            .cloneBuilder()
+            .replaceQueryParam("cursor", cursor == null ? new Object[0] : new Object[] { cursor })
+            .replaceQueryParam("limit", limit)
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
@@ -0,0 +1,53 @@
+package com.datalinkedai.employee.web.rest.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class for handling the lookup of several entities by id in one request.
+ * <p>
+ * The entities are fetched with one query, in no particular order: they are put back in the order of the requested
+ * ids, and the ids which were not found are reported in the {@code X-Missing-Ids} header.
+ */
+public final class MultiGetUtil {
+
+    public static final String MISSING_IDS_HEADER = "X-Missing-Ids";
+
+    private MultiGetUtil() {}
+
+    /**
+     * Wrap the entities found for the requested ids into a {@link ResponseEntity}.
+     *
+     * @param ids the requested ids, without duplicates.
+     * @param found the entities found.
+     * @param idOf the function giving the id of an entity.
+     * @param <T> the type of the entities.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the entities in the order of the requested ids in
+     * body, and the ids which were not found in the {@code X-Missing-Ids} header.
+     */
+    public static <T> Mono<ResponseEntity<Flux<T>>> inRequestOrder(Collection<String> ids, Flux<T> found, Function<T, String> idOf) {
+        return found
+            .collectMap(idOf)
+            .map(entities -> {
+                List<T> ordered = ids.stream().map(entities::get).filter(Objects::nonNull).collect(Collectors.toList());
+                HttpHeaders headers = new HttpHeaders();
+                String missing = missingIds(ids, entities);
+                if (!missing.isEmpty()) {
+                    headers.add(MISSING_IDS_HEADER, missing);
+                }
+                return ResponseEntity.ok().headers(headers).body(Flux.fromIterable(ordered));
+            });
+    }
+
+    private static String missingIds(Collection<String> ids, Map<String, ?> entities) {
+        return ids.stream().filter(id -> !entities.containsKey(id)).collect(Collectors.joining(","));
+    }
+}
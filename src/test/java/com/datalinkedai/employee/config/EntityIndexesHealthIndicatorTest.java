@@ -0,0 +1,81 @@
+package com.datalinkedai.employee.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class EntityIndexesHealthIndicatorTest {
+
+    @Test
+    void testAllDeclaredIndexesIsUp() {
+        EntityIndexesHealthIndicator healthIndicator = new EntityIndexesHealthIndicator(templateWithIndexes(EntityIndexes.all()));
+
+        Health health = healthIndicator.health().block();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat((List<?>) health.getDetails().get("missing")).isEmpty();
+    }
+
+    @Test
+    void testMissingIndexIsDown() {
+        Map<String, List<Index>> existing = EntityIndexes.all();
+        List<Index> candidateIndexes = new ArrayList<>(existing.get(EntityIndexes.CANDIDATE_COLLECTION));
+        Index missing = candidateIndexes.remove(0);
+        existing.put(EntityIndexes.CANDIDATE_COLLECTION, candidateIndexes);
+        EntityIndexesHealthIndicator healthIndicator = new EntityIndexesHealthIndicator(templateWithIndexes(existing));
+
+        Health health = healthIndicator.health().block();
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat((List<?>) health.getDetails().get("missing"))
+            .containsExactly(EntityIndexes.CANDIDATE_COLLECTION + "." + missing.getIndexOptions().getString("name"));
+    }
+
+    /**
+     * Mock the {@code $indexStats} of the entity collections, each index having been used once.
+     */
+    @SuppressWarnings("unchecked")
+    private static ReactiveMongoTemplate templateWithIndexes(Map<String, List<Index>> indexes) {
+        ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+        indexes.forEach((collection, collectionIndexes) -> {
+            List<Document> stats = new ArrayList<>();
+            stats.add(new Document("name", "_id_").append("accesses", new Document("ops", 1L)));
+            for (Index index : collectionIndexes) {
+                stats.add(
+                    new Document("name", index.getIndexOptions().getString("name"))
+                        .append("spec", new Document())
+                        .append("accesses", new Document("ops", 1L))
+                );
+            }
+            AggregatePublisher<Document> publisher = mock(AggregatePublisher.class);
+            doAnswer(invocation -> {
+                    Flux.fromIterable(stats).subscribe(invocation.<Subscriber<Document>>getArgument(0));
+                    return null;
+                })
+                .when(publisher)
+                .subscribe(any());
+            MongoCollection<Document> mongoCollection = mock(MongoCollection.class);
+            when(mongoCollection.aggregate(anyList())).thenReturn(publisher);
+            when(template.getCollection(collection)).thenReturn(Mono.just(mongoCollection));
+        });
+        return template;
+    }
+}
@@ -0,0 +1,58 @@
+package com.datalinkedai.employee.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+class StreamingJsonArrayEncoderTest {
+
+    private StreamingJsonArrayEncoder encoder;
+
+    @BeforeEach
+    public void setup() {
+        encoder = new StreamingJsonArrayEncoder(new ObjectMapper());
+    }
+
+    @Test
+    void testElementsAreWrittenAsJsonArray() {
+        assertThat(encode(Flux.just(Map.of("id", "1"), Map.of("id", "2")), MediaType.APPLICATION_JSON))
+            .isEqualTo("[{\"id\":\"1\"},{\"id\":\"2\"}]");
+    }
+
+    @Test
+    void testEmptyFluxIsWrittenAsEmptyArray() {
+        assertThat(encode(Flux.empty(), MediaType.APPLICATION_JSON)).isEqualTo("[]");
+    }
+
+    @Test
+    void testStreamingMediaTypeIsNotWrittenAsArray() {
+        assertThat(encode(Flux.just(Map.of("id", "1"), Map.of("id", "2")), MediaType.APPLICATION_NDJSON))
+            .isEqualTo("{\"id\":\"1\"}\n{\"id\":\"2\"}\n");
+    }
+
+    private String encode(Flux<Map<String, String>> elements, MediaType mediaType) {
+        DataBuffer buffer = DataBufferUtils
+            .join(
+                encoder.encode(
+                    elements,
+                    DefaultDataBufferFactory.sharedInstance,
+                    ResolvableType.forClassWithGenerics(Map.class, String.class, String.class),
+                    mediaType,
+                    Collections.emptyMap()
+                )
+            )
+            .block();
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package com.datalinkedai.employee.config.dbmigrations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datalinkedai.employee.IntegrationTest;
+import com.datalinkedai.employee.config.EntityIndexes;
+import com.datalinkedai.employee.config.EntityIndexesHealthIndicator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+/**
+ * Integration tests for the {@link EntityIndexesMigration} change unit.
+ */
+@IntegrationTest
+class EntityIndexesMigrationIT {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EntityIndexesHealthIndicator entityIndexesHealthIndicator;
+
+    @Test
+    void changeSetCreatesTheDeclaredIndexes() {
+        EntityIndexesMigration migration = new EntityIndexesMigration(mongoTemplate);
+        // the indexes built at startup are dropped, so that the change unit builds them again
+        migration.rollback();
+        assertThat(entityIndexesHealthIndicator.health().block().getStatus()).isEqualTo(Status.DOWN);
+
+        migration.changeSet();
+
+        for (Map.Entry<String, List<Index>> entry : EntityIndexes.all().entrySet()) {
+            List<String> existing = mongoTemplate
+                .indexOps(entry.getKey())
+                .getIndexInfo()
+                .stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toList());
+            for (Index index : entry.getValue()) {
+                assertThat(existing).contains(index.getIndexOptions().getString("name"));
+            }
+        }
+        assertThat(entityIndexesHealthIndicator.health().block().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void rollbackKeepsTheIndexesOfTheOtherChangeUnits() {
+        EntityIndexesMigration migration = new EntityIndexesMigration(mongoTemplate);
+
+        migration.rollback();
+
+        List<String> existing = mongoTemplate
+            .indexOps(EntityIndexes.EMPLOYEE_DETAILS_COLLECTION)
+            .getIndexInfo()
+            .stream()
+            .map(IndexInfo::getName)
+            .collect(Collectors.toList());
+        assertThat(existing).contains("employee_details_child_ref").doesNotContain("employee_details_aadhar_number");
+
+        migration.changeSet();
+        assertThat(entityIndexesHealthIndicator.health().block().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void changeSetIsIdempotent() {
+        EntityIndexesMigration migration = new EntityIndexesMigration(mongoTemplate);
+
+        migration.changeSet();
+        migration.changeSet();
+
+        assertThat(entityIndexesHealthIndicator.health().block().getStatus()).isEqualTo(Status.UP);
+    }
+}
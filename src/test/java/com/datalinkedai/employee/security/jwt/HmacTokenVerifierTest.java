@@ -0,0 +1,114 @@
+package com.datalinkedai.employee.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import com.datalinkedai.employee.security.AuthoritiesConstants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class HmacTokenVerifierTest {
+
+    private Key key;
+
+    private TokenProvider tokenProvider;
+
+    private HmacTokenVerifier hmacTokenVerifier;
+
+    @BeforeEach
+    public void setup() {
+        tokenProvider = TokenProviderTestUtil.createTokenProvider();
+        key = TokenProviderTestUtil.createKey();
+        hmacTokenVerifier = new HmacTokenVerifier(key);
+    }
+
+    @Test
+    void testVerifyReadsTheClaimsReadByJjwt() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        HmacTokenVerifier.VerifiedClaims verifiedClaims = hmacTokenVerifier.verify(token);
+
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        assertThat(verifiedClaims).isNotNull();
+        assertThat(verifiedClaims.getTokenId()).isEqualTo(claims.getId());
+        assertThat(verifiedClaims.getSubject()).isEqualTo(claims.getSubject());
+        assertThat(verifiedClaims.getAuthorities()).isEqualTo(claims.get("auth"));
+        assertThat(verifiedClaims.getIssuedAt()).isEqualTo(claims.getIssuedAt().toInstant());
+        assertThat(verifiedClaims.getExpiresAt()).isEqualTo(claims.getExpiration().toInstant());
+    }
+
+    @Test
+    void testVerifyRejectsAnInvalidSignature() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        int index = token.length() - 10;
+        String tampered = token.substring(0, index) + (token.charAt(index) == 'A' ? 'B' : 'A') + token.substring(index + 1);
+
+        assertThat(hmacTokenVerifier.verify(tampered)).isNull();
+        assertThat(new HmacTokenVerifier(Keys.secretKeyFor(SignatureAlgorithm.HS512)).verify(token)).isNull();
+    }
+
+    @Test
+    void testVerifyLeavesTheExpiredTokensToJjwt() {
+        String token = createToken(Jwts.builder().setSubject("test-user").claim("auth", "").setExpiration(new Date(0)));
+
+        assertThat(hmacTokenVerifier.verify(token)).isNull();
+    }
+
+    @Test
+    void testVerifyLeavesTheOtherClaimsToJjwt() {
+        String token = createToken(
+            Jwts.builder().setSubject("test-user").claim("auth", "").setNotBefore(new Date(System.currentTimeMillis() + 60000))
+        );
+
+        assertThat(hmacTokenVerifier.verify(token)).isNull();
+    }
+
+    @Test
+    void testVerifyLeavesTheDatesBeyondInstantToJjwt() {
+        String token = createToken(Jwts.builder().setSubject("test-user").claim("auth", "").claim("exp", 999_999_999_999_999_999L));
+
+        assertThat(hmacTokenVerifier.verify(token)).isNull();
+        assertThatCode(() -> tokenProvider.authenticate(token)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testVerifyLeavesTheEscapedClaimsToJjwt() {
+        String token = createToken(Jwts.builder().setSubject("test\"user").claim("auth", ""));
+
+        assertThat(hmacTokenVerifier.verify(token)).isNull();
+        assertThat(tokenProvider.authenticate(token)).hasValueSatisfying(auth -> assertThat(auth.getName()).isEqualTo("test\"user"));
+    }
+
+    @Test
+    void testAuthoritiesArePooled() {
+        Authentication first = tokenProvider.authenticate(tokenProvider.createToken(createAuthentication(), false)).orElseThrow();
+        Authentication second = tokenProvider.authenticate(tokenProvider.createToken(createAuthentication(), true)).orElseThrow();
+
+        assertThat(second.getAuthorities()).hasSize(2);
+        assertThat(second.getAuthorities().iterator().next()).isSameAs(first.getAuthorities().iterator().next());
+    }
+
+    private String createToken(JwtBuilder builder) {
+        return builder.signWith(key, SignatureAlgorithm.HS512).serializeToJsonWith(new JacksonSerializer<>()).compact();
+    }
+
+    private Authentication createAuthentication() {
+        return new UsernamePasswordAuthenticationToken(
+            "test-user",
+            "test-password",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+        );
+    }
+}
@@ -2,11 +2,7 @@ package com.datalinkedai.employee.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.datalinkedai.employee.management.SecurityMetersService;
 import com.datalinkedai.employee.security.AuthoritiesConstants;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,7 +14,6 @@ import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Mono;
-import tech.jhipster.config.JHipsterProperties;
 
 class JWTFilterTest {
 
@@ -28,14 +23,8 @@ class JWTFilterTest {
 
     @BeforeEach
     public void setup() {
-        JHipsterProperties jHipsterProperties = new JHipsterProperties();
-        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
-        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
-
-        SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
-
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
-        ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
+        tokenProvider = TokenProviderTestUtil.createTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "key", TokenProviderTestUtil.createKey());
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
         jwtFilter = new JWTFilter(tokenProvider);
@@ -0,0 +1,90 @@
+package com.datalinkedai.employee.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.datalinkedai.employee.security.AuthoritiesConstants;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class JWTRelayGatewayFilterFactoryTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private TokenProvider tokenProvider;
+
+    private GatewayFilterChain chain;
+
+    private GatewayFilter relayFilter;
+
+    @BeforeEach
+    public void setup() {
+        tokenProvider = mock(TokenProvider.class);
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any())).thenReturn(Mono.empty());
+        relayFilter = new JWTRelayGatewayFilterFactory(tokenProvider).apply(new Object());
+    }
+
+    @Test
+    void testAuthenticatedTokenIsRelayedWithoutVerification() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/services/test").header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + TOKEN)
+        );
+
+        relayFilter.filter(exchange, chain).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication(TOKEN))).block();
+
+        verify(chain).filter(exchange);
+        verifyNoInteractions(tokenProvider);
+    }
+
+    @Test
+    void testUnauthenticatedTokenIsVerified() {
+        when(tokenProvider.authenticate(TOKEN)).thenReturn(Optional.of(authentication(TOKEN)));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/services/test").header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + TOKEN)
+        );
+
+        relayFilter.filter(exchange, chain).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication("other"))).block();
+
+        verify(tokenProvider).authenticate(TOKEN);
+        verify(chain).filter(exchange);
+    }
+
+    @Test
+    void testDuplicateAuthorizationHeadersAreReplacedByTheToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/services/test").header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + TOKEN, "Bearer other")
+        );
+
+        relayFilter.filter(exchange, chain).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication(TOKEN))).block();
+
+        ArgumentCaptor<ServerWebExchange> relayed = ArgumentCaptor.forClass(ServerWebExchange.class);
+        verify(chain).filter(relayed.capture());
+        assertThat(relayed.getValue().getRequest().getHeaders().get(JWTFilter.AUTHORIZATION_HEADER)).containsExactly("Bearer " + TOKEN);
+    }
+
+    private Authentication authentication(String token) {
+        return new UsernamePasswordAuthenticationToken(
+            "test-user",
+            token,
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+    }
+}
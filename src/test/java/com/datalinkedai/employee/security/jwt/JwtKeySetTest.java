@@ -0,0 +1,264 @@
+package com.datalinkedai.employee.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.JwtSigningKey;
+import com.datalinkedai.employee.repository.JwtSigningKeyRepository;
+import com.datalinkedai.employee.security.AuthoritiesConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.jhipster.config.JHipsterProperties;
+
+class JwtKeySetTest {
+
+    private static final String KEY_ENCRYPTION_SECRET = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private JwtSigningKeyRepository jwtSigningKeyRepository;
+
+    private List<JwtSigningKey> storedKeys;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getJwtSigning().setAlgorithm("RS256");
+        applicationProperties.getJwtSigning().setKeyEncryptionSecret(KEY_ENCRYPTION_SECRET);
+
+        storedKeys = new ArrayList<>();
+        jwtSigningKeyRepository = mock(JwtSigningKeyRepository.class);
+        when(jwtSigningKeyRepository.findAllByCreatedDateAfterOrderByCreatedDateDesc(any()))
+            .thenAnswer(invocation -> Flux.fromIterable(new ArrayList<>(storedKeys)));
+        when(jwtSigningKeyRepository.insert(any(JwtSigningKey.class)))
+            .thenAnswer(invocation -> {
+                JwtSigningKey key = invocation.getArgument(0);
+                storedKeys.add(0, key);
+                return Mono.just(key);
+            });
+        when(jwtSigningKeyRepository.deleteByCreatedDateBefore(any())).thenReturn(Mono.just(0L));
+    }
+
+    @Test
+    void testRefreshGeneratesTheFirstKey() throws Exception {
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+
+        jwtKeySet.refresh().block();
+
+        assertThat(storedKeys).hasSize(1);
+        assertThat(jwtKeySet.getSigningKey()).hasValueSatisfying(key -> assertThat(key.getKeyId()).isEqualTo(storedKeys.get(0).getId()));
+        JsonNode jwks = objectMapper.readTree(jwtKeySet.getJwks().getJson()).get("keys");
+        assertThat(jwks).hasSize(1);
+        assertThat(jwks.get(0).get("kid").asText()).isEqualTo(storedKeys.get(0).getId());
+        assertThat(jwks.get(0).get("alg").asText()).isEqualTo("RS256");
+    }
+
+    @Test
+    void testRefreshKeepsARecentKey() {
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+        jwtKeySet.refresh().block();
+        String version = jwtKeySet.getJwks().getVersion();
+
+        jwtKeySet.refresh().block();
+
+        assertThat(storedKeys).hasSize(1);
+        assertThat(jwtKeySet.getJwks().getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void testRefreshRotatesAnOldKey() {
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+        jwtKeySet.refresh().block();
+        JwtSigningKey oldKey = storedKeys.get(0);
+        oldKey.setCreatedDate(Instant.now().minus(applicationProperties.getJwtSigning().getKeyRotationInterval()).minusSeconds(1));
+        oldKey.setId("rs256-0");
+
+        jwtKeySet.refresh().block();
+
+        assertThat(storedKeys).hasSize(2);
+        // the new key is published before it signs any token
+        assertThat(jwtKeySet.getSigningKey()).hasValueSatisfying(key -> assertThat(key.getKeyId()).isEqualTo("rs256-0"));
+        assertThat(jwtKeySet.getVerificationKey(storedKeys.get(0).getId())).isNotNull();
+        assertThat(jwtKeySet.getVerificationKey("rs256-0")).isNotNull();
+    }
+
+    @Test
+    void testNewKeySignsOnceTwoRefreshesAndTheMarginHavePassed() {
+        ApplicationProperties.JwtSigning jwtSigning = applicationProperties.getJwtSigning();
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+        jwtKeySet.refresh().block();
+        JwtSigningKey oldKey = storedKeys.get(0);
+        oldKey.setCreatedDate(Instant.now().minus(jwtSigning.getKeyRotationInterval()).minusSeconds(1));
+        oldKey.setId("rs256-0");
+        jwtKeySet.refresh().block();
+        JwtSigningKey newKey = storedKeys.get(0);
+        Duration publicationDelay = jwtSigning.getRefreshInterval().multipliedBy(2).plus(jwtSigning.getPublicationMargin());
+
+        // an instance may still serve the key set without the new key for a refresh interval, and a service cache it
+        // for another one
+        newKey.setCreatedDate(Instant.now().minus(publicationDelay).plusSeconds(5));
+        jwtKeySet.refresh().block();
+        assertThat(jwtKeySet.getSigningKey()).hasValueSatisfying(key -> assertThat(key.getKeyId()).isEqualTo(oldKey.getId()));
+
+        newKey.setCreatedDate(Instant.now().minus(publicationDelay).minusSeconds(1));
+        jwtKeySet.refresh().block();
+        assertThat(jwtKeySet.getSigningKey()).hasValueSatisfying(key -> assertThat(key.getKeyId()).isEqualTo(newKey.getId()));
+    }
+
+    @Test
+    void testPrivateKeyIsStoredEncrypted() {
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+        jwtKeySet.refresh().block();
+        byte[] storedPrivateKey = Base64.getDecoder().decode(storedKeys.get(0).getPrivateKey());
+
+        assertThatThrownBy(() -> KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(storedPrivateKey)))
+            .isInstanceOf(InvalidKeySpecException.class);
+
+        applicationProperties.getJwtSigning().setKeyEncryptionSecret("ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=");
+        JwtKeySet otherSecret = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+        assertThatThrownBy(() -> otherSecret.refresh().block()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testRs256RequiresAKeyEncryptionSecret() {
+        applicationProperties.getJwtSigning().setKeyEncryptionSecret(null);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper));
+    }
+
+    @Test
+    void testDisabledKeySetIsEmpty() {
+        applicationProperties.getJwtSigning().setAlgorithm("HS512");
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+
+        jwtKeySet.startRefreshing();
+
+        assertThat(jwtKeySet.isEnabled()).isFalse();
+        assertThat(jwtKeySet.getJwks().getJson()).isEqualTo("{\"keys\":[]}");
+        verify(jwtSigningKeyRepository, never()).findAllByCreatedDateAfterOrderByCreatedDateDesc(any());
+    }
+
+    @Test
+    void testTokenIsVerifiedWithThePublishedKey() throws Exception {
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+        jwtKeySet.refresh().block();
+        TokenProvider tokenProvider = TokenProviderTestUtil.createTokenProvider(
+            jHipsterProperties,
+            applicationProperties,
+            jwtKeySet,
+            TokenProviderTestUtil.createTokenRevocationList(jHipsterProperties, applicationProperties)
+        );
+
+        String token = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(
+                "test-user",
+                "test-password",
+                Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            ),
+            false
+        );
+
+        JsonNode jwk = objectMapper.readTree(jwtKeySet.getJwks().getJson()).get("keys").get(0);
+        PublicKey publicKey = KeyFactory
+            .getInstance("RSA")
+            .generatePublic(new RSAPublicKeySpec(fromBase64Url(jwk.get("n").asText()), fromBase64Url(jwk.get("e").asText())));
+        Jws<Claims> jws = Jwts.parserBuilder().setSigningKey(publicKey).build().parseClaimsJws(token);
+        assertThat(jws.getHeader().getKeyId()).isEqualTo(jwk.get("kid").asText());
+        assertThat(jws.getBody().getSubject()).isEqualTo("test-user");
+        assertThat(tokenProvider.authenticate(token)).hasValueSatisfying(auth -> assertThat(auth.getName()).isEqualTo("test-user"));
+    }
+
+    @Test
+    void testTokenIsNotCreatedBeforeTheKeysAreLoaded() {
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+        TokenProvider tokenProvider = TokenProviderTestUtil.createTokenProvider(
+            jHipsterProperties,
+            applicationProperties,
+            jwtKeySet,
+            TokenProviderTestUtil.createTokenRevocationList(jHipsterProperties, applicationProperties)
+        );
+
+        assertThatThrownBy(() ->
+                tokenProvider.createToken(
+                    new UsernamePasswordAuthenticationToken(
+                        "test-user",
+                        "test-password",
+                        Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+                    ),
+                    false
+                )
+            )
+            .isInstanceOf(SigningKeyUnavailableException.class);
+    }
+
+    @Test
+    void testTokenSignedWithTheSecretIsRejected() {
+        JwtKeySet jwtKeySet = new JwtKeySet(jwtSigningKeyRepository, jHipsterProperties, applicationProperties, objectMapper);
+        jwtKeySet.refresh().block();
+        TokenProvider tokenProvider = TokenProviderTestUtil.createTokenProvider(
+            jHipsterProperties,
+            applicationProperties,
+            jwtKeySet,
+            TokenProviderTestUtil.createTokenRevocationList(jHipsterProperties, applicationProperties)
+        );
+
+        // a fresh token, signed with the secret which is still configured
+        String token = TokenProviderTestUtil
+            .createTokenProvider(jHipsterProperties)
+            .createToken(
+                new UsernamePasswordAuthenticationToken(
+                    "test-user",
+                    "test-password",
+                    Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+                ),
+                false
+            );
+
+        assertThat(Jwts.parserBuilder().setSigningKey(TokenProviderTestUtil.createKey()).build().parseClaimsJws(token).getHeader())
+            .containsEntry("alg", "HS512");
+        assertThat(tokenProvider.authenticate(token)).isEmpty();
+    }
+
+    private static BigInteger fromBase64Url(String value) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+}
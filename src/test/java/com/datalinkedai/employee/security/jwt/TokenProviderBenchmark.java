@@ -0,0 +1,106 @@
+package com.datalinkedai.employee.security.jwt;
+
+import com.datalinkedai.employee.security.AuthoritiesConstants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Compares the verification of a token by jjwt with the one by the {@link HmacTokenVerifier}, without the cache of the
+ * verified tokens.
+ * <p>
+ * Not run with the tests: run {@code ./mvnw test-compile}, then the {@link #main} method from the IDE. The allocation
+ * rate per operation is reported as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    private JwtParser jwtParser;
+
+    private HmacTokenVerifier hmacTokenVerifier;
+
+    private TokenProvider tokenProvider;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenProvider = TokenProviderTestUtil.createTokenProvider();
+        token =
+            tokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(
+                    "test-user",
+                    "test-password",
+                    Arrays.asList(
+                        new SimpleGrantedAuthority(AuthoritiesConstants.USER),
+                        new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)
+                    )
+                ),
+                true
+            );
+        jwtParser = Jwts.parserBuilder().setSigningKey(TokenProviderTestUtil.createKey()).build();
+        hmacTokenVerifier = new HmacTokenVerifier(TokenProviderTestUtil.createKey());
+    }
+
+    @Benchmark
+    public Object validateWithJjwt() {
+        return jwtParser.parseClaimsJws(token);
+    }
+
+    @Benchmark
+    public Object validateWithHmacTokenVerifier() {
+        return hmacTokenVerifier.verify(token);
+    }
+
+    /**
+     * The authentication of a token as built before the {@link HmacTokenVerifier}.
+     */
+    @Benchmark
+    public Authentication getAuthenticationWithJjwt() {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Collection<? extends GrantedAuthority> authorities = Arrays
+            .stream(claims.get("auth").toString().split(","))
+            .filter(auth -> !auth.trim().isEmpty())
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+        User principal = new User(claims.getSubject(), "", authorities);
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    }
+
+    @Benchmark
+    public Authentication getAuthenticationWithHmacTokenVerifier() {
+        return tokenProvider.parse(token).getAuthentication();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TokenProviderBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -2,7 +2,6 @@ package com.datalinkedai.employee.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.datalinkedai.employee.management.SecurityMetersService;
 import com.datalinkedai.employee.security.AuthoritiesConstants;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -22,7 +21,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.util.ReflectionTestUtils;
-import tech.jhipster.config.JHipsterProperties;
 
 class TokenProviderSecurityMetersTests {
 
@@ -35,16 +33,10 @@ class TokenProviderSecurityMetersTests {
 
     @BeforeEach
     public void setup() {
-        JHipsterProperties jHipsterProperties = new JHipsterProperties();
-        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
-        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
-
         meterRegistry = new SimpleMeterRegistry();
 
-        SecurityMetersService securityMetersService = new SecurityMetersService(meterRegistry);
-
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
-        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        tokenProvider = TokenProviderTestUtil.createTokenProvider(TokenProviderTestUtil.createJHipsterProperties(), meterRegistry);
+        Key key = TokenProviderTestUtil.createKey();
 
         ReflectionTestUtils.setField(tokenProvider, "key", key);
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", ONE_MINUTE);
@@ -2,13 +2,11 @@ package com.datalinkedai.employee.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.datalinkedai.employee.management.SecurityMetersService;
 import com.datalinkedai.employee.security.AuthoritiesConstants;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.*;
@@ -30,14 +28,8 @@ class TokenProviderTest {
 
     @BeforeEach
     public void setup() {
-        JHipsterProperties jHipsterProperties = new JHipsterProperties();
-        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
-        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
-
-        SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
-
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
-        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        tokenProvider = TokenProviderTestUtil.createTokenProvider();
+        key = TokenProviderTestUtil.createKey();
 
         ReflectionTestUtils.setField(tokenProvider, "key", key);
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", ONE_MINUTE);
@@ -88,15 +80,41 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testAuthenticateReturnsTheCachedAuthenticationOfAValidToken() {
+        Authentication authentication = createAuthentication();
+        String token = tokenProvider.createToken(authentication, false);
+
+        Optional<Authentication> first = tokenProvider.authenticate(token);
+        Optional<Authentication> second = tokenProvider.authenticate(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getName()).isEqualTo("anonymous");
+        assertThat(first.get().getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(first.get().getCredentials()).isEqualTo(token);
+        assertThat(second).containsSame(first.get());
+    }
+
+    @Test
+    void testAuthenticateReturnsEmptyWhenJWThasInvalidSignature() {
+        assertThat(tokenProvider.authenticate(createTokenWithDifferentSignature())).isEmpty();
+    }
+
+    @Test
+    void testAuthenticateReturnsEmptyWhenJWTisExpired() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.authenticate(token)).isEmpty();
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
         JHipsterProperties jHipsterProperties = new JHipsterProperties();
         jHipsterProperties.getSecurity().getAuthentication().getJwt().setSecret(secret);
 
-        SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
-
-        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        TokenProvider tokenProvider = TokenProviderTestUtil.createTokenProvider(jHipsterProperties);
 
         Key key = (Key) ReflectionTestUtils.getField(tokenProvider, "key");
         assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
@@ -104,16 +122,10 @@ class TokenProviderTest {
 
     @Test
     void testKeyIsSetFromBase64SecretWhenSecretIsEmpty() {
-        final String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
-        JHipsterProperties jHipsterProperties = new JHipsterProperties();
-        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
-
-        SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
-
-        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        TokenProvider tokenProvider = TokenProviderTestUtil.createTokenProvider(TokenProviderTestUtil.createJHipsterProperties());
 
         Key key = (Key) ReflectionTestUtils.getField(tokenProvider, "key");
-        assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
+        assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(Decoders.BASE64.decode(TokenProviderTestUtil.BASE64_SECRET)));
     }
 
     private Authentication createAuthentication() {
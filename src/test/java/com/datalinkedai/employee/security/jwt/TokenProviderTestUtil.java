@@ -0,0 +1,93 @@
+package com.datalinkedai.employee.security.jwt;
+
+import static org.mockito.Mockito.mock;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.management.SecurityMetersService;
+import com.datalinkedai.employee.repository.JwtSigningKeyRepository;
+import com.datalinkedai.employee.repository.RevokedTokenRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Key;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Utility class for building the {@link TokenProvider} of the JWT tests, without a database.
+ */
+final class TokenProviderTestUtil {
+
+    static final String BASE64_SECRET =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    /**
+     * Create the JHipster properties with the {@link #BASE64_SECRET} as the secret of the tokens.
+     */
+    static JHipsterProperties createJHipsterProperties() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        return jHipsterProperties;
+    }
+
+    /**
+     * Create the key of the HS512 signatures made with the {@link #BASE64_SECRET}.
+     */
+    static Key createKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(BASE64_SECRET));
+    }
+
+    static JwtKeySet createJwtKeySet(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        return new JwtKeySet(mock(JwtSigningKeyRepository.class), jHipsterProperties, applicationProperties, new ObjectMapper());
+    }
+
+    static TokenRevocationList createTokenRevocationList(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        return new TokenRevocationList(
+            mock(RevokedTokenRepository.class),
+            mock(ReactiveMongoTemplate.class),
+            jHipsterProperties,
+            applicationProperties
+        );
+    }
+
+    static TokenProvider createTokenProvider() {
+        return createTokenProvider(createJHipsterProperties());
+    }
+
+    static TokenProvider createTokenProvider(JHipsterProperties jHipsterProperties) {
+        return createTokenProvider(jHipsterProperties, new SimpleMeterRegistry());
+    }
+
+    static TokenProvider createTokenProvider(JHipsterProperties jHipsterProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        return new TokenProvider(
+            jHipsterProperties,
+            applicationProperties,
+            new SecurityMetersService(meterRegistry),
+            createJwtKeySet(jHipsterProperties, applicationProperties),
+            createTokenRevocationList(jHipsterProperties, applicationProperties)
+        );
+    }
+
+    static TokenProvider createTokenProvider(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        JwtKeySet jwtKeySet,
+        TokenRevocationList tokenRevocationList
+    ) {
+        return new TokenProvider(
+            jHipsterProperties,
+            applicationProperties,
+            new SecurityMetersService(new SimpleMeterRegistry()),
+            jwtKeySet,
+            tokenRevocationList
+        );
+    }
+
+    private TokenProviderTestUtil() {}
+}
@@ -0,0 +1,155 @@
+package com.datalinkedai.employee.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.RevokedToken;
+import com.datalinkedai.employee.repository.RevokedTokenRepository;
+import com.datalinkedai.employee.security.AuthoritiesConstants;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import tech.jhipster.config.JHipsterProperties;
+
+class TokenRevocationListTest {
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private List<RevokedToken> storedRevocations;
+
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = TokenProviderTestUtil.createJHipsterProperties();
+        applicationProperties = new ApplicationProperties();
+
+        storedRevocations = new ArrayList<>();
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.save(any(RevokedToken.class)))
+            .thenAnswer(invocation -> {
+                RevokedToken revokedToken = invocation.getArgument(0);
+                storedRevocations.add(revokedToken);
+                return Mono.just(revokedToken);
+            });
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any())).thenAnswer(invocation -> Flux.fromIterable(storedRevocations));
+
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository, mongoTemplate, jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    void testRevokedTokenIsRevoked() {
+        tokenRevocationList.revokeToken("revoked", "user", Instant.now().plusSeconds(60)).block();
+
+        assertThat(tokenRevocationList.isRevoked("revoked", "user", Instant.now())).isTrue();
+        assertThat(tokenRevocationList.isRevoked("other", "user", Instant.now())).isFalse();
+        assertThat(storedRevocations).hasSize(1);
+    }
+
+    @Test
+    void testExpiredTokenIsNotStored() {
+        tokenRevocationList.revokeToken("expired", "user", Instant.now().minusSeconds(1)).block();
+
+        assertThat(storedRevocations).isEmpty();
+    }
+
+    @Test
+    void testRevokedUserTokensIssuedBeforeAreRevoked() {
+        tokenRevocationList.revokeUser("user").block();
+
+        assertThat(tokenRevocationList.isRevoked("before", "user", Instant.now().minusSeconds(60))).isTrue();
+        assertThat(tokenRevocationList.isRevoked("without-issue-date", "user", null)).isTrue();
+        assertThat(tokenRevocationList.isRevoked("after", "user", Instant.now().plusSeconds(60))).isFalse();
+        assertThat(tokenRevocationList.isRevoked("other-user", "other", Instant.now().minusSeconds(60))).isFalse();
+    }
+
+    @Test
+    void testReloadKeepsTheRevocations() {
+        tokenRevocationList.revokeToken("revoked", "user", Instant.now().plusSeconds(60)).block();
+        storedRevocations.add(new RevokedToken().id("from-another-instance").login("user").expiresAt(Instant.now().plusSeconds(60)));
+
+        tokenRevocationList.reload().block();
+
+        assertThat(tokenRevocationList.isRevoked("revoked", "user", Instant.now())).isTrue();
+        assertThat(tokenRevocationList.isRevoked("from-another-instance", "user", Instant.now())).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testChangeStreamEventIsRevoked() {
+        Sinks.Many<ChangeStreamEvent<RevokedToken>> changes = Sinks.many().unicast().onBackpressureBuffer();
+        when(mongoTemplate.getCollectionName(RevokedToken.class)).thenReturn("revoked_token");
+        when(mongoTemplate.changeStream(eq("revoked_token"), any(ChangeStreamOptions.class), eq(RevokedToken.class)))
+            .thenReturn(changes.asFlux());
+        tokenRevocationList.startSynchronizing();
+        try {
+            // the revocation of another instance, also in the database for the reloads
+            RevokedToken revokedToken = new RevokedToken().id("from-change-stream").login("user").expiresAt(Instant.now().plusSeconds(60));
+            storedRevocations.add(revokedToken);
+            ChangeStreamEvent<RevokedToken> event = mock(ChangeStreamEvent.class);
+            when(event.getBody()).thenReturn(revokedToken);
+
+            changes.tryEmitNext(event);
+
+            assertThat(tokenRevocationList.isRevoked("from-change-stream", "user", Instant.now())).isTrue();
+            assertThat(tokenRevocationList.isRevoked("other", "user", Instant.now())).isFalse();
+        } finally {
+            tokenRevocationList.destroy();
+        }
+    }
+
+    @Test
+    void testRevokedTokenIsNotAuthenticated() {
+        TokenProvider tokenProvider = TokenProviderTestUtil.createTokenProvider(
+            jHipsterProperties,
+            applicationProperties,
+            TokenProviderTestUtil.createJwtKeySet(jHipsterProperties, applicationProperties),
+            tokenRevocationList
+        );
+        String token = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(
+                "test-user",
+                "test-password",
+                Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            ),
+            false
+        );
+        String otherToken = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(
+                "test-user",
+                "test-password",
+                Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            ),
+            false
+        );
+        assertThat(tokenProvider.authenticate(token)).isPresent();
+
+        tokenProvider.revoke(token).block();
+
+        assertThat(tokenProvider.authenticate(token)).isEmpty();
+        assertThat(tokenProvider.authenticate(otherToken)).isPresent();
+    }
+}
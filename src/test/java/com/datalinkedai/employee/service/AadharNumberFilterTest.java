@@ -0,0 +1,99 @@
+package com.datalinkedai.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import com.datalinkedai.employee.repository.EmployeeDetailsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class AadharNumberFilterTest {
+
+    private EmployeeDetailsRepository employeeDetailsRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private AadharNumberFilter aadharNumberFilter;
+
+    @BeforeEach
+    public void setup() {
+        employeeDetailsRepository = mock(EmployeeDetailsRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAadharFilter().setExpectedInsertions(1000);
+        applicationProperties.getAadharFilter().setFalsePositiveProbability(0.01);
+        aadharNumberFilter = new AadharNumberFilter(employeeDetailsRepository, applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void testAddedNumbersAreAlwaysFound() {
+        IntStream.range(0, 1000).mapToObj(AadharNumberFilterTest::aadharNumber).forEach(aadharNumberFilter::put);
+
+        assertThat(IntStream.range(0, 1000).mapToObj(AadharNumberFilterTest::aadharNumber)).allMatch(aadharNumberFilter::mightContain);
+    }
+
+    @Test
+    void testFalsePositiveRateIsBounded() {
+        IntStream.range(0, 1000).mapToObj(AadharNumberFilterTest::aadharNumber).forEach(aadharNumberFilter::put);
+
+        long falsePositives = IntStream
+            .range(1000, 11000)
+            .mapToObj(AadharNumberFilterTest::aadharNumber)
+            .filter(aadharNumberFilter::mightContain)
+            .count();
+
+        assertThat(falsePositives).isLessThan(300);
+        assertThat(meterRegistry.get("aadhar.filter.false.positive.probability").gauge().value()).isBetween(0.0, 0.03);
+        assertThat(meterRegistry.get("aadhar.filter.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    void testNewNumberIsNotLookedUpOnceLoaded() {
+        when(employeeDetailsRepository.findAllWithFields(any(), anyBoolean(), any(), any()))
+            .thenReturn(Flux.just(new EmployeeDetails().aadharNumber(aadharNumber(1))));
+        aadharNumberFilter.load();
+
+        assertThat(aadharNumberFilter.isUsed(aadharNumber(2)).block()).isFalse();
+
+        verify(employeeDetailsRepository, never()).existsByAadharNumber(anyString());
+        assertThat(meterRegistry.get(AadharNumberFilter.CHECKS_METER_NAME).tag("result", "new").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPossiblyUsedNumberIsLookedUp() {
+        when(employeeDetailsRepository.findAllWithFields(any(), anyBoolean(), any(), any()))
+            .thenReturn(Flux.just(new EmployeeDetails().aadharNumber(aadharNumber(1))));
+        when(employeeDetailsRepository.existsByAadharNumber(aadharNumber(1))).thenReturn(Mono.just(true));
+        aadharNumberFilter.load();
+
+        assertThat(aadharNumberFilter.isUsed(aadharNumber(1)).block()).isTrue();
+
+        verify(employeeDetailsRepository).existsByAadharNumber(aadharNumber(1));
+    }
+
+    @Test
+    void testEveryNumberIsLookedUpBeforeLoading() {
+        when(employeeDetailsRepository.existsByAadharNumber(aadharNumber(2))).thenReturn(Mono.just(false));
+
+        assertThat(aadharNumberFilter.isUsed(aadharNumber(2)).block()).isFalse();
+
+        verify(employeeDetailsRepository).existsByAadharNumber(aadharNumber(2));
+    }
+
+    private static String aadharNumber(int i) {
+        return String.format("%012d", 400000000000L + i);
+    }
+}
@@ -0,0 +1,65 @@
+package com.datalinkedai.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.service.criteria.CandidateCriteria;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CandidateQueryServiceTest {
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+    }
+
+    @Test
+    void testEmptyCriteriaMatchAll() {
+        EntityQuery query = new CandidateQueryService(applicationProperties).compile(new CandidateCriteria());
+
+        assertThat(query.getCriteria()).isNull();
+        assertThat(query.isServedByIndex()).isTrue();
+    }
+
+    @Test
+    void testIndexedConditionServesQuery() {
+        CandidateCriteria criteria = new CandidateCriteria();
+        criteria.login().setIn(List.of("first", "second"));
+        criteria.firstName().setContains("a.b");
+
+        EntityQuery query = new CandidateQueryService(applicationProperties).compile(criteria);
+
+        assertThat(query.isServedByIndex()).isTrue();
+        assertThat(query.getConditions()).isEqualTo("firstName.contains,login.in");
+        assertThat(query.getCriteria().getCriteriaObject().getList("$and", Document.class)).hasSize(2);
+    }
+
+    @Test
+    void testUnindexedQueryIsFlagged() {
+        CandidateCriteria criteria = new CandidateCriteria();
+        criteria.lastName().setContains("a");
+        criteria.parentId().setEquals("1");
+
+        EntityQuery query = new CandidateQueryService(applicationProperties).compile(criteria);
+
+        assertThat(query.isServedByIndex()).isFalse();
+        assertThat(query.getConditions()).isEqualTo("lastName.contains,parentId.equals");
+    }
+
+    @Test
+    void testUnindexedQueryIsRejected() {
+        applicationProperties.getCriteriaQueries().setRejectUnindexed(true);
+        CandidateCriteria criteria = new CandidateCriteria();
+        criteria.login().setSpecified(true);
+
+        CandidateQueryService candidateQueryService = new CandidateQueryService(applicationProperties);
+
+        assertThatThrownBy(() -> candidateQueryService.compile(criteria)).isInstanceOf(UnindexedQueryException.class);
+    }
+}
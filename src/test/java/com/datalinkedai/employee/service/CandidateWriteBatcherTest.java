@@ -0,0 +1,168 @@
+package com.datalinkedai.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.repository.RoutedReadOperations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+class CandidateWriteBatcherTest {
+
+    private CandidateRepository candidateRepository;
+
+    private RoutedReadOperations routedReadOperations;
+
+    private MeterRegistry meterRegistry;
+
+    private CandidateWriteBatcher candidateWriteBatcher;
+
+    @BeforeEach
+    public void setup() {
+        candidateRepository = mock(CandidateRepository.class);
+        routedReadOperations = mock(RoutedReadOperations.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getWriteBatching().setEnabled(true);
+        applicationProperties.getWriteBatching().setMaxDelay(Duration.ofMillis(200));
+        applicationProperties.getWriteBatching().setMaxBatchSize(2);
+        applicationProperties.getWriteBatching().setMaxQueuedSaves(2);
+        candidateWriteBatcher = new CandidateWriteBatcher(candidateRepository, routedReadOperations, applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        candidateWriteBatcher.destroy();
+    }
+
+    @Test
+    void testConcurrentSavesAreInsertedTogether() {
+        when(candidateRepository.insertAllUnordered(anyList()))
+            .thenAnswer(invocation -> {
+                List<Candidate> candidates = invocation.getArgument(0);
+                candidates.forEach(candidate -> candidate.setId(candidate.getLogin()));
+                return Mono.just(Map.of());
+            });
+
+        CompletableFuture<Candidate> first = candidateWriteBatcher.save(new Candidate().login("first")).toFuture();
+        CompletableFuture<Candidate> second = candidateWriteBatcher.save(new Candidate().login("second")).toFuture();
+
+        assertThat(first.join().getId()).isEqualTo("first");
+        assertThat(second.join().getId()).isEqualTo("second");
+
+        verify(candidateRepository, times(1)).insertAllUnordered(anyList());
+        assertThat(meterRegistry.get(CandidateWriteBatcher.BATCH_SIZE_METER_NAME).summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(CandidateWriteBatcher.BATCH_SIZE_METER_NAME).summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void testPartialBatchIsFlushedAfterDelay() {
+        when(candidateRepository.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+
+        Candidate saved = candidateWriteBatcher.save(new Candidate().login("alone")).block(Duration.ofSeconds(5));
+
+        assertThat(saved.getLogin()).isEqualTo("alone");
+        assertThat(meterRegistry.get(CandidateWriteBatcher.QUEUE_DEPTH_METER_NAME).summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailedCandidateFailsOnlyItsOwnSave() {
+        when(candidateRepository.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of(1, "E11000 duplicate key")));
+
+        CompletableFuture<Candidate> first = candidateWriteBatcher.save(new Candidate().login("first")).toFuture();
+        CompletableFuture<Candidate> second = candidateWriteBatcher.save(new Candidate().login("second")).toFuture();
+
+        assertThat(first.join().getLogin()).isEqualTo("first");
+        assertThat(second)
+            .failsWithin(Duration.ofSeconds(5))
+            .withThrowableOfType(Exception.class)
+            .withCauseInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void testSaveBeyondTheQueueFailsFast() {
+        when(candidateRepository.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+        // the delay holds the batch while it is not full: the queue fills up before it is flushed
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getWriteBatching().setEnabled(true);
+        applicationProperties.getWriteBatching().setMaxDelay(Duration.ofSeconds(1));
+        applicationProperties.getWriteBatching().setMaxBatchSize(10);
+        applicationProperties.getWriteBatching().setMaxQueuedSaves(2);
+        CandidateWriteBatcher boundedWriteBatcher = new CandidateWriteBatcher(
+            candidateRepository,
+            routedReadOperations,
+            applicationProperties,
+            meterRegistry
+        );
+        try {
+            CompletableFuture<Candidate> first = boundedWriteBatcher.save(new Candidate().login("first")).toFuture();
+            CompletableFuture<Candidate> second = boundedWriteBatcher.save(new Candidate().login("second")).toFuture();
+
+            assertThatThrownBy(() -> boundedWriteBatcher.save(new Candidate().login("third")).block(Duration.ofMillis(100)))
+                .isInstanceOf(WriteQueueFullException.class);
+            assertThat(first.join().getLogin()).isEqualTo("first");
+            assertThat(second.join().getLogin()).isEqualTo("second");
+            // the queue is free again once the batch is flushed
+            assertThat(boundedWriteBatcher.save(new Candidate().login("third")).block(Duration.ofSeconds(5)).getLogin()).isEqualTo("third");
+        } finally {
+            boundedWriteBatcher.destroy();
+        }
+    }
+
+    @Test
+    void testCancelledSaveIsLeftOutOfTheBatch() {
+        List<String> inserted = new ArrayList<>();
+        when(candidateRepository.insertAllUnordered(anyList()))
+            .thenAnswer(invocation -> {
+                List<Candidate> candidates = invocation.getArgument(0);
+                candidates.forEach(candidate -> inserted.add(candidate.getLogin()));
+                return Mono.just(Map.of());
+            });
+
+        Disposable cancelled = candidateWriteBatcher.save(new Candidate().login("cancelled")).subscribe();
+        cancelled.dispose();
+        Candidate saved = candidateWriteBatcher.save(new Candidate().login("kept")).block(Duration.ofSeconds(5));
+
+        assertThat(saved.getLogin()).isEqualTo("kept");
+        assertThat(inserted).containsExactly("kept");
+        assertThat(meterRegistry.get(CandidateWriteBatcher.BATCH_SIZE_METER_NAME).summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void testBatchOfSavesInSessionAdvancesTheirOperationTime() {
+        BsonTimestamp operationTime = new BsonTimestamp(1700000000, 3);
+        when(candidateRepository.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+        when(routedReadOperations.hasWriteSession(any())).thenReturn(true);
+        when(routedReadOperations.withOperationTime(any()))
+            .thenAnswer(invocation -> invocation.<Mono<?>>getArgument(0).map(result -> Tuples.of(result, Optional.of(operationTime))));
+
+        Candidate saved = candidateWriteBatcher.save(new Candidate().login("alone")).block(Duration.ofSeconds(5));
+
+        assertThat(saved.getLogin()).isEqualTo("alone");
+        verify(routedReadOperations).advanceOperationTime(any(), eq(operationTime));
+    }
+}
@@ -0,0 +1,94 @@
+package com.datalinkedai.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.domain.EmployeeDetails;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.repository.EmployeeDetailsRepository;
+import com.datalinkedai.employee.repository.ReadRoute;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+
+class EntityExportServiceTest {
+
+    private CandidateRepository candidateRepository;
+
+    private EmployeeDetailsRepository employeeDetailsRepository;
+
+    private EntityExportService entityExportService;
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @BeforeEach
+    public void setup() {
+        candidateRepository = mock(CandidateRepository.class);
+        employeeDetailsRepository = mock(EmployeeDetailsRepository.class);
+        entityExportService = new EntityExportService(candidateRepository, employeeDetailsRepository, new ObjectMapper());
+    }
+
+    @Test
+    void testCandidatesAreExportedAsCsv() {
+        Candidate plain = new Candidate().firstName("Asha").lastName("Rao").login("asha");
+        plain.setId("1");
+        Candidate quoted = new Candidate().firstName("Ravi, Jr").lastName("\"Kumar\"").login("ravi\nk");
+        quoted.setId("2");
+        when(candidateRepository.findAllWithRoute(any(ReadRoute.class), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(Flux.just(plain, quoted));
+
+        String export = read(entityExportService.exportCandidates(ReadRoute.PRIMARY, ExportFormat.CSV, bufferFactory));
+
+        assertThat(export)
+            .isEqualTo("id,firstName,lastName,login,parentId\n1,Asha,Rao,asha,\n2,\"Ravi, Jr\",\"\"\"Kumar\"\"\",\"ravi\nk\",\n");
+    }
+
+    @Test
+    void testFormulasAreExportedAsText() {
+        Candidate formula = new Candidate().firstName("=1+2").lastName("-3, 4").login("+5");
+        formula.setId("1");
+        Candidate mention = new Candidate().firstName("@mention").lastName("Rao-Kumar").login("a=b");
+        mention.setId("2");
+        when(candidateRepository.findAllWithRoute(any(ReadRoute.class), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(Flux.just(formula, mention));
+
+        String export = read(entityExportService.exportCandidates(ReadRoute.PRIMARY, ExportFormat.CSV, bufferFactory));
+
+        assertThat(export).isEqualTo("id,firstName,lastName,login,parentId\n1,'=1+2,\"'-3, 4\",'+5,\n2,'@mention,Rao-Kumar,a=b,\n");
+    }
+
+    @Test
+    void testEmployeeDetailsAreExportedAsNdjson() {
+        EmployeeDetails employeeDetails = new EmployeeDetails().aadharNumber("444444444444");
+        employeeDetails.setId("1");
+        when(employeeDetailsRepository.findAllWithRoute(any(ReadRoute.class), isNull(), anyBoolean(), isNull(), any(Pageable.class)))
+            .thenReturn(Flux.just(employeeDetails, employeeDetails));
+
+        String export = read(entityExportService.exportEmployeeDetails(ReadRoute.PRIMARY, ExportFormat.NDJSON, bufferFactory));
+
+        assertThat(export.split("\n")).hasSize(2).allSatisfy(line -> assertThat(line).startsWith("{").contains("\"444444444444\""));
+    }
+
+    private static String read(Flux<DataBuffer> buffers) {
+        return buffers
+            .map(buffer -> {
+                String line = buffer.toString(StandardCharsets.UTF_8);
+                DataBufferUtils.release(buffer);
+                return line;
+            })
+            .collectList()
+            .map(lines -> String.join("", lines))
+            .block();
+    }
+}
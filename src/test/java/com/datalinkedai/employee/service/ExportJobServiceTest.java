@@ -0,0 +1,56 @@
+package com.datalinkedai.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+class ExportJobServiceTest {
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Test
+    void testConcatenatedPartitionsAreOneGzipStream() throws IOException {
+        Flux<DataBuffer> first = ExportJobService.gzip(lines(0, 5000), bufferFactory);
+        Flux<DataBuffer> second = ExportJobService.gzip(lines(5000, 10000), bufferFactory);
+
+        List<byte[]> chunks = Flux.concat(first, second).map(ExportJobServiceTest::read).collectList().block();
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        for (byte[] chunk : chunks) {
+            file.write(chunk);
+        }
+        String content = gunzip(file.toByteArray());
+        String expected = IntStream.range(0, 10000).mapToObj(i -> "line " + i + "\n").collect(Collectors.joining());
+        assertThat(content).isEqualTo(expected);
+        assertThat(file.size()).isLessThan(expected.length() / 2);
+    }
+
+    private Flux<DataBuffer> lines(int from, int to) {
+        return Flux.range(from, to - from).map(i -> bufferFactory.wrap(("line " + i + "\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] read(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.datalinkedai.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class ReactiveEntityCacheTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ReactiveEntityCache<String> cache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReactiveEntityCache<>("test", 10, Duration.ofMinutes(1), String::new, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testEntityIsLoadedOnce() {
+        assertThat(cache.get("1", this::load).block()).isEqualTo("entity-1");
+        assertThat(cache.get("1", this::load).block()).isEqualTo("entity-1");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testEachCallerGetsACopy() {
+        String first = cache.get("1", this::load).block();
+        String second = cache.get("1", this::load).block();
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+    }
+
+    @Test
+    void testGetIfPresentDoesNotLoad() {
+        assertThat(cache.getIfPresent("1").block()).isNull();
+        cache.get("1", this::load).block();
+
+        String present = cache.getIfPresent("1").block();
+
+        assertThat(present).isEqualTo("entity-1");
+        assertThat(cache.getIfPresent("1").block()).isNotSameAs(present);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testMissingEntityIsNotCached() {
+        assertThat(cache.get("1", id -> Mono.<String>empty().doOnSubscribe(s -> loads.incrementAndGet())).block()).isNull();
+        assertThat(cache.get("1", this::load).block()).isEqualTo("entity-1");
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testEvictedEntityIsReloaded() {
+        cache.get("1", this::load).block();
+        cache.evict("1");
+        cache.get("1", this::load).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Mono<String> load(String id) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return "entity-" + id;
+        });
+    }
+}
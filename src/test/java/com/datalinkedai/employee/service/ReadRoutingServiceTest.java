@@ -0,0 +1,84 @@
+package com.datalinkedai.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import com.datalinkedai.employee.repository.ReadRoute;
+import com.datalinkedai.employee.repository.RoutedReadOperations;
+import com.mongodb.ReadPreference;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+class ReadRoutingServiceTest {
+
+    private RoutedReadOperations routedReadOperations;
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    public void setup() {
+        routedReadOperations = mock(RoutedReadOperations.class);
+        applicationProperties = new ApplicationProperties();
+    }
+
+    @Test
+    void testUnconfiguredEndpointReadsFromPrimary() {
+        ReadRoutingService readRoutingService = new ReadRoutingService(routedReadOperations, applicationProperties);
+
+        assertThat(readRoutingService.route(ReadRoutingService.CANDIDATE_LIST, "1a")).isSameAs(ReadRoute.PRIMARY);
+        assertThat(readRoutingService.withReadAfterToken(Mono.just("written")).block().getT2()).isEmpty();
+        verify(routedReadOperations, never()).withOperationTime(any());
+    }
+
+    @Test
+    void testConfiguredEndpointReadsAfterToken() {
+        ApplicationProperties.ReadRouting.Route route = new ApplicationProperties.ReadRouting.Route();
+        route.setReadPreference("secondaryPreferred");
+        route.setMaxStaleness(Duration.ofSeconds(90));
+        applicationProperties.getReadRouting().getEndpoints().put(ReadRoutingService.CANDIDATE_LIST, route);
+        when(routedReadOperations.withOperationTime(any()))
+            .thenAnswer(invocation ->
+                invocation.<Mono<?>>getArgument(0).map(result -> Tuples.of(result, Optional.of(new BsonTimestamp(1700000000, 3))))
+            );
+        ReadRoutingService readRoutingService = new ReadRoutingService(routedReadOperations, applicationProperties);
+
+        Tuple2<String, Optional<String>> written = readRoutingService.withReadAfterToken(Mono.just("written")).block();
+        String token = written.getT2().orElseThrow();
+        ReadRoute readRoute = readRoutingService.route(ReadRoutingService.CANDIDATE_LIST, token);
+
+        assertThat(written.getT1()).isEqualTo("written");
+        assertThat(readRoute.getReadPreference()).isEqualTo(ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS));
+        assertThat(readRoute.getAfterOperationTime()).isEqualTo(new BsonTimestamp(1700000000, 3));
+        assertThat(readRoutingService.route(ReadRoutingService.CANDIDATE_STREAM, token)).isSameAs(ReadRoute.PRIMARY);
+    }
+
+    @Test
+    void testInvalidTokenIsRejected() {
+        ApplicationProperties.ReadRouting.Route route = new ApplicationProperties.ReadRouting.Route();
+        route.setReadPreference("secondaryPreferred");
+        applicationProperties.getReadRouting().getEndpoints().put(ReadRoutingService.CANDIDATE_LIST, route);
+        ReadRoutingService readRoutingService = new ReadRoutingService(routedReadOperations, applicationProperties);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> readRoutingService.route(ReadRoutingService.CANDIDATE_LIST, "not-a-token"));
+    }
+
+    @Test
+    void testInvalidTokenIsIgnoredOnPrimary() {
+        ReadRoutingService readRoutingService = new ReadRoutingService(routedReadOperations, applicationProperties);
+
+        assertThat(readRoutingService.route(ReadRoutingService.CANDIDATE_LIST, "not-a-token")).isSameAs(ReadRoute.PRIMARY);
+    }
+}
@@ -0,0 +1,75 @@
+package com.datalinkedai.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datalinkedai.employee.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class RequestCoalescerTest {
+
+    private MeterRegistry meterRegistry;
+
+    private RequestCoalescer requestCoalescer;
+
+    private AtomicInteger reads;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(new ApplicationProperties(), meterRegistry);
+        reads = new AtomicInteger();
+    }
+
+    @Test
+    void testConcurrentReadsAreShared() {
+        Sinks.One<String> result = Sinks.one();
+
+        CompletableFuture<String> first = requestCoalescer.coalesce("test", "1", id -> read(result)).toFuture();
+        CompletableFuture<String> second = requestCoalescer.coalesce("test", "1", id -> read(result)).toFuture();
+        result.tryEmitValue("entity");
+
+        assertThat(first.join()).isEqualTo("entity");
+        assertThat(second.join()).isEqualTo("entity");
+
+        assertThat(reads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get(RequestCoalescer.REQUESTS_SAVED_METER_NAME).tag("entity", "test").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testKeyIsReleasedAfterRead() {
+        requestCoalescer.coalesce("test", "1", id -> read(Mono.just("entity"))).block();
+        requestCoalescer.coalesce("test", "1", id -> read(Mono.just("entity"))).block();
+
+        assertThat(reads.get()).isEqualTo(2);
+        assertThat(meterRegistry.find(RequestCoalescer.REQUESTS_SAVED_METER_NAME).counter()).isNull();
+    }
+
+    @Test
+    void testReadsOfDistinctEntitiesAreNotShared() {
+        Sinks.One<String> result = Sinks.one();
+
+        CompletableFuture<String> first = requestCoalescer.coalesce("test", "1", id -> read(result)).toFuture();
+        CompletableFuture<String> second = requestCoalescer.coalesce("other", "1", id -> read(result)).toFuture();
+        result.tryEmitValue("entity");
+
+        assertThat(first.join()).isEqualTo("entity");
+        assertThat(second.join()).isEqualTo("entity");
+
+        assertThat(reads.get()).isEqualTo(2);
+    }
+
+    private Mono<String> read(Sinks.One<String> result) {
+        return read(result.asMono());
+    }
+
+    private Mono<String> read(Mono<String> result) {
+        return result.doOnSubscribe(subscription -> reads.incrementAndGet());
+    }
+}
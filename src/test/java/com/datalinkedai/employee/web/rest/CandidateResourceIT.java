@@ -2,21 +2,40 @@ package com.datalinkedai.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 
 import com.datalinkedai.employee.IntegrationTest;
+import com.datalinkedai.employee.config.ApplicationProperties;
 import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.domain.EmployeeDetails;
 import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.repository.EmployeeDetailsRepository;
+import com.datalinkedai.employee.service.EntityQueryService;
+import com.datalinkedai.employee.service.dto.CandidateChangeDTO;
+import com.datalinkedai.employee.service.dto.IngestResultDTO;
+import com.datalinkedai.employee.web.rest.util.KeysetPaginationUtil;
+import com.datalinkedai.employee.web.rest.util.MultiGetUtil;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 
 /**
  * Integration tests for the {@link CandidateResource} REST controller.
@@ -38,12 +57,20 @@ class CandidateResourceIT {
     private static final String ENTITY_API_URL = "/api/candidates";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
+    private static final Duration CHANGE_FEED_TIMEOUT = Duration.ofSeconds(10);
+
     @Autowired
     private CandidateRepository candidateRepository;
 
+    @Autowired
+    private EmployeeDetailsRepository employeeDetailsRepository;
+
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     private Candidate candidate;
 
     /**
@@ -96,6 +123,78 @@ class CandidateResourceIT {
         assertThat(testCandidate.getLogin()).isEqualTo(DEFAULT_LOGIN);
     }
 
+    @Test
+    void createCandidatesInBulk() throws Exception {
+        int databaseSizeBeforeCreate = candidateRepository.findAll().collectList().block().size();
+        String body =
+            new String(TestUtil.convertObjectToJsonBytes(createEntity()), StandardCharsets.UTF_8) +
+            "\n" +
+            new String(TestUtil.convertObjectToJsonBytes(createEntity().firstName(null)), StandardCharsets.UTF_8) +
+            "\n" +
+            new String(TestUtil.convertObjectToJsonBytes(createEntity()), StandardCharsets.UTF_8) +
+            "\n";
+
+        List<IngestResultDTO> results = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(IngestResultDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // Only the invalid record is rejected
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(1).getId()).isNull();
+        assertThat(results.get(1).getError()).isNotNull();
+        assertThat(results.get(2).getId()).isNotNull();
+
+        List<Candidate> candidateList = candidateRepository.findAll().collectList().block();
+        assertThat(candidateList).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    void createCandidatesInBulkWithMalformedRecord() throws Exception {
+        int databaseSizeBeforeCreate = candidateRepository.findAll().collectList().block().size();
+        String body =
+            new String(TestUtil.convertObjectToJsonBytes(createEntity()), StandardCharsets.UTF_8) +
+            "\n" +
+            "{\"firstName\": \"AAAAAAAAAA\"," +
+            "\n" +
+            new String(TestUtil.convertObjectToJsonBytes(createEntity()), StandardCharsets.UTF_8) +
+            "\n";
+
+        List<IngestResultDTO> results = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(IngestResultDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // The malformed record is rejected, the records around it are inserted
+        assertThat(results).extracting(IngestResultDTO::getIndex).containsExactly(0L, 1L, 2L);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(1).getId()).isNull();
+        assertThat(results.get(1).getError()).startsWith("Malformed JSON record");
+        assertThat(results.get(2).getId()).isNotNull();
+
+        List<Candidate> candidateList = candidateRepository.findAll().collectList().block();
+        assertThat(candidateList).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
     @Test
     void createCandidateWithExistingId() throws Exception {
         // Create the Candidate with an existing ID
@@ -167,6 +266,128 @@ class CandidateResourceIT {
         assertThat(testCandidate.getLogin()).isEqualTo(DEFAULT_LOGIN);
     }
 
+    @Test
+    void exportCandidatesAsCsv() {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        String export = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/export?format=csv")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith("text/csv")
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(export).startsWith("id,firstName,lastName,login,parentId\n");
+        assertThat(export)
+            .contains(String.join(",", candidate.getId(), DEFAULT_FIRST_NAME, DEFAULT_LAST_NAME, DEFAULT_LOGIN, "") + "\n");
+    }
+
+    @Test
+    void exportCandidatesAsCsvWithFormula() {
+        // Initialize the database
+        candidate.setFirstName("=HYPERLINK(\"http://example.com\")");
+        candidate.setLastName("@SUM(A1)");
+        candidateRepository.save(candidate).block();
+
+        String export = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/export?format=csv")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        // the formulas are read as text by spreadsheets
+        String quotedFormula = "\"'=HYPERLINK(\"\"http://example.com\"\")\"";
+        assertThat(export).contains(String.join(",", candidate.getId(), quotedFormula, "'@SUM(A1)", DEFAULT_LOGIN, "") + "\n");
+    }
+
+    @Test
+    void exportCandidatesAsNdjson() {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        List<Candidate> export = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/export?format=ndjson")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(Candidate.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(export).hasSize(1);
+        assertThat(export.get(0).getId()).isEqualTo(candidate.getId());
+        assertThat(export.get(0).getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+        assertThat(export.get(0).getLogin()).isEqualTo(DEFAULT_LOGIN);
+    }
+
+    @Test
+    void exportCandidatesWithInvalidFormat() {
+        webTestClient.get().uri(ENTITY_API_URL + "/export?format=xlsx").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getAllCandidatesByCriteria() {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+        candidateRepository.save(createUpdatedEntity()).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?login.equals=" + DEFAULT_LOGIN + "&firstName.contains=aaa")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(EntityQueryService.UNINDEXED_QUERY_HEADER)
+            .expectBody()
+            .jsonPath("$")
+            .value(hasSize(1))
+            .jsonPath("$.[0].id")
+            .isEqualTo(candidate.getId());
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/count?login.in=" + DEFAULT_LOGIN + "," + UPDATED_LOGIN)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(Long.class)
+            .isEqualTo(2L);
+    }
+
+    @Test
+    void getAllCandidatesByUnindexedCriteria() {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?lastName.contains=" + DEFAULT_LAST_NAME)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(EntityQueryService.UNINDEXED_QUERY_HEADER, "lastName.contains")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(candidate.getId()));
+    }
+
     @Test
     void getAllCandidates() {
         // Initialize the database
@@ -193,6 +414,52 @@ class CandidateResourceIT {
             .value(hasItem(DEFAULT_LOGIN));
     }
 
+    @Test
+    void getCandidatesWithCursorPagination() {
+        // Initialize the database
+        candidateRepository.save(createEntity()).block();
+        candidateRepository.save(createEntity()).block();
+        candidateRepository.save(createEntity()).block();
+
+        // Get the first page
+        String nextCursor = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?limit=2")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst(KeysetPaginationUtil.NEXT_CURSOR_HEADER);
+
+        assertThat(nextCursor).isNotNull();
+
+        // Get the last page
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?limit=2&cursor={cursor}", nextCursor)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(KeysetPaginationUtil.NEXT_CURSOR_HEADER)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void getCandidatesWithInvalidLimit() {
+        webTestClient.get().uri(ENTITY_API_URL + "?limit=0").accept(MediaType.APPLICATION_JSON).exchange().expectStatus().isBadRequest();
+    }
+
     @Test
     void getCandidate() {
         // Initialize the database
@@ -216,7 +483,398 @@ class CandidateResourceIT {
             .jsonPath("$.lastName")
             .value(is(DEFAULT_LAST_NAME))
             .jsonPath("$.login")
-            .value(is(DEFAULT_LOGIN));
+            .value(is(DEFAULT_LOGIN))
+            .jsonPath("$.parent")
+            .hasJsonPath();
+    }
+
+    @Test
+    void getCandidateNotModified() {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        // Get the entity tag of the candidate
+        String eTag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, candidate.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"0\"")
+            .returnResult(Candidate.class)
+            .getResponseHeaders()
+            .getETag();
+
+        // Revalidate the candidate
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, candidate.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isNotModified()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, eTag)
+            .expectBody()
+            .isEmpty();
+    }
+
+    @Test
+    void putCandidateWithETagList() throws Exception {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        Candidate updatedCandidate = candidateRepository.findById(candidate.getId()).block();
+
+        // Update the candidate based on one of several versions, the current one among them
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, updatedCandidate.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_MATCH, "\"5\", \"0\"")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(updatedCandidate.firstName(UPDATED_FIRST_NAME)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        // Update the candidate based on several versions, none of them the current one
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, updatedCandidate.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_MATCH, "\"0\", \"2\"")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(updatedCandidate.lastName(UPDATED_LAST_NAME)))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        // Update the candidate based on any version
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, updatedCandidate.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_MATCH, "*")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(updatedCandidate.login(UPDATED_LOGIN)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"2\"");
+
+        Candidate testCandidate = candidateRepository.findById(candidate.getId()).block();
+        assertThat(testCandidate.getFirstName()).isEqualTo(UPDATED_FIRST_NAME);
+        assertThat(testCandidate.getLastName()).isEqualTo(UPDATED_LAST_NAME);
+        assertThat(testCandidate.getLogin()).isEqualTo(UPDATED_LOGIN);
+        assertThat(testCandidate.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void putCandidateWithInvalidETag() throws Exception {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, candidate.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_MATCH, "\"0\", W/\"1\"")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(candidate))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void putCandidateWithStaleETag() throws Exception {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        Candidate updatedCandidate = candidateRepository.findById(candidate.getId()).block();
+        updatedCandidate.firstName(UPDATED_FIRST_NAME);
+
+        // Update the candidate based on its current version
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, updatedCandidate.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(updatedCandidate))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        // Update the candidate again based on the same, now stale, version
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, updatedCandidate.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(updatedCandidate.lastName(UPDATED_LAST_NAME)))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        Candidate testCandidate = candidateRepository.findById(candidate.getId()).block();
+        assertThat(testCandidate.getLastName()).isEqualTo(DEFAULT_LAST_NAME);
+        assertThat(testCandidate.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void getCandidateWithFields() {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        // Get only the first name and login of the candidate
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "?fields=firstName,login", candidate.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id")
+            .value(is(candidate.getId()))
+            .jsonPath("$.firstName")
+            .value(is(DEFAULT_FIRST_NAME))
+            .jsonPath("$.login")
+            .value(is(DEFAULT_LOGIN))
+            .jsonPath("$.lastName")
+            .doesNotHaveJsonPath()
+            .jsonPath("$.parent")
+            .doesNotHaveJsonPath();
+    }
+
+    @Test
+    void getAllCandidatesWithFields() {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+
+        // Get only the first name of all the candidates
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=firstName")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(candidate.getId()))
+            .jsonPath("$.[*].firstName")
+            .value(hasItem(DEFAULT_FIRST_NAME))
+            .jsonPath("$.[*].lastName")
+            .isEmpty();
+    }
+
+    @Test
+    void getAllCandidatesWithEagerRelationships() {
+        // Initialize the database with a candidate referencing its parent
+        EmployeeDetails parent = employeeDetailsRepository.save(new EmployeeDetails().aadharNumber("222222222222")).block();
+        candidateRepository.save(candidate.parent(parent)).block();
+
+        // Without eagerload, the parent is only a reference
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].parent.id")
+            .value(hasItem(parent.getId()))
+            .jsonPath("$.[*].parent.aadharNumber")
+            .isEmpty();
+
+        // With eagerload, the parent is fetched
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?eagerload=true")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].parent.id")
+            .value(hasItem(parent.getId()))
+            .jsonPath("$.[*].parent.aadharNumber")
+            .value(hasItem("222222222222"));
+
+        employeeDetailsRepository.deleteById(parent.getId()).block();
+    }
+
+    @Test
+    void getAllCandidatesWithDetails() {
+        // Initialize the database with a candidate referencing its parent, and one without parent
+        EmployeeDetails parent = employeeDetailsRepository.save(new EmployeeDetails().aadharNumber("333333333333")).block();
+        candidateRepository.save(candidate.parent(parent)).block();
+        candidateRepository.save(createEntity()).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/with-details?limit=2")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists(KeysetPaginationUtil.NEXT_CURSOR_HEADER)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .jsonPath("$.[0].id")
+            .isEqualTo(candidate.getId())
+            .jsonPath("$.[0].parent.aadharNumber")
+            .isEqualTo("333333333333")
+            .jsonPath("$.[1].parent")
+            .doesNotExist();
+
+        List<Candidate> candidateList = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/with-details")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(Candidate.class)
+            .getResponseBody()
+            .filter(candidate::equals)
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(candidateList).hasSize(1);
+        assertThat(candidateList.get(0).getParent().getAadharNumber()).isEqualTo("333333333333");
+
+        employeeDetailsRepository.deleteById(parent.getId()).block();
+    }
+
+    @Test
+    void getCandidateChanges() {
+        Duration heartbeatInterval = applicationProperties.getChangeFeed().getHeartbeatInterval();
+        applicationProperties.getChangeFeed().setHeartbeatInterval(Duration.ofMillis(500));
+        AtomicReference<Disposable> connection = new AtomicReference<>();
+        try {
+            // the feed keeps its connection while it is read a first time, then a second time
+            Flux<ServerSentEvent<CandidateChangeDTO>> feed = getChangeFeed(null).replay().autoConnect(1, connection::set);
+
+            // the first heartbeat tells that the feed is open
+            ServerSentEvent<CandidateChangeDTO> heartbeat = feed.filter(event -> event.data() == null).blockFirst(CHANGE_FEED_TIMEOUT);
+            assertThat(heartbeat.comment()).isEqualTo(CandidateResource.HEARTBEAT_COMMENT);
+
+            Candidate savedCandidate = candidateRepository.save(candidate).block();
+            candidateRepository.save(savedCandidate.lastName(UPDATED_LAST_NAME)).block();
+            candidateRepository.deleteById(savedCandidate.getId()).block();
+
+            List<ServerSentEvent<CandidateChangeDTO>> changes = feed
+                .filter(event -> event.data() != null)
+                .take(3)
+                .collectList()
+                .block(CHANGE_FEED_TIMEOUT);
+            assertThat(changes).extracting(ServerSentEvent::event).containsExactly("insert", "update", "delete");
+            assertThat(changes).extracting(event -> event.data().getId()).containsOnly(savedCandidate.getId());
+            assertThat(changes).extracting(ServerSentEvent::id).doesNotContainNull();
+            assertThat(changes.get(0).data().getCandidate().getLastName()).isEqualTo(DEFAULT_LAST_NAME);
+            assertThat(changes.get(1).data().getCandidate().getLastName()).isEqualTo(UPDATED_LAST_NAME);
+            assertThat(changes.get(2).data().getCandidate()).isNull();
+
+            // a client reconnecting with the id of the insert event gets the changes after it
+            List<String> resumedChanges = getChangeFeed(changes.get(0).id())
+                .filter(event -> event.data() != null)
+                .take(2)
+                .map(ServerSentEvent::event)
+                .collectList()
+                .block(CHANGE_FEED_TIMEOUT);
+            assertThat(resumedChanges).containsExactly("update", "delete");
+        } finally {
+            if (connection.get() != null) {
+                connection.get().dispose();
+            }
+            applicationProperties.getChangeFeed().setHeartbeatInterval(heartbeatInterval);
+        }
+    }
+
+    private Flux<ServerSentEvent<CandidateChangeDTO>> getChangeFeed(String lastEventId) {
+        return webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/changes")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .headers(headers -> {
+                if (lastEventId != null) {
+                    headers.set("Last-Event-ID", lastEventId);
+                }
+            })
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<CandidateChangeDTO>>() {})
+            .getResponseBody();
+    }
+
+    @Test
+    void getCandidateChangesWithInvalidResumeToken() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/changes?resumeAfter=not-a-token")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getCandidatesByIds() {
+        // Initialize the database
+        candidateRepository.save(candidate).block();
+        Candidate otherCandidate = candidateRepository.save(createUpdatedEntity()).block();
+        String missingId = UUID.randomUUID().toString();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?ids={first},{missing},{second}", otherCandidate.getId(), missingId, candidate.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(MultiGetUtil.MISSING_IDS_HEADER, missingId)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .jsonPath("$.[0].id")
+            .isEqualTo(otherCandidate.getId())
+            .jsonPath("$.[1].id")
+            .isEqualTo(candidate.getId());
+    }
+
+    @Test
+    void getCandidatesByTooManyIds() {
+        String ids = IntStream.rangeClosed(1, 501).mapToObj(i -> "id" + i).collect(Collectors.joining(","));
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?ids=" + ids)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getCandidatesWithInvalidFields() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=password")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
     }
 
     @Test
@@ -265,7 +923,7 @@ class CandidateResourceIT {
         int databaseSizeBeforeUpdate = candidateRepository.findAll().collectList().block().size();
         candidate.setId(UUID.randomUUID().toString());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that doesn't exist cannot be updated
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, candidate.getId())
@@ -273,7 +931,7 @@ class CandidateResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(candidate))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Candidate in the database
         List<Candidate> candidateList = candidateRepository.findAll().collectList().block();
@@ -387,7 +1045,7 @@ class CandidateResourceIT {
         int databaseSizeBeforeUpdate = candidateRepository.findAll().collectList().block().size();
         candidate.setId(UUID.randomUUID().toString());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that doesn't exist cannot be updated
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, candidate.getId())
@@ -395,7 +1053,7 @@ class CandidateResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(candidate))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Candidate in the database
         List<Candidate> candidateList = candidateRepository.findAll().collectList().block();
@@ -0,0 +1,99 @@
+package com.datalinkedai.employee.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockUser;
+
+import com.datalinkedai.employee.IntegrationTest;
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.service.CandidateWriteBatcher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link CandidateResource} REST controller with write batching enabled.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.write-batching.enabled=true",
+        "application.write-batching.max-delay=1s",
+        "application.write-batching.max-batch-size=10",
+        "application.write-batching.max-queued-saves=2",
+    }
+)
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+class CandidateWriteBatchingIT {
+
+    private static final String ENTITY_API_URL = "/api/candidates";
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void initTest() {
+        candidateRepository.deleteAll().block();
+    }
+
+    @Test
+    void createCandidatesConcurrently() {
+        DistributionSummary batchSize = meterRegistry.get(CandidateWriteBatcher.BATCH_SIZE_METER_NAME).summary();
+        long batchesBefore = batchSize.count();
+
+        List<HttpStatus> statuses = createConcurrently(2);
+
+        assertThat(statuses).containsOnly(HttpStatus.CREATED);
+        List<Candidate> candidates = candidateRepository.findAll().collectList().block();
+        assertThat(candidates).hasSize(2).allSatisfy(candidate -> assertThat(candidate.getId()).isNotNull());
+        // both candidates were queued within the delay, and inserted together
+        assertThat(batchSize.count()).isEqualTo(batchesBefore + 1);
+    }
+
+    @Test
+    void createCandidatesBeyondTheQueue() {
+        List<HttpStatus> statuses = createConcurrently(3);
+
+        // the third save finds the queue full, and fails without waiting for the others
+        assertThat(statuses).containsExactlyInAnyOrder(HttpStatus.CREATED, HttpStatus.CREATED, HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(candidateRepository.count().block()).isEqualTo(2);
+    }
+
+    private List<HttpStatus> createConcurrently(int count) {
+        // the mock user is set on the client, as the requests are sent from other threads
+        WebTestClient client = webTestClient.mutateWith(mockUser());
+        List<CompletableFuture<HttpStatus>> responses = IntStream
+            .range(0, count)
+            .mapToObj(i ->
+                CompletableFuture.supplyAsync(() ->
+                    client
+                        .post()
+                        .uri(ENTITY_API_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new Candidate().firstName("AAAAAAAAAA").login("login" + i))
+                        .exchange()
+                        .returnResult(Candidate.class)
+                        .getStatus()
+                )
+            )
+            .collect(Collectors.toList());
+        return responses.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+}
@@ -5,15 +5,21 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 
 import com.datalinkedai.employee.IntegrationTest;
+import com.datalinkedai.employee.domain.Candidate;
 import com.datalinkedai.employee.domain.EmployeeDetails;
 import com.datalinkedai.employee.repository.EmployeeDetailsRepository;
+import com.datalinkedai.employee.web.rest.util.KeysetPaginationUtil;
+import com.datalinkedai.employee.web.rest.util.MultiGetUtil;
 import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -110,6 +116,28 @@ class EmployeeDetailsResourceIT {
         assertThat(employeeDetailsList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void createEmployeeDetailsWithUsedAadharNumber() throws Exception {
+        // Initialize the database
+        employeeDetailsRepository.save(employeeDetails).block();
+
+        int databaseSizeBeforeCreate = employeeDetailsRepository.findAll().collectList().block().size();
+
+        // An entity with the Aadhar number of another one cannot be created, so this API call must fail
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(new EmployeeDetails().aadharNumber(DEFAULT_AADHAR_NUMBER)))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        // Validate the EmployeeDetails in the database
+        List<EmployeeDetails> employeeDetailsList = employeeDetailsRepository.findAll().collectList().block();
+        assertThat(employeeDetailsList).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     void checkAadharNumberIsRequired() throws Exception {
         int databaseSizeBeforeTest = employeeDetailsRepository.findAll().collectList().block().size();
@@ -157,6 +185,54 @@ class EmployeeDetailsResourceIT {
         assertThat(testEmployeeDetails.getAadharNumber()).isEqualTo(DEFAULT_AADHAR_NUMBER);
     }
 
+    @Test
+    void exportEmployeeDetailsAsCsv() {
+        // Initialize the database
+        employeeDetailsRepository.save(employeeDetails).block();
+
+        String export = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/export?format=csv")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith("text/csv")
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(export)
+            .isEqualTo("id,aadharNumber,childId\n" + String.join(",", employeeDetails.getId(), DEFAULT_AADHAR_NUMBER, "") + "\n");
+    }
+
+    @Test
+    void exportEmployeeDetailsAsNdjson() {
+        // Initialize the database
+        employeeDetailsRepository.save(employeeDetails).block();
+
+        List<EmployeeDetails> export = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/export?format=ndjson")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(EmployeeDetails.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(export).hasSize(1);
+        assertThat(export.get(0).getId()).isEqualTo(employeeDetails.getId());
+        assertThat(export.get(0).getAadharNumber()).isEqualTo(DEFAULT_AADHAR_NUMBER);
+    }
+
+    @Test
+    void exportEmployeeDetailsWithInvalidFormat() {
+        webTestClient.get().uri(ENTITY_API_URL + "/export?format=xlsx").exchange().expectStatus().isBadRequest();
+    }
+
     @Test
     void getAllEmployeeDetails() {
         // Initialize the database
@@ -179,6 +255,96 @@ class EmployeeDetailsResourceIT {
             .value(hasItem(DEFAULT_AADHAR_NUMBER));
     }
 
+    @Test
+    void getEmployeeDetailsWithCursorPagination() {
+        // Initialize the database
+        employeeDetailsRepository.save(new EmployeeDetails().aadharNumber("111111111111")).block();
+        employeeDetailsRepository.save(new EmployeeDetails().aadharNumber("222222222222")).block();
+        employeeDetailsRepository.save(new EmployeeDetails().aadharNumber("333333333333")).block();
+
+        // Get the first page
+        String nextCursor = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?limit=2")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst(KeysetPaginationUtil.NEXT_CURSOR_HEADER);
+
+        assertThat(nextCursor).isNotNull();
+
+        // Get the last page
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?limit=2&cursor={cursor}", nextCursor)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(KeysetPaginationUtil.NEXT_CURSOR_HEADER)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void getAllUnlinkedEmployeeDetails() {
+        // Initialize the database with one linked and one unlinked employeeDetails
+        Candidate candidate = CandidateResourceIT.createEntity().id(UUID.randomUUID().toString());
+        EmployeeDetails linkedEmployeeDetails = new EmployeeDetails().aadharNumber("111111111111").child(candidate);
+        candidate.setParent(null);
+        employeeDetailsRepository.save(linkedEmployeeDetails).block();
+        employeeDetailsRepository.save(employeeDetails).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?filter=child-is-null")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo(employeeDetails.getId());
+    }
+
+    @Test
+    void getAllUnlinkedEmployeeDetailsWithFields() {
+        // Initialize the database with one linked and one unlinked employeeDetails
+        Candidate candidate = CandidateResourceIT.createEntity().id(UUID.randomUUID().toString());
+        EmployeeDetails linkedEmployeeDetails = new EmployeeDetails().aadharNumber("111111111111").child(candidate);
+        // only the reference to the candidate is needed: the candidate does not point back to the employeeDetails
+        candidate.setParent(null);
+        employeeDetailsRepository.save(linkedEmployeeDetails).block();
+        employeeDetailsRepository.save(employeeDetails).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?filter=child-is-null&fields=id")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo(employeeDetails.getId())
+            .jsonPath("$.[0].aadharNumber")
+            .doesNotExist();
+    }
+
     @Test
     void getEmployeeDetails() {
         // Initialize the database
@@ -201,6 +367,74 @@ class EmployeeDetailsResourceIT {
             .value(is(DEFAULT_AADHAR_NUMBER));
     }
 
+    @Test
+    void getEmployeeDetailsByIds() {
+        // Initialize the database
+        employeeDetailsRepository.save(employeeDetails).block();
+        EmployeeDetails otherEmployeeDetails = employeeDetailsRepository.save(createUpdatedEntity()).block();
+        String missingId = UUID.randomUUID().toString();
+        String otherMissingId = UUID.randomUUID().toString();
+
+        // the duplicated ids are only returned once, and the missing ids are reported in the order requested
+        webTestClient
+            .get()
+            .uri(
+                ENTITY_API_URL + "?ids={first},{missing},{second},{first},{otherMissing}",
+                otherEmployeeDetails.getId(),
+                missingId,
+                employeeDetails.getId(),
+                otherEmployeeDetails.getId(),
+                otherMissingId
+            )
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(MultiGetUtil.MISSING_IDS_HEADER, missingId + "," + otherMissingId)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .jsonPath("$.[0].id")
+            .isEqualTo(otherEmployeeDetails.getId())
+            .jsonPath("$.[0].aadharNumber")
+            .isEqualTo(UPDATED_AADHAR_NUMBER)
+            .jsonPath("$.[1].id")
+            .isEqualTo(employeeDetails.getId())
+            .jsonPath("$.[1].aadharNumber")
+            .isEqualTo(DEFAULT_AADHAR_NUMBER);
+    }
+
+    @Test
+    void getEmployeeDetailsByMissingIds() {
+        String missingId = UUID.randomUUID().toString();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?ids={missing}", missingId)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(MultiGetUtil.MISSING_IDS_HEADER, missingId)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(0);
+    }
+
+    @Test
+    void getEmployeeDetailsByTooManyIds() {
+        String ids = IntStream.rangeClosed(1, 501).mapToObj(i -> "id" + i).collect(Collectors.joining(","));
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?ids=" + ids)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void getNonExistingEmployeeDetails() {
         // Get the employeeDetails
@@ -245,7 +479,7 @@ class EmployeeDetailsResourceIT {
         int databaseSizeBeforeUpdate = employeeDetailsRepository.findAll().collectList().block().size();
         employeeDetails.setId(UUID.randomUUID().toString());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that doesn't exist cannot be updated
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, employeeDetails.getId())
@@ -253,7 +487,7 @@ class EmployeeDetailsResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(employeeDetails))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the EmployeeDetails in the database
         List<EmployeeDetails> employeeDetailsList = employeeDetailsRepository.findAll().collectList().block();
@@ -361,7 +595,7 @@ class EmployeeDetailsResourceIT {
         int databaseSizeBeforeUpdate = employeeDetailsRepository.findAll().collectList().block().size();
         employeeDetails.setId(UUID.randomUUID().toString());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An entity that doesn't exist cannot be updated
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, employeeDetails.getId())
@@ -369,7 +603,7 @@ class EmployeeDetailsResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(employeeDetails))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the EmployeeDetails in the database
         List<EmployeeDetails> employeeDetailsList = employeeDetailsRepository.findAll().collectList().block();
@@ -0,0 +1,226 @@
+package com.datalinkedai.employee.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datalinkedai.employee.IntegrationTest;
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.domain.ExportJob;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.repository.ExportJobRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * Integration tests for the {@link ExportJobResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class ExportJobResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/export-jobs";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private ExportJobRepository exportJobRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private ReactiveGridFsTemplate gridFsTemplate;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void initTest() {
+        exportJobRepository.deleteAll().block();
+        candidateRepository.deleteAll().block();
+        gridFsTemplate.delete(new Query()).block();
+    }
+
+    @Test
+    void exportCandidatesToFile() throws Exception {
+        // Initialize the database
+        List<Candidate> candidates = IntStream
+            .range(0, 25)
+            .mapToObj(i -> new Candidate().firstName("first" + i).login("login" + i))
+            .collect(Collectors.toList());
+        candidateRepository.saveAll(candidates).blockLast();
+
+        String location = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "?entity=candidate&format=csv")
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .returnResult(ExportJob.class)
+            .getResponseHeaders()
+            .getFirst(HttpHeaders.LOCATION);
+        assertThat(location).isNotNull();
+
+        ExportJob job = null;
+        for (int attempt = 0; attempt < 100; attempt++) {
+            job =
+                webTestClient
+                    .get()
+                    .uri(location)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectBody(ExportJob.class)
+                    .returnResult()
+                    .getResponseBody();
+            if (job.getStatus() == ExportJob.Status.COMPLETED || job.getStatus() == ExportJob.Status.FAILED) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(job.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+        assertThat(job.getTotal()).isEqualTo(25);
+        assertThat(job.getExported()).isEqualTo(25);
+
+        byte[] file = webTestClient
+            .get()
+            .uri(location + "/file")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType("application/gzip")
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+
+        String[] lines = gunzip(file).split("\n");
+        assertThat(lines).hasSize(26);
+        assertThat(lines[0]).isEqualTo("id,firstName,lastName,login,parentId");
+        Candidate first = candidateRepository.findAll().filter(candidate -> "login0".equals(candidate.getLogin())).blockFirst();
+        assertThat(lines).contains(first.getId() + ",first0,,login0,");
+    }
+
+    @Test
+    void submitExportJobWithInvalidEntity() {
+        webTestClient.post().uri(ENTITY_API_URL + "?entity=user&format=csv").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getNonExistingExportJob() {
+        webTestClient.get().uri(ENTITY_API_URL_ID, Long.MAX_VALUE).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteCompletedExportJob() {
+        // Initialize the database
+        ExportJob job = exportJobRepository.save(createJob("user", ExportJob.Status.COMPLETED)).block();
+        String fileId = storeFile(job).toHexString();
+        exportJobRepository.save(job.fileId(fileId)).block();
+
+        webTestClient.delete().uri(ENTITY_API_URL_ID, job.getId()).exchange().expectStatus().isNoContent();
+
+        assertThat(exportJobRepository.findById(job.getId()).blockOptional()).isEmpty();
+        assertThat(countFiles(job)).isZero();
+    }
+
+    @Test
+    void deleteRunningExportJob() {
+        // Initialize the database: a job run by another instance, which has stored its file but not recorded it yet
+        ExportJob job = exportJobRepository.save(createJob("user", ExportJob.Status.RUNNING)).block();
+        storeFile(job);
+
+        webTestClient.delete().uri(ENTITY_API_URL_ID, job.getId()).exchange().expectStatus().isNoContent();
+
+        assertThat(exportJobRepository.findById(job.getId()).blockOptional()).isEmpty();
+        assertThat(countFiles(job)).isZero();
+        // the instance running the job cannot write it back
+        ExportJob completed = job.status(ExportJob.Status.COMPLETED).exported(0L).completedDate(Instant.now());
+        assertThat(exportJobRepository.finish(completed).block()).isFalse();
+        assertThat(exportJobRepository.start(job.getId(), job.getOwner(), 0L).block()).isFalse();
+        assertThat(exportJobRepository.findById(job.getId()).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void deleteExportJobOfAnotherUser() {
+        // Initialize the database
+        ExportJob job = exportJobRepository.save(createJob("other-user", ExportJob.Status.RUNNING)).block();
+        storeFile(job);
+
+        webTestClient.delete().uri(ENTITY_API_URL_ID, job.getId()).exchange().expectStatus().isNotFound();
+
+        assertThat(exportJobRepository.findById(job.getId()).blockOptional()).isPresent();
+        assertThat(countFiles(job)).isEqualTo(1);
+    }
+
+    @Test
+    void failOnlyExportJobsWithExpiredLease() {
+        // Initialize the database
+        ExportJob expired = createJob("user", ExportJob.Status.RUNNING).leaseExpiresAt(Instant.now().minusSeconds(1));
+        ExportJob live = createJob("user", ExportJob.Status.RUNNING);
+        ExportJob completed = createJob("user", ExportJob.Status.COMPLETED).leaseExpiresAt(Instant.now().minusSeconds(1));
+        exportJobRepository.saveAll(List.of(expired, live, completed)).blockLast();
+
+        exportJobRepository.failExpiredJobs(Instant.now()).block();
+
+        ExportJob failed = exportJobRepository.findById(expired.getId()).block();
+        assertThat(failed.getStatus()).isEqualTo(ExportJob.Status.FAILED);
+        assertThat(failed.getError()).isNotNull();
+        assertThat(failed.getCompletedDate()).isNotNull();
+        assertThat(exportJobRepository.findById(live.getId()).block().getStatus()).isEqualTo(ExportJob.Status.RUNNING);
+        assertThat(exportJobRepository.findById(completed.getId()).block().getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+    }
+
+    private static ExportJob createJob(String createdBy, ExportJob.Status status) {
+        return new ExportJob()
+            .entityName("candidate")
+            .format("csv")
+            .status(status)
+            .exported(0L)
+            .createdBy(createdBy)
+            .createdDate(Instant.now())
+            .owner("other-instance")
+            .leaseExpiresAt(Instant.now().plus(Duration.ofMinutes(1)));
+    }
+
+    private ObjectId storeFile(ExportJob job) {
+        return gridFsTemplate
+            .store(
+                Flux.just(new DefaultDataBufferFactory().wrap("content".getBytes(StandardCharsets.UTF_8))),
+                "candidates.csv.gz",
+                "application/gzip",
+                new Document("exportJobId", job.getId())
+            )
+            .block();
+    }
+
+    private long countFiles(ExportJob job) {
+        return gridFsTemplate.find(Query.query(Criteria.where("metadata.exportJobId").is(job.getId()))).count().block();
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.datalinkedai.employee.web.rest;
+
+import com.datalinkedai.employee.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link JwksResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_TIMEOUT)
+@WithUnauthenticatedMockUser
+class JwksResourceIT {
+
+    private static final String JWKS_URL = "/.well-known/jwks.json";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void getJwksWithoutAuthentication() {
+        webTestClient
+            .get()
+            .uri(JWKS_URL)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectHeader()
+            .exists(HttpHeaders.ETAG)
+            .expectBody()
+            // the tokens are signed with the HMAC secret in the tests: no key is published
+            .jsonPath("$.keys")
+            .isEmpty();
+    }
+
+    @Test
+    void getUnmodifiedJwks() {
+        String etag = webTestClient
+            .get()
+            .uri(JWKS_URL)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(String.class)
+            .getResponseHeaders()
+            .getETag();
+
+        webTestClient.get().uri(JWKS_URL).header(HttpHeaders.IF_NONE_MATCH, etag).exchange().expectStatus().isNotModified();
+    }
+}
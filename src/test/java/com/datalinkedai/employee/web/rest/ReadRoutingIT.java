@@ -0,0 +1,101 @@
+package com.datalinkedai.employee.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datalinkedai.employee.IntegrationTest;
+import com.datalinkedai.employee.domain.Candidate;
+import com.datalinkedai.employee.repository.CandidateRepository;
+import com.datalinkedai.employee.service.ReadRoutingService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the routing of the reads of the {@link CandidateResource} REST controller, with the list of
+ * the candidates read from the secondaries.
+ */
+@IntegrationTest
+@TestPropertySource(properties = { "application.read-routing.endpoints.candidate-list.read-preference=secondaryPreferred" })
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class ReadRoutingIT {
+
+    private static final String ENTITY_API_URL = "/api/candidates";
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void initTest() {
+        candidateRepository.deleteAll().block();
+    }
+
+    @Test
+    void readAfterTheTokenOfTheWrite() {
+        Candidate candidate = new Candidate().firstName("AAAAAAAAAA").lastName("AAAAAAAAAA").login("AAAAAAAAAA");
+
+        String readAfter = webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(candidate))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .returnResult(Candidate.class)
+            .getResponseHeaders()
+            .getFirst(ReadRoutingService.READ_AFTER_HEADER);
+
+        // the operation time of the session of the insert
+        assertThat(readAfter).isNotNull().matches("[0-9a-f]+");
+
+        List<Candidate> candidates = webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .header(ReadRoutingService.READ_AFTER_HEADER, readAfter)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(Candidate.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(candidates).extracting(Candidate::getLogin).containsExactly("AAAAAAAAAA");
+    }
+
+    @Test
+    void readWithInvalidToken() {
+        candidateRepository.save(new Candidate().firstName("AAAAAAAAAA").lastName("AAAAAAAAAA").login("AAAAAAAAAA")).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .header(ReadRoutingService.READ_AFTER_HEADER, "not-a-token")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        // the stream reads from the primary, which does not read the token
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .header(ReadRoutingService.READ_AFTER_HEADER, "not-a-token")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(Candidate.class)
+            .hasSize(1);
+    }
+}
@@ -103,4 +103,36 @@ class UserJWTControllerIT {
             .jsonPath("$.id_token")
             .doesNotExist();
     }
+
+    @Test
+    void testLogoutRevokesTheToken() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-logout");
+        user.setEmail("user-jwt-controller-logout@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.save(user).block();
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-logout");
+        login.setPassword("test");
+        String authorization = webTestClient
+            .post()
+            .uri("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(login))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(String.class)
+            .getResponseHeaders()
+            .getFirst("Authorization");
+
+        webTestClient.get().uri("/api/account").header("Authorization", authorization).exchange().expectStatus().isOk();
+
+        webTestClient.post().uri("/api/logout").header("Authorization", authorization).exchange().expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/account").header("Authorization", authorization).exchange().expectStatus().isUnauthorized();
+    }
 }
@@ -1,12 +1,15 @@
 package com.datalinkedai.employee.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockUser;
 
 import com.datalinkedai.employee.IntegrationTest;
 import com.datalinkedai.employee.domain.Authority;
 import com.datalinkedai.employee.domain.User;
 import com.datalinkedai.employee.repository.UserRepository;
 import com.datalinkedai.employee.security.AuthoritiesConstants;
+import com.datalinkedai.employee.security.jwt.JWTFilter;
+import com.datalinkedai.employee.security.jwt.TokenProvider;
 import com.datalinkedai.employee.service.dto.AdminUserDTO;
 import com.datalinkedai.employee.service.dto.UserDTO;
 import com.datalinkedai.employee.service.mapper.UserMapper;
@@ -20,6 +23,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
@@ -60,6 +65,9 @@ class UserResourceIT {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private TokenProvider tokenProvider;
+
     @Autowired
     private WebTestClient webTestClient;
 
@@ -491,6 +499,50 @@ class UserResourceIT {
         assertPersistedUsers(users -> assertThat(users).hasSize(databaseSizeBeforeDelete - 1));
     }
 
+    @Test
+    @WithUnauthenticatedMockUser
+    void deleteUserRevokesItsTokens() {
+        // Initialize the database
+        userRepository.save(user).block();
+        String token = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(
+                user.getLogin(),
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            ),
+            false
+        );
+
+        webTestClient
+            .get()
+            .uri("/api/account")
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + token)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        // Delete the user
+        webTestClient
+            .mutateWith(mockUser().authorities(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)))
+            .delete()
+            .uri("/api/admin/users/{login}", user.getLogin())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+
+        // The token of the deleted user is rejected
+        webTestClient
+            .get()
+            .uri("/api/account")
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + token)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isUnauthorized();
+    }
+
     @Test
     void testUserEquals() throws Exception {
         TestUtil.equalsVerifier(User.class);